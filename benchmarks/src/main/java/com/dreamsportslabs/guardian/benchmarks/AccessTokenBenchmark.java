@@ -0,0 +1,86 @@
+package com.dreamsportslabs.guardian.benchmarks;
+
+import com.dreamsportslabs.guardian.constant.AuthMethod;
+import com.dreamsportslabs.guardian.service.TokenIssuer;
+import com.dreamsportslabs.guardian.service.impl.signers.TokenSigningExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.json.JsonObject;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End to end cost of {@link TokenIssuer#generateAccessToken}: claim building, including the
+ * JsonPath extraction of configured access token claims, the hop to the signing pool and RS256
+ * signing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccessTokenBenchmark {
+  private static final String REFRESH_TOKEN = "aVeryRandomRefreshTokenOf32Chars";
+  private static final String CLIENT_ID = "benchmark-client";
+  private static final String SCOPE = "openid profile email";
+
+  @Param({"false", "true"})
+  public boolean withAccessTokenClaims;
+
+  private BenchmarkTenant tenant;
+  private TokenSigningExecutor signingExecutor;
+  private TokenIssuer tokenIssuer;
+  private JsonObject user;
+  private List<AuthMethod> authMethods;
+
+  @Setup
+  public void setup() {
+    tenant =
+        new BenchmarkTenant(
+            withAccessTokenClaims
+                ? List.of("name", "email", "$.address.city", "roles[0]")
+                : List.of());
+    signingExecutor = new TokenSigningExecutor(1, 1024, new SimpleMeterRegistry());
+    tokenIssuer = new TokenIssuer(signingExecutor, tenant.registry);
+    user =
+        new JsonObject()
+            .put("userId", "1234567890")
+            .put("name", "Jane Doe")
+            .put("email", "jane@example.com")
+            .put("address", new JsonObject().put("city", "Mumbai").put("country", "IN"))
+            .put("roles", List.of("admin", "editor"));
+    authMethods = List.of(AuthMethod.PASSWORD);
+  }
+
+  @TearDown
+  public void tearDown() {
+    signingExecutor.close();
+  }
+
+  @Benchmark
+  public String generateAccessToken() {
+    return tokenIssuer
+        .generateAccessToken(
+            REFRESH_TOKEN,
+            System.currentTimeMillis() / 1000,
+            SCOPE,
+            user,
+            authMethods,
+            CLIENT_ID,
+            BenchmarkTenant.TENANT_ID,
+            tenant.tenantConfig)
+        .blockingGet();
+  }
+}
@@ -0,0 +1,42 @@
+package com.dreamsportslabs.guardian.benchmarks;
+
+import com.dreamsportslabs.guardian.config.tenant.RsaKey;
+import com.dreamsportslabs.guardian.config.tenant.TenantConfig;
+import com.dreamsportslabs.guardian.config.tenant.TokenConfig;
+import com.dreamsportslabs.guardian.registry.Registry;
+import com.dreamsportslabs.guardian.registry.RegistryInit;
+import io.fusionauth.jwt.JWTUtils;
+import io.fusionauth.jwt.domain.KeyPair;
+import java.util.List;
+
+/** A tenant with an RS256 signing key, registered the same way the tenant cache does. */
+final class BenchmarkTenant {
+  static final String TENANT_ID = "benchmark-tenant";
+  static final String ISSUER = "https://guardian.example.com";
+  static final String KID = "benchmark-kid";
+
+  final KeyPair keyPair = JWTUtils.generate2048_RSAKeyPair();
+  final TenantConfig tenantConfig;
+  final Registry registry = new Registry();
+
+  BenchmarkTenant(List<String> accessTokenClaims) {
+    RsaKey rsaKey = new RsaKey();
+    rsaKey.setKid(KID);
+    rsaKey.setPublicKey(keyPair.publicKey);
+    rsaKey.setPrivateKey(keyPair.privateKey);
+    rsaKey.setCurrent(true);
+
+    TokenConfig tokenConfig = new TokenConfig();
+    tokenConfig.setAlgorithm("RS256");
+    tokenConfig.setIssuer(ISSUER);
+    tokenConfig.setAccessTokenExpiry(900);
+    tokenConfig.setRefreshTokenExpiry(2592000);
+    tokenConfig.setIdTokenExpiry(900);
+    tokenConfig.setIdTokenClaims(List.of("name", "email"));
+    tokenConfig.setRsaKeys(List.of(rsaKey));
+    tokenConfig.setAccessTokenClaims(accessTokenClaims);
+
+    this.tenantConfig = TenantConfig.builder().tenantId(TENANT_ID).tokenConfig(tokenConfig).build();
+    RegistryInit.initializeRegistry(registry, tenantConfig);
+  }
+}
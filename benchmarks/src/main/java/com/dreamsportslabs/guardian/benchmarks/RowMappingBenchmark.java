@@ -0,0 +1,170 @@
+package com.dreamsportslabs.guardian.benchmarks;
+
+import com.dreamsportslabs.guardian.dao.model.RefreshTokenModel;
+import com.dreamsportslabs.guardian.utils.JsonUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.rxjava3.sqlclient.Row;
+import io.vertx.rxjava3.sqlclient.RowSet;
+import io.vertx.sqlclient.PropertyKind;
+import io.vertx.sqlclient.RowIterator;
+import io.vertx.sqlclient.desc.ColumnDescriptor;
+import io.vertx.sqlclient.impl.ArrayTuple;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of {@link JsonUtils#rowSetToList} for refresh token rows, as read by the DAOs, next to the
+ * per-row JSON round trip it replaced. Run with {@code -prof gc} to compare allocation per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RowMappingBenchmark {
+  private static final List<String> COLUMNS =
+      List.of(
+          "tenant_id",
+          "client_id",
+          "user_id",
+          "is_active",
+          "refresh_token",
+          "refresh_token_exp",
+          "scope",
+          "device_name",
+          "ip",
+          "location",
+          "source",
+          "auth_method");
+
+  @Param({"1", "20"})
+  public int rowCount;
+
+  private RowSet<Row> rowSet;
+
+  @Setup
+  public void setup() {
+    List<io.vertx.sqlclient.Row> rows = new ArrayList<>();
+    for (int i = 0; i < rowCount; i++) {
+      BenchmarkRow row = new BenchmarkRow();
+      row.addValue("tenant1");
+      row.addValue("benchmark-client");
+      row.addValue("user-" + i);
+      row.addValue(true);
+      row.addValue("aVeryRandomRefreshTokenOf32Char" + (i % 10));
+      row.addValue(1893456000L);
+      row.addValue(new JsonArray().add("openid").add("profile"));
+      row.addValue("Pixel 8");
+      row.addValue("10.0.0.1");
+      row.addValue("Mumbai");
+      row.addValue("app");
+      row.addValue(new JsonArray().add("PASSWORD"));
+      rows.add(row);
+    }
+    rowSet = RowSet.newInstance(new BenchmarkRowSet(rows), Row.__TYPE_ARG);
+  }
+
+  @Benchmark
+  public List<RefreshTokenModel> rowSetToList() {
+    return JsonUtils.rowSetToList(rowSet, RefreshTokenModel.class);
+  }
+
+  @Benchmark
+  public List<RefreshTokenModel> jsonRoundTrip() throws JsonProcessingException {
+    List<RefreshTokenModel> list = new ArrayList<>();
+    for (Row row : rowSet) {
+      list.add(
+          JsonUtils.snakeCaseObjectMapper.readValue(
+              row.toJson().toString(), RefreshTokenModel.class));
+    }
+    return list;
+  }
+
+  /** In-memory row with the refresh_tokens columns. */
+  private static class BenchmarkRow extends ArrayTuple implements io.vertx.sqlclient.Row {
+    BenchmarkRow() {
+      super(COLUMNS.size());
+    }
+
+    @Override
+    public String getColumnName(int pos) {
+      return COLUMNS.get(pos);
+    }
+
+    @Override
+    public int getColumnIndex(String column) {
+      return COLUMNS.indexOf(column);
+    }
+  }
+
+  /** In-memory result set over a fixed list of rows. */
+  private record BenchmarkRowSet(List<io.vertx.sqlclient.Row> rows)
+      implements io.vertx.sqlclient.RowSet<io.vertx.sqlclient.Row> {
+
+    @Override
+    public RowIterator<io.vertx.sqlclient.Row> iterator() {
+      Iterator<io.vertx.sqlclient.Row> iterator = rows.iterator();
+      return new RowIterator<>() {
+        @Override
+        public boolean hasNext() {
+          return iterator.hasNext();
+        }
+
+        @Override
+        public io.vertx.sqlclient.Row next() {
+          return iterator.next();
+        }
+      };
+    }
+
+    @Override
+    public int rowCount() {
+      return rows.size();
+    }
+
+    @Override
+    public List<String> columnsNames() {
+      return COLUMNS;
+    }
+
+    @Override
+    public List<ColumnDescriptor> columnDescriptors() {
+      return List.of();
+    }
+
+    @Override
+    public int size() {
+      return rows.size();
+    }
+
+    @Override
+    public <V> V property(PropertyKind<V> propertyKind) {
+      return null;
+    }
+
+    @Override
+    public io.vertx.sqlclient.RowSet<io.vertx.sqlclient.Row> value() {
+      return this;
+    }
+
+    @Override
+    public io.vertx.sqlclient.RowSet<io.vertx.sqlclient.Row> next() {
+      return null;
+    }
+  }
+}
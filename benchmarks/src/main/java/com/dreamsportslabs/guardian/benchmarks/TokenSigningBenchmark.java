@@ -0,0 +1,100 @@
+package com.dreamsportslabs.guardian.benchmarks;
+
+import com.dreamsportslabs.guardian.service.impl.signers.PooledRsaSigner;
+import io.fusionauth.jwt.JWTDecoder;
+import io.fusionauth.jwt.JWTEncoder;
+import io.fusionauth.jwt.JWTUtils;
+import io.fusionauth.jwt.Signer;
+import io.fusionauth.jwt.Verifier;
+import io.fusionauth.jwt.domain.JWT;
+import io.fusionauth.jwt.domain.KeyPair;
+import io.fusionauth.jwt.ec.ECSigner;
+import io.fusionauth.jwt.ec.ECVerifier;
+import io.fusionauth.jwt.rsa.RSASigner;
+import io.fusionauth.jwt.rsa.RSAVerifier;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Compares the RS256 signing path used today with ES256 for access-token sized payloads. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenSigningBenchmark {
+  private final JWTEncoder encoder = JWT.getEncoder();
+  private final JWTDecoder decoder = JWT.getDecoder();
+
+  private JWT jwt;
+  private Signer rsaSigner;
+  private Signer pooledRsaSigner;
+  private Signer ecSigner;
+  private Verifier rsaVerifier;
+  private Verifier ecVerifier;
+  private String rsaToken;
+  private String ecToken;
+
+  @Setup
+  public void setup() {
+    KeyPair rsaKeyPair = JWTUtils.generate2048_RSAKeyPair();
+    KeyPair ecKeyPair = JWTUtils.generate256_ECKeyPair();
+
+    rsaSigner = RSASigner.newSHA256Signer(rsaKeyPair.privateKey, "rsa-kid");
+    pooledRsaSigner = PooledRsaSigner.newSHA256Signer(rsaKeyPair.privateKey, "rsa-kid");
+    ecSigner = ECSigner.newSHA256Signer(ecKeyPair.privateKey, "ec-kid");
+    rsaVerifier = RSAVerifier.newVerifier(rsaKeyPair.publicKey);
+    ecVerifier = ECVerifier.newVerifier(ecKeyPair.publicKey);
+
+    ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+    jwt =
+        new JWT()
+            .setIssuer("https://guardian.example.com")
+            .setSubject("1234567890")
+            .setAudience("benchmark-client")
+            .setIssuedAt(now)
+            .setExpiration(now.plusHours(1))
+            .addClaim("tid", "tenant1")
+            .addClaim("scope", "openid profile email")
+            .addClaim("client_id", "benchmark-client");
+
+    rsaToken = encoder.encode(jwt, rsaSigner);
+    ecToken = encoder.encode(jwt, ecSigner);
+  }
+
+  @Benchmark
+  public String signRs256() {
+    return encoder.encode(jwt, rsaSigner);
+  }
+
+  @Benchmark
+  public String signRs256Pooled() {
+    return encoder.encode(jwt, pooledRsaSigner);
+  }
+
+  @Benchmark
+  public String signEs256() {
+    return encoder.encode(jwt, ecSigner);
+  }
+
+  @Benchmark
+  public JWT verifyRs256() {
+    return decoder.decode(rsaToken, rsaVerifier);
+  }
+
+  @Benchmark
+  public JWT verifyEs256() {
+    return decoder.decode(ecToken, ecVerifier);
+  }
+}
@@ -0,0 +1,103 @@
+package com.dreamsportslabs.guardian.benchmarks;
+
+import com.dreamsportslabs.guardian.cache.AccessTokenCache;
+import com.dreamsportslabs.guardian.cache.CacheInvalidationBus;
+import com.dreamsportslabs.guardian.service.TokenVerifier;
+import com.dreamsportslabs.guardian.utils.JwtHeader;
+import com.dreamsportslabs.guardian.utils.Utils;
+import io.fusionauth.jwt.JWTEncoder;
+import io.fusionauth.jwt.domain.JWT;
+import io.fusionauth.jwt.rsa.RSASigner;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Access token verification as done by the userinfo path ({@link TokenVerifier}) and by resource
+ * servers embedding {@link com.dreamsportslabs.guardian.jwtVerifier.TokenVerifier}, plus the JWT
+ * header decoding both rely on. With the access token cache enabled, {@link TokenVerifier} only
+ * verifies the signature on the first call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenVerificationBenchmark {
+  @Param({"false", "true"})
+  public boolean accessTokenCacheEnabled;
+
+  private TokenVerifier tokenVerifier;
+  private com.dreamsportslabs.guardian.jwtVerifier.TokenVerifier embeddedVerifier;
+  private String accessToken;
+
+  @Setup
+  public void setup() {
+    BenchmarkTenant tenant = new BenchmarkTenant(List.of());
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // The bus is never started, so invalidations are neither published nor received
+    CacheInvalidationBus invalidationBus = new CacheInvalidationBus(null, null, meterRegistry);
+    AccessTokenCache accessTokenCache =
+        new AccessTokenCache(accessTokenCacheEnabled, 1000, 300, invalidationBus, meterRegistry);
+    tokenVerifier = new TokenVerifier(tenant.registry, accessTokenCache);
+    embeddedVerifier =
+        new com.dreamsportslabs.guardian.jwtVerifier.TokenVerifier(
+            Map.of(BenchmarkTenant.KID, tenant.keyPair.publicKey), BenchmarkTenant.ISSUER);
+
+    ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+    JWT jwt =
+        new JWT()
+            .setIssuer(BenchmarkTenant.ISSUER)
+            .setSubject("1234567890")
+            .setAudience("benchmark-client")
+            .setIssuedAt(now)
+            .setExpiration(now.plusDays(1))
+            .addClaim("tid", BenchmarkTenant.TENANT_ID)
+            .addClaim("scope", "openid profile email")
+            .addClaim("client_id", "benchmark-client");
+    JWTEncoder encoder = JWT.getEncoder();
+    accessToken =
+        encoder.encode(
+            jwt,
+            RSASigner.newSHA256Signer(tenant.keyPair.privateKey, BenchmarkTenant.KID),
+            header -> {
+              header.set("typ", "at+jwt");
+              header.set("kid", BenchmarkTenant.KID);
+            });
+  }
+
+  @Benchmark
+  public Map<String, Object> verifyAccessToken() {
+    return tokenVerifier.verifyAccessToken(accessToken, BenchmarkTenant.TENANT_ID);
+  }
+
+  @Benchmark
+  public Map<String, Object> verifyEmbedded() {
+    return embeddedVerifier.verify(accessToken);
+  }
+
+  @Benchmark
+  public Map<String, Object> decodeJwtHeaders() {
+    return Utils.decodeJwtHeaders(accessToken);
+  }
+
+  @Benchmark
+  public JwtHeader parseJwtHeader() {
+    return JwtHeader.parse(accessToken);
+  }
+}
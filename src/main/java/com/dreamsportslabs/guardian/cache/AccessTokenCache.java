@@ -0,0 +1,170 @@
+package com.dreamsportslabs.guardian.cache;
+
+import static com.dreamsportslabs.guardian.constant.Constants.JWT_CLAIMS_RFT_ID;
+import static com.dreamsportslabs.guardian.utils.Utils.getCurrentTimeInSeconds;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.fusionauth.jwt.domain.JWT;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * Claims of access tokens whose signature has already been verified, keyed by tenant and token
+ * hash. Entries live for at most the configured ttl and never outlive the token's {@code exp}.
+ * When refresh tokens are revoked, the access tokens issued from them are dropped locally and on
+ * every other node through {@link #CHANNEL}.
+ */
+@Slf4j
+public class AccessTokenCache implements CacheInvalidationBus.Listener {
+  public static final String CHANNEL = "guardian:invalidate:access_token";
+
+  private static final String CACHE_NAME = "access_token";
+  private static final String KEY_SEPARATOR = ":";
+  private static final String FIELD_TENANT_ID = "tenantId";
+  private static final String FIELD_RFT_IDS = "rftIds";
+
+  private final boolean enabled;
+  private final Cache<String, Entry> cache;
+  private final CacheInvalidationBus invalidationBus;
+  private final Counter invalidationCounter;
+  private final AtomicLong invalidationEpoch = new AtomicLong();
+
+  public AccessTokenCache(
+      boolean enabled,
+      long maxSize,
+      long ttlSeconds,
+      CacheInvalidationBus invalidationBus,
+      MeterRegistry meterRegistry) {
+    this.enabled = enabled;
+    this.invalidationBus = invalidationBus;
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new TokenExpiry(TimeUnit.SECONDS.toNanos(ttlSeconds)))
+            .recordStats()
+            .build();
+
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    this.invalidationCounter =
+        Counter.builder("guardian.access_token.cache.invalidations")
+            .description("Access token cache invalidations applied on this node")
+            .register(meterRegistry);
+
+    if (enabled) {
+      invalidationBus.subscribe(CHANNEL, this);
+    }
+    log.info("Access token cache enabled: {}, max size {}, ttl {}s", enabled, maxSize, ttlSeconds);
+  }
+
+  /**
+   * Returns the cached claims of the token, otherwise verifies it with the given verifier and
+   * caches its claims. Verification errors are thrown as is and never cached.
+   */
+  public Map<String, Object> get(String tenantId, String accessToken, Supplier<JWT> verifier) {
+    if (!enabled) {
+      return verifier.get().getAllClaims();
+    }
+
+    String key = getKey(tenantId, DigestUtils.sha256Hex(accessToken));
+    Entry entry = cache.getIfPresent(key);
+    if (entry != null) {
+      return entry.claims();
+    }
+
+    long epochAtLoad = invalidationEpoch.get();
+    JWT jwt = verifier.get();
+    Map<String, Object> claims = Collections.unmodifiableMap(new HashMap<>(jwt.getAllClaims()));
+    // tokens without an expiry are left to the regular verification path
+    if (jwt.expiration != null && invalidationEpoch.get() == epochAtLoad) {
+      cache.put(
+          key,
+          new Entry(
+              tenantId,
+              Objects.toString(claims.get(JWT_CLAIMS_RFT_ID), null),
+              claims,
+              jwt.expiration.toEpochSecond()));
+    }
+    return claims;
+  }
+
+  /** Drops the cached access tokens issued from the given refresh tokens. */
+  public void invalidateRefreshTokens(String tenantId, List<String> rftIds) {
+    if (!enabled || rftIds.isEmpty()) {
+      return;
+    }
+
+    removeRefreshTokens(tenantId, new HashSet<>(rftIds));
+    invalidationBus.publish(
+        CHANNEL,
+        new JsonObject()
+            .put(FIELD_TENANT_ID, tenantId)
+            .put(FIELD_RFT_IDS, new JsonArray(rftIds))
+            .encode());
+  }
+
+  @Override
+  public void onMessage(String payload) {
+    JsonObject message = new JsonObject(payload);
+    Set<String> rftIds = new HashSet<>();
+    message.getJsonArray(FIELD_RFT_IDS).forEach(rftId -> rftIds.add((String) rftId));
+    removeRefreshTokens(message.getString(FIELD_TENANT_ID), rftIds);
+  }
+
+  @Override
+  public void resync() {
+    invalidationEpoch.incrementAndGet();
+    cache.invalidateAll();
+    log.info("Access token cache cleared after invalidation subscriber reconnect");
+  }
+
+  private void removeRefreshTokens(String tenantId, Set<String> rftIds) {
+    invalidationEpoch.incrementAndGet();
+    cache
+        .asMap()
+        .values()
+        .removeIf(entry -> entry.tenantId().equals(tenantId) && rftIds.contains(entry.rftId()));
+    invalidationCounter.increment();
+  }
+
+  private static String getKey(String tenantId, String tokenHash) {
+    return tenantId + KEY_SEPARATOR + tokenHash;
+  }
+
+  private record Entry(String tenantId, String rftId, Map<String, Object> claims, long exp) {}
+
+  private record TokenExpiry(long ttlNanos) implements Expiry<String, Entry> {
+    @Override
+    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+      long remaining = TimeUnit.SECONDS.toNanos(entry.exp() - getCurrentTimeInSeconds());
+      return Math.max(0, Math.min(ttlNanos, remaining));
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        String key, Entry entry, long currentTime, long currentDuration) {
+      return expireAfterCreate(key, entry, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
@@ -0,0 +1,164 @@
+package com.dreamsportslabs.guardian.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.reactivex.rxjava3.core.Completable;
+import io.vertx.rxjava3.core.Vertx;
+import io.vertx.rxjava3.redis.client.Command;
+import io.vertx.rxjava3.redis.client.Redis;
+import io.vertx.rxjava3.redis.client.RedisConnection;
+import io.vertx.rxjava3.redis.client.Request;
+import io.vertx.rxjava3.redis.client.Response;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Broadcasts cache invalidations to every guardian node over Redis pub/sub. A single dedicated
+ * connection is kept subscribed to all registered channels. When that connection drops, it is
+ * re-established and every listener is asked to resync, since messages published in the meantime
+ * are lost.
+ */
+@Slf4j
+public class CacheInvalidationBus {
+  private static final String MESSAGE_TYPE = "message";
+  private static final long RECONNECT_DELAY_MS = 1000;
+  private static final char ORIGIN_SEPARATOR = '|';
+
+  private final Vertx vertx;
+  private final Redis redisClient;
+  private final String nodeId = UUID.randomUUID().toString();
+  private final Map<String, List<Listener>> listeners = new ConcurrentHashMap<>();
+  private final Counter publishFailedCounter;
+  private final Counter reconnectCounter;
+  private volatile RedisConnection subscriber;
+  private volatile boolean closed;
+
+  public CacheInvalidationBus(Vertx vertx, Redis redisClient, MeterRegistry meterRegistry) {
+    this.vertx = vertx;
+    this.redisClient = redisClient;
+    this.publishFailedCounter =
+        Counter.builder("guardian.cache.invalidation.publish.failed")
+            .description("Invalidation messages that could not be published")
+            .register(meterRegistry);
+    this.reconnectCounter =
+        Counter.builder("guardian.cache.invalidation.reconnects")
+            .description("Times the invalidation subscriber connection was re-established")
+            .register(meterRegistry);
+  }
+
+  public Completable start() {
+    return redisClient
+        .rxConnect()
+        .doOnSuccess(this::onConnected)
+        .doOnError(err -> log.error("Failed to connect cache invalidation subscriber", err))
+        .ignoreElement();
+  }
+
+  /**
+   * Registers a listener for a channel. Messages published by this node are not delivered back to
+   * it, so publishers must apply their own invalidation locally.
+   */
+  public void subscribe(String channel, Listener listener) {
+    boolean newChannel = !listeners.containsKey(channel);
+    listeners.computeIfAbsent(channel, k -> new CopyOnWriteArrayList<>()).add(listener);
+
+    RedisConnection connection = this.subscriber;
+    if (newChannel && connection != null) {
+      sendSubscribe(connection, channel);
+    }
+  }
+
+  public void publish(String channel, String message) {
+    redisClient
+        .rxSend(Request.cmd(Command.PUBLISH).arg(channel).arg(nodeId + ORIGIN_SEPARATOR + message))
+        .subscribe(
+            resp -> {},
+            err -> {
+              publishFailedCounter.increment();
+              log.error("Failed to publish invalidation on channel {}", channel, err);
+            });
+  }
+
+  public void close() {
+    this.closed = true;
+    RedisConnection connection = this.subscriber;
+    if (connection != null) {
+      connection.close();
+    }
+  }
+
+  private void onConnected(RedisConnection connection) {
+    connection
+        .handler(this::onMessage)
+        .exceptionHandler(
+            err -> {
+              log.error("Cache invalidation subscriber failed", err);
+              reconnect(connection);
+            })
+        .endHandler(v -> reconnect(connection));
+
+    this.subscriber = connection;
+    listeners.keySet().forEach(channel -> sendSubscribe(connection, channel));
+    log.info("Cache invalidation subscriber connected");
+  }
+
+  private void onMessage(Response response) {
+    if (response == null
+        || response.size() < 3
+        || !MESSAGE_TYPE.equals(response.get(0).toString())) {
+      return;
+    }
+
+    String channel = response.get(1).toString();
+    String message = response.get(2).toString();
+    int separator = message.indexOf(ORIGIN_SEPARATOR);
+    if (separator < 0 || nodeId.equals(message.substring(0, separator))) {
+      return;
+    }
+
+    String payload = message.substring(separator + 1);
+    for (Listener listener : listeners.getOrDefault(channel, List.of())) {
+      try {
+        listener.onMessage(payload);
+      } catch (Exception e) {
+        log.error("Cache invalidation listener failed on channel {}", channel, e);
+      }
+    }
+  }
+
+  private void sendSubscribe(RedisConnection connection, String channel) {
+    connection
+        .rxSend(Request.cmd(Command.SUBSCRIBE).arg(channel))
+        .subscribe(
+            resp -> {},
+            err -> log.error("Failed to subscribe to invalidation channel {}", channel, err));
+  }
+
+  private synchronized void reconnect(RedisConnection failed) {
+    if (closed || this.subscriber != failed) {
+      return;
+    }
+    this.subscriber = null;
+    vertx.setTimer(
+        RECONNECT_DELAY_MS,
+        id ->
+            start()
+                .subscribe(
+                    () -> {
+                      reconnectCounter.increment();
+                      listeners.values().stream().flatMap(List::stream).forEach(Listener::resync);
+                    },
+                    err -> reconnect(null)));
+  }
+
+  public interface Listener {
+    void onMessage(String payload);
+
+    /** Called after the subscriber reconnects, when invalidations may have been missed. */
+    void resync();
+  }
+}
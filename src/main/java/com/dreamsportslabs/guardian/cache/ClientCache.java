@@ -0,0 +1,147 @@
+package com.dreamsportslabs.guardian.cache;
+
+import com.dreamsportslabs.guardian.dao.model.ClientModel;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.reactivex.rxjava3.core.Maybe;
+import io.vertx.core.json.JsonObject;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Near cache of client rows, keyed by tenant and client id. Client writes invalidate the entry
+ * locally and broadcast on {@link #CHANNEL} so that every node drops it. Cached models are shared
+ * and must not be modified.
+ */
+@Slf4j
+public class ClientCache implements CacheInvalidationBus.Listener {
+  public static final String CHANNEL = "guardian:invalidate:client";
+
+  /** Upper bound on the clients read when warming up the cache for a tenant. */
+  public static final int WARM_UP_LIMIT = 1000;
+
+  private static final String CACHE_NAME = "client";
+  private static final String KEY_SEPARATOR = ":";
+  private static final String FIELD_TENANT_ID = "tenantId";
+  private static final String FIELD_CLIENT_ID = "clientId";
+
+  private final boolean enabled;
+  private final Cache<String, ClientModel> cache;
+  private final CacheInvalidationBus invalidationBus;
+  private final Counter invalidationCounter;
+  private final AtomicLong invalidationEpoch = new AtomicLong();
+
+  public ClientCache(
+      boolean enabled,
+      long maxSize,
+      long ttlSeconds,
+      CacheInvalidationBus invalidationBus,
+      MeterRegistry meterRegistry) {
+    this.enabled = enabled;
+    this.invalidationBus = invalidationBus;
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build();
+
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    this.invalidationCounter =
+        Counter.builder("guardian.client.cache.invalidations")
+            .description("Client cache invalidations applied on this node")
+            .register(meterRegistry);
+
+    if (enabled) {
+      invalidationBus.subscribe(CHANNEL, this);
+    }
+    log.info("Client cache enabled: {}, max size {}, ttl {}s", enabled, maxSize, ttlSeconds);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /** Serves the client from the cache when present, otherwise loads it and caches a found row. */
+  public Maybe<ClientModel> get(
+      String tenantId, String clientId, Supplier<Maybe<ClientModel>> loader) {
+    if (!enabled) {
+      return loader.get();
+    }
+
+    String key = getKey(tenantId, clientId);
+    return Maybe.defer(
+        () -> {
+          ClientModel client = cache.getIfPresent(key);
+          if (client != null) {
+            return Maybe.just(client);
+          }
+          long epochAtLoad = invalidationEpoch.get();
+          return loader
+              .get()
+              .doOnSuccess(
+                  model -> {
+                    // skip caching rows read before an invalidation that raced with the load
+                    if (invalidationEpoch.get() == epochAtLoad) {
+                      cache.put(key, model);
+                    }
+                  });
+        });
+  }
+
+  /** Caches clients read in bulk, e.g. when a tenant is loaded. */
+  public void warmUp(String tenantId, List<ClientModel> clients, long epochAtLoad) {
+    if (!enabled || invalidationEpoch.get() != epochAtLoad) {
+      return;
+    }
+    for (ClientModel client : clients) {
+      cache.put(getKey(tenantId, client.getClientId()), client);
+    }
+    log.info("Client cache warmed up with {} clients for tenantId: {}", clients.size(), tenantId);
+  }
+
+  /** Epoch to pass to {@link #warmUp}, read before the clients are loaded. */
+  public long getInvalidationEpoch() {
+    return invalidationEpoch.get();
+  }
+
+  public void invalidate(String tenantId, String clientId) {
+    if (!enabled) {
+      return;
+    }
+
+    remove(tenantId, clientId);
+    invalidationBus.publish(
+        CHANNEL,
+        new JsonObject().put(FIELD_TENANT_ID, tenantId).put(FIELD_CLIENT_ID, clientId).encode());
+  }
+
+  @Override
+  public void onMessage(String payload) {
+    JsonObject message = new JsonObject(payload);
+    remove(message.getString(FIELD_TENANT_ID), message.getString(FIELD_CLIENT_ID));
+  }
+
+  @Override
+  public void resync() {
+    invalidationEpoch.incrementAndGet();
+    cache.invalidateAll();
+    log.info("Client cache cleared after invalidation subscriber reconnect");
+  }
+
+  private void remove(String tenantId, String clientId) {
+    invalidationEpoch.incrementAndGet();
+    cache.invalidate(getKey(tenantId, clientId));
+    invalidationCounter.increment();
+  }
+
+  private static String getKey(String tenantId, String clientId) {
+    return tenantId + KEY_SEPARATOR + clientId;
+  }
+}
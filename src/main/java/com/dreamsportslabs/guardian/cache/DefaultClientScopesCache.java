@@ -1,7 +1,5 @@
 package com.dreamsportslabs.guardian.cache;
 
-import com.dreamsportslabs.guardian.dao.model.ClientScopeModel;
-import com.dreamsportslabs.guardian.service.ClientScopeService;
 import com.dreamsportslabs.guardian.service.ClientService;
 import com.dreamsportslabs.guardian.utils.VertxUtil;
 import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
@@ -26,12 +24,12 @@ public class DefaultClientScopesCache {
 
   @Inject
   public DefaultClientScopesCache(
-      ClientService clientService, ClientScopeService clientScopeService, Vertx vertx) {
-    this.cache = getOrCreateCacheInSharedData(clientService, clientScopeService, vertx);
+      ClientService clientService, ScopeCatalogCache scopeCatalogCache, Vertx vertx) {
+    this.cache = getOrCreateCacheInSharedData(clientService, scopeCatalogCache, vertx);
   }
 
   private AsyncLoadingCache<String, Pair<String, List<String>>> getOrCreateCacheInSharedData(
-      ClientService clientService, ClientScopeService clientScopeService, Vertx vertx) {
+      ClientService clientService, ScopeCatalogCache scopeCatalogCache, Vertx vertx) {
     return VertxUtil.getOrCreateSharedData(
         vertx.getDelegate(),
         CACHE_NAME,
@@ -43,25 +41,19 @@ public class DefaultClientScopesCache {
                       Vertx.currentContext().runOnContext(v -> cmd.run());
                     })
                 .expireAfterWrite(REVOCATIONS_EXPIRY, TimeUnit.SECONDS)
-                .buildAsync(getLoader(clientService, clientScopeService)));
+                .buildAsync(getLoader(clientService, scopeCatalogCache)));
   }
 
   private AsyncCacheLoader<String, Pair<String, List<String>>> getLoader(
-      ClientService clientService, ClientScopeService clientScopeService) {
+      ClientService clientService, ScopeCatalogCache scopeCatalogCache) {
     return (tenantId, executor) ->
         clientService
             .getDefaultClientId(tenantId)
             .flatMap(
                 clientId ->
-                    clientScopeService
-                        .getClientScopes(clientId, tenantId)
-                        .map(
-                            clientScopes ->
-                                clientScopes.stream()
-                                    .filter(ClientScopeModel::getIsDefault)
-                                    .map(ClientScopeModel::getScope)
-                                    .toList())
-                        .map(clientScopes -> Pair.of(clientId, clientScopes)))
+                    scopeCatalogCache
+                        .getDefaultScopes(tenantId, clientId)
+                        .map(defaultScopes -> Pair.of(clientId, defaultScopes)))
             .toCompletionStage()
             .toCompletableFuture();
   }
@@ -0,0 +1,168 @@
+package com.dreamsportslabs.guardian.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.fusionauth.jwks.domain.JSONWebKey;
+import io.fusionauth.jwt.json.Mapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.reactivex.rxjava3.core.Single;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.rxjava3.core.buffer.Buffer;
+import io.vertx.rxjava3.ext.web.client.HttpResponse;
+import io.vertx.rxjava3.ext.web.client.WebClient;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Public keys of external identity providers, keyed by JWKS url and shared by every tenant and
+ * provider config that points at the same url. Key sets are fetched without blocking through the
+ * {@link WebClient}, at most one fetch per url at a time. A key set is considered fresh for the
+ * {@code max-age} of its response. Once it is stale, known keys are still served while it is
+ * refetched in the background. A token signed with an unknown kid triggers a refetch, at most once
+ * per {@link #UNKNOWN_KID_REFRESH_INTERVAL_MS}, to pick up rotated keys.
+ */
+@Slf4j
+public class JwksCache {
+  private static final long DEFAULT_MAX_AGE_SECONDS = 3600;
+  private static final long MIN_MAX_AGE_SECONDS = 60;
+  private static final long MAX_MAX_AGE_SECONDS = 86400;
+  private static final long UNKNOWN_KID_REFRESH_INTERVAL_MS = 30000;
+  private static final Duration IDLE_EXPIRY = Duration.ofDays(1);
+  private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+  private static final String CACHE_CONTROL = "Cache-Control";
+  private static final String KEYS = "keys";
+  private static final String USE_ENCRYPTION = "enc";
+
+  private final WebClient webClient;
+  private final Cache<String, KeySet> keySets;
+  private final Map<String, Single<KeySet>> inflight = new ConcurrentHashMap<>();
+  private final Counter fetchSuccessCounter;
+  private final Counter fetchFailureCounter;
+
+  public JwksCache(WebClient webClient, MeterRegistry meterRegistry) {
+    this.webClient = webClient;
+    this.keySets = Caffeine.newBuilder().expireAfterAccess(IDLE_EXPIRY).build();
+    this.fetchSuccessCounter =
+        Counter.builder("guardian.jwks.fetch")
+            .tag("result", "success")
+            .description("JWKS fetches from external identity providers")
+            .register(meterRegistry);
+    this.fetchFailureCounter =
+        Counter.builder("guardian.jwks.fetch")
+            .tag("result", "failure")
+            .description("JWKS fetches from external identity providers")
+            .register(meterRegistry);
+  }
+
+  /** Returns the key with the given kid, erroring when the provider does not publish it. */
+  public Single<PublicKey> getPublicKey(String jwksUrl, String kid) {
+    if (kid == null) {
+      return Single.error(new IllegalArgumentException("Missing kid"));
+    }
+
+    KeySet keySet = keySets.getIfPresent(jwksUrl);
+    if (keySet == null) {
+      return refresh(jwksUrl).map(fetched -> fetched.getKey(kid));
+    }
+
+    PublicKey publicKey = keySet.keys().get(kid);
+    if (publicKey != null) {
+      if (keySet.isStale()) {
+        refresh(jwksUrl)
+            .subscribe(
+                fetched -> {}, err -> log.warn("Failed to refresh stale JWKS {}", jwksUrl, err));
+      }
+      return Single.just(publicKey);
+    }
+
+    if (System.currentTimeMillis() - keySet.fetchedAt() < UNKNOWN_KID_REFRESH_INTERVAL_MS) {
+      return Single.error(new IllegalArgumentException("Unknown kid " + kid));
+    }
+    return refresh(jwksUrl).map(fetched -> fetched.getKey(kid));
+  }
+
+  private Single<KeySet> refresh(String jwksUrl) {
+    return inflight.computeIfAbsent(
+        jwksUrl, url -> fetch(url).doFinally(() -> inflight.remove(url)).cache());
+  }
+
+  private Single<KeySet> fetch(String jwksUrl) {
+    return webClient
+        .getAbs(jwksUrl)
+        .rxSend()
+        .map(
+            response -> {
+              if (response.statusCode() != 200) {
+                throw new IllegalStateException(
+                    "JWKS fetch from " + jwksUrl + " failed with " + response.statusCode());
+              }
+              long now = System.currentTimeMillis();
+              KeySet keySet =
+                  new KeySet(
+                      parseKeys(response.bodyAsJsonObject()),
+                      now,
+                      now + TimeUnit.SECONDS.toMillis(getMaxAge(response)));
+              keySets.put(jwksUrl, keySet);
+              return keySet;
+            })
+        .doOnSuccess(keySet -> fetchSuccessCounter.increment())
+        .doOnError(
+            err -> {
+              fetchFailureCounter.increment();
+              log.error("Failed to fetch JWKS from {}", jwksUrl, err);
+            });
+  }
+
+  private static Map<String, PublicKey> parseKeys(JsonObject body) {
+    Map<String, PublicKey> keys = new HashMap<>();
+    JsonArray jwks = body.getJsonArray(KEYS, new JsonArray());
+    for (int i = 0; i < jwks.size(); i++) {
+      try {
+        JSONWebKey jwk =
+            Mapper.deserialize(jwks.getJsonObject(i).toBuffer().getBytes(), JSONWebKey.class);
+        if (jwk.kid != null && !USE_ENCRYPTION.equals(jwk.use)) {
+          keys.put(jwk.kid, JSONWebKey.parse(jwk));
+        }
+      } catch (Exception e) {
+        log.warn("Skipping unsupported JWKS key", e);
+      }
+    }
+    return Map.copyOf(keys);
+  }
+
+  private static long getMaxAge(HttpResponse<Buffer> response) {
+    String cacheControl = response.getHeader(CACHE_CONTROL);
+    if (cacheControl == null) {
+      return DEFAULT_MAX_AGE_SECONDS;
+    }
+    Matcher matcher = MAX_AGE.matcher(cacheControl);
+    if (!matcher.find()) {
+      return DEFAULT_MAX_AGE_SECONDS;
+    }
+    long maxAge = Long.parseLong(matcher.group(1));
+    return Math.max(MIN_MAX_AGE_SECONDS, Math.min(MAX_MAX_AGE_SECONDS, maxAge));
+  }
+
+  private record KeySet(Map<String, PublicKey> keys, long fetchedAt, long freshUntil) {
+    boolean isStale() {
+      return System.currentTimeMillis() >= freshUntil;
+    }
+
+    PublicKey getKey(String kid) {
+      PublicKey publicKey = keys.get(kid);
+      if (publicKey == null) {
+        throw new IllegalArgumentException("Unknown kid " + kid);
+      }
+      return publicKey;
+    }
+  }
+}
@@ -0,0 +1,213 @@
+package com.dreamsportslabs.guardian.cache;
+
+import static com.dreamsportslabs.guardian.utils.Utils.getCurrentTimeInSeconds;
+
+import com.dreamsportslabs.guardian.dao.model.RefreshTokenModel;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.reactivex.rxjava3.core.Maybe;
+import io.vertx.core.json.JsonObject;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * Near cache of active refresh token rows, keyed by tenant and token hash. Entries live for at
+ * most the configured ttl and never outlive the token itself. Revocations are applied locally and
+ * broadcast on {@link #CHANNEL} so that every node drops the revoked entries.
+ */
+@Slf4j
+public class RefreshTokenCache implements CacheInvalidationBus.Listener {
+  public static final String CHANNEL = "guardian:invalidate:refresh_token";
+
+  private static final String CACHE_NAME = "refresh_token";
+  private static final String KEY_SEPARATOR = ":";
+  private static final String FIELD_TENANT_ID = "tenantId";
+  private static final String FIELD_TOKEN_HASH = "tokenHash";
+  private static final String FIELD_USER_ID = "userId";
+  private static final String FIELD_CLIENT_ID = "clientId";
+
+  private final boolean enabled;
+  private final Cache<String, Entry> cache;
+  private final CacheInvalidationBus invalidationBus;
+  private final Timer stalenessTimer;
+  private final Counter tokenInvalidationCounter;
+  private final Counter userInvalidationCounter;
+  private final AtomicLong invalidationEpoch = new AtomicLong();
+
+  public RefreshTokenCache(
+      boolean enabled,
+      long maxSize,
+      long ttlSeconds,
+      CacheInvalidationBus invalidationBus,
+      MeterRegistry meterRegistry) {
+    this.enabled = enabled;
+    this.invalidationBus = invalidationBus;
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new TokenExpiry(TimeUnit.SECONDS.toNanos(ttlSeconds)))
+            .recordStats()
+            .build();
+
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    this.stalenessTimer =
+        Timer.builder("guardian.refresh_token.cache.staleness")
+            .description("Age of a refresh token cache entry when it is served")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+    this.tokenInvalidationCounter =
+        Counter.builder("guardian.refresh_token.cache.invalidations")
+            .tag("scope", "token")
+            .description("Refresh token cache invalidations applied on this node")
+            .register(meterRegistry);
+    this.userInvalidationCounter =
+        Counter.builder("guardian.refresh_token.cache.invalidations")
+            .tag("scope", "user")
+            .description("Refresh token cache invalidations applied on this node")
+            .register(meterRegistry);
+
+    if (enabled) {
+      invalidationBus.subscribe(CHANNEL, this);
+    }
+    log.info("Refresh token cache enabled: {}, max size {}, ttl {}s", enabled, maxSize, ttlSeconds);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /** Serves the row from the cache when present, otherwise loads it and caches a found row. */
+  public Maybe<RefreshTokenModel> get(
+      String tenantId, String refreshToken, Supplier<Maybe<RefreshTokenModel>> loader) {
+    if (!enabled) {
+      return loader.get();
+    }
+
+    String key = getKey(tenantId, hash(refreshToken));
+    return Maybe.defer(
+        () -> {
+          Entry entry = cache.getIfPresent(key);
+          if (entry != null) {
+            stalenessTimer.record(System.nanoTime() - entry.loadedAt(), TimeUnit.NANOSECONDS);
+            return Maybe.just(entry.model());
+          }
+          long epochAtLoad = invalidationEpoch.get();
+          return loader
+              .get()
+              .doOnSuccess(
+                  model -> {
+                    // skip caching rows read before an invalidation that raced with the load
+                    if (invalidationEpoch.get() == epochAtLoad) {
+                      cache.put(key, new Entry(model, System.nanoTime()));
+                    }
+                  });
+        });
+  }
+
+  public void invalidateToken(String tenantId, String refreshToken) {
+    if (!enabled) {
+      return;
+    }
+
+    String tokenHash = hash(refreshToken);
+    removeToken(tenantId, tokenHash);
+    invalidationBus.publish(
+        CHANNEL,
+        new JsonObject()
+            .put(FIELD_TENANT_ID, tenantId)
+            .put(FIELD_TOKEN_HASH, tokenHash)
+            .encode());
+  }
+
+  /** Drops every cached token of the user, optionally limited to a single client. */
+  public void invalidateUser(String tenantId, String userId, String clientId) {
+    if (!enabled) {
+      return;
+    }
+
+    removeUser(tenantId, userId, clientId);
+    invalidationBus.publish(
+        CHANNEL,
+        new JsonObject()
+            .put(FIELD_TENANT_ID, tenantId)
+            .put(FIELD_USER_ID, userId)
+            .put(FIELD_CLIENT_ID, clientId)
+            .encode());
+  }
+
+  @Override
+  public void onMessage(String payload) {
+    JsonObject message = new JsonObject(payload);
+    String tenantId = message.getString(FIELD_TENANT_ID);
+    if (message.containsKey(FIELD_TOKEN_HASH)) {
+      removeToken(tenantId, message.getString(FIELD_TOKEN_HASH));
+    } else {
+      removeUser(tenantId, message.getString(FIELD_USER_ID), message.getString(FIELD_CLIENT_ID));
+    }
+  }
+
+  @Override
+  public void resync() {
+    invalidationEpoch.incrementAndGet();
+    cache.invalidateAll();
+    log.info("Refresh token cache cleared after invalidation subscriber reconnect");
+  }
+
+  private void removeToken(String tenantId, String tokenHash) {
+    invalidationEpoch.incrementAndGet();
+    cache.invalidate(getKey(tenantId, tokenHash));
+    tokenInvalidationCounter.increment();
+  }
+
+  private void removeUser(String tenantId, String userId, String clientId) {
+    invalidationEpoch.incrementAndGet();
+    cache.asMap().values().removeIf(entry -> belongsTo(entry.model(), tenantId, userId, clientId));
+    userInvalidationCounter.increment();
+  }
+
+  private static boolean belongsTo(
+      RefreshTokenModel model, String tenantId, String userId, String clientId) {
+    return Objects.equals(model.getTenantId(), tenantId)
+        && Objects.equals(model.getUserId(), userId)
+        && (clientId == null || Objects.equals(model.getClientId(), clientId));
+  }
+
+  private static String getKey(String tenantId, String tokenHash) {
+    return tenantId + KEY_SEPARATOR + tokenHash;
+  }
+
+  private static String hash(String refreshToken) {
+    return DigestUtils.sha256Hex(refreshToken);
+  }
+
+  private record Entry(RefreshTokenModel model, long loadedAt) {}
+
+  private record TokenExpiry(long ttlNanos) implements Expiry<String, Entry> {
+    @Override
+    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+      long remainingSeconds = entry.model().getRefreshTokenExp() - getCurrentTimeInSeconds();
+      long remaining = TimeUnit.SECONDS.toNanos(remainingSeconds);
+      return Math.max(0, Math.min(ttlNanos, remaining));
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        String key, Entry entry, long currentTime, long currentDuration) {
+      return expireAfterCreate(key, entry, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
@@ -1,32 +1,52 @@
 package com.dreamsportslabs.guardian.cache;
 
+import static com.dreamsportslabs.guardian.constant.Constants.REVOCATIONS_BUCKET_SIZE;
+import static com.dreamsportslabs.guardian.constant.Constants.REVOCATIONS_FLOOR_FACTOR;
+import static com.dreamsportslabs.guardian.constant.Constants.REVOCATIONS_WRITE_DELAY;
+import static com.dreamsportslabs.guardian.utils.Utils.getCurrentTimeInSeconds;
+
 import com.dreamsportslabs.guardian.dao.RevocationDao;
+import com.dreamsportslabs.guardian.dao.model.RevocationModel;
 import com.dreamsportslabs.guardian.utils.VertxUtil;
 import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
 import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import io.reactivex.rxjava3.core.Single;
 import io.vertx.rxjava3.core.Vertx;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Caches revocations in fixed time buckets of {@code REVOCATIONS_BUCKET_SIZE} seconds, aligned to
+ * the epoch, and assembles any requested window from them. A bucket is closed once its end is
+ * further in the past than a revocation can take to be written. Closed buckets never change and
+ * are kept until they stop being read. Only the open bucket at the end of a window is re-read, once
+ * per distinct window end, so Redis load does not depend on how many windows clients ask for.
+ */
 @Slf4j
 @Singleton
 public class RevocationsCache {
-  private final AsyncLoadingCache<String, List<String>> cache;
+  private final AsyncLoadingCache<BucketKey, List<RevocationModel>> cache;
   private static final String CACHE_NAME = "REVOCATION_CACHE";
-  private static final long REVOCATIONS_EXPIRY = 120;
+  private static final long MAX_BUCKETS = 100_000;
+  private static final long CLOSED_BUCKET_IDLE_EXPIRY = 3600;
+  private static final long OPEN_BUCKET_EXPIRY = 2L * REVOCATIONS_FLOOR_FACTOR;
 
   @Inject
   public RevocationsCache(RevocationDao revocationDao, Vertx vertx) {
     this.cache = getOrCreateCacheInSharedData(revocationDao, vertx);
   }
 
-  private AsyncLoadingCache<String, List<String>> getOrCreateCacheInSharedData(
+  private AsyncLoadingCache<BucketKey, List<RevocationModel>> getOrCreateCacheInSharedData(
       RevocationDao revocationDao, Vertx vertx) {
     return VertxUtil.getOrCreateSharedData(
         vertx.getDelegate(),
@@ -38,16 +58,79 @@ public class RevocationsCache {
                       Objects.requireNonNull(Vertx.currentContext());
                       Vertx.currentContext().runOnContext(v -> cmd.run());
                     })
-                .expireAfterWrite(REVOCATIONS_EXPIRY, TimeUnit.SECONDS)
+                .maximumSize(MAX_BUCKETS)
+                .expireAfter(new BucketExpiry())
                 .buildAsync(getLoader(revocationDao)));
   }
 
-  private AsyncCacheLoader<String, List<String>> getLoader(RevocationDao revocationDao) {
-    return (tenantId, executor) ->
-        revocationDao.getRevocations(tenantId).toCompletionStage().toCompletableFuture();
+  private AsyncCacheLoader<BucketKey, List<RevocationModel>> getLoader(
+      RevocationDao revocationDao) {
+    return (key, executor) ->
+        revocationDao
+            .getRevocations(key.tenantId(), key.from(), key.to())
+            .toCompletionStage()
+            .toCompletableFuture();
+  }
+
+  /** Returns the ids revoked in {@code [fromEpoch, toEpoch)}, oldest first. */
+  public Single<List<String>> getRevocationList(String tenantId, long fromEpoch, long toEpoch) {
+    List<BucketKey> keys = getBucketKeys(tenantId, fromEpoch, toEpoch);
+    return Single.fromCompletionStage(cache.getAll(keys))
+        .map(buckets -> assemble(keys, buckets, fromEpoch, toEpoch));
+  }
+
+  private List<BucketKey> getBucketKeys(String tenantId, long fromEpoch, long toEpoch) {
+    long now = getCurrentTimeInSeconds();
+    List<BucketKey> keys = new ArrayList<>();
+    for (long start = fromEpoch - Math.floorMod(fromEpoch, REVOCATIONS_BUCKET_SIZE);
+        start < toEpoch;
+        start += REVOCATIONS_BUCKET_SIZE) {
+      long end = start + REVOCATIONS_BUCKET_SIZE;
+      if (end + REVOCATIONS_WRITE_DELAY <= now) {
+        keys.add(new BucketKey(tenantId, start, end, true));
+      } else {
+        keys.add(new BucketKey(tenantId, start, Math.min(end, toEpoch), false));
+      }
+    }
+    return keys;
   }
 
-  public Single<List<String>> getRevocationList(String key) {
-    return Single.fromCompletionStage(this.cache.get(key));
+  private static List<String> assemble(
+      List<BucketKey> keys,
+      Map<BucketKey, List<RevocationModel>> buckets,
+      long fromEpoch,
+      long toEpoch) {
+    Set<String> revocations = new LinkedHashSet<>();
+    for (BucketKey key : keys) {
+      for (RevocationModel revocation : buckets.get(key)) {
+        if (revocation.getRevokedAt() >= fromEpoch && revocation.getRevokedAt() < toEpoch) {
+          revocations.add(revocation.getRftId());
+        }
+      }
+    }
+    return new ArrayList<>(revocations);
+  }
+
+  /** Bucket of revocations in {@code [from, to)}. Only closed buckets span a full bucket size. */
+  private record BucketKey(String tenantId, long from, long to, boolean closed) {}
+
+  private static class BucketExpiry implements Expiry<BucketKey, List<RevocationModel>> {
+    @Override
+    public long expireAfterCreate(BucketKey key, List<RevocationModel> value, long currentTime) {
+      long expirySeconds = key.closed() ? CLOSED_BUCKET_IDLE_EXPIRY : OPEN_BUCKET_EXPIRY;
+      return TimeUnit.SECONDS.toNanos(expirySeconds);
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        BucketKey key, List<RevocationModel> value, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+
+    @Override
+    public long expireAfterRead(
+        BucketKey key, List<RevocationModel> value, long currentTime, long currentDuration) {
+      return key.closed() ? TimeUnit.SECONDS.toNanos(CLOSED_BUCKET_IDLE_EXPIRY) : currentDuration;
+    }
   }
 }
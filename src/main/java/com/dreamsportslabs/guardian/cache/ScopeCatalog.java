@@ -0,0 +1,142 @@
+package com.dreamsportslabs.guardian.cache;
+
+import com.dreamsportslabs.guardian.dao.model.ClientScopeModel;
+import com.dreamsportslabs.guardian.dao.model.ScopeModel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of a tenant's scopes and of the scopes assigned to each of its clients. Writes
+ * produce a new snapshot through the {@code with}/{@code without} methods, so readers never see a
+ * partially applied change.
+ */
+public final class ScopeCatalog {
+  private final Map<String, ScopeModel> scopes;
+  private final Map<String, List<ClientScopeModel>> clientScopes;
+
+  private ScopeCatalog(
+      Map<String, ScopeModel> scopes, Map<String, List<ClientScopeModel>> clientScopes) {
+    this.scopes = Collections.unmodifiableMap(scopes);
+    this.clientScopes = Collections.unmodifiableMap(clientScopes);
+  }
+
+  /** Builds the catalog from every scope of the tenant and every client scope row, oldest first. */
+  public static ScopeCatalog of(List<ScopeModel> scopes, List<ClientScopeModel> clientScopes) {
+    Map<String, ScopeModel> scopesByName = new LinkedHashMap<>();
+    for (ScopeModel scope : scopes) {
+      scopesByName.put(scope.getName(), scope);
+    }
+
+    Map<String, List<ClientScopeModel>> scopesByClient = new LinkedHashMap<>();
+    for (ClientScopeModel clientScope : clientScopes) {
+      scopesByClient
+          .computeIfAbsent(clientScope.getClientId(), k -> new ArrayList<>())
+          .add(clientScope);
+    }
+    scopesByClient.replaceAll((clientId, list) -> List.copyOf(list));
+    return new ScopeCatalog(scopesByName, scopesByClient);
+  }
+
+  /** Returns the known scopes among {@code names}, once each and in the order they were asked. */
+  public List<ScopeModel> getScopes(Collection<String> names) {
+    List<ScopeModel> result = new ArrayList<>();
+    for (String name : new LinkedHashSet<>(names)) {
+      ScopeModel scope = scopes.get(name);
+      if (scope != null) {
+        result.add(scope);
+      }
+    }
+    return result;
+  }
+
+  public List<ScopeModel> getOidcScopes() {
+    return scopes.values().stream()
+        .filter(scope -> Boolean.TRUE.equals(scope.getIsOidc()))
+        .toList();
+  }
+
+  /** Distinct claims of the known scopes among {@code names}. */
+  public List<String> getClaims(Collection<String> names) {
+    Set<String> claims = new LinkedHashSet<>();
+    for (ScopeModel scope : getScopes(names)) {
+      if (scope.getClaims() != null) {
+        claims.addAll(scope.getClaims());
+      }
+    }
+    return new ArrayList<>(claims);
+  }
+
+  /** Scopes assigned to the client, in the order they were assigned. */
+  public List<String> getClientScopes(String clientId) {
+    return clientScopes.getOrDefault(clientId, List.of()).stream()
+        .map(ClientScopeModel::getScope)
+        .toList();
+  }
+
+  public List<String> getDefaultScopes(String clientId) {
+    return clientScopes.getOrDefault(clientId, List.of()).stream()
+        .filter(clientScope -> Boolean.TRUE.equals(clientScope.getIsDefault()))
+        .map(ClientScopeModel::getScope)
+        .toList();
+  }
+
+  public ScopeCatalog withScope(ScopeModel scope) {
+    Map<String, ScopeModel> updated = new LinkedHashMap<>(scopes);
+    updated.put(scope.getName(), scope);
+    return new ScopeCatalog(updated, clientScopes);
+  }
+
+  /** Removes the scope along with its client assignments, as the database cascades the delete. */
+  public ScopeCatalog withoutScope(String name) {
+    Map<String, ScopeModel> updated = new LinkedHashMap<>(scopes);
+    updated.remove(name);
+
+    Map<String, List<ClientScopeModel>> updatedClientScopes = new LinkedHashMap<>();
+    clientScopes.forEach(
+        (clientId, list) -> {
+          List<ClientScopeModel> remaining =
+              list.stream().filter(clientScope -> !name.equals(clientScope.getScope())).toList();
+          if (!remaining.isEmpty()) {
+            updatedClientScopes.put(clientId, remaining);
+          }
+        });
+    return new ScopeCatalog(updated, updatedClientScopes);
+  }
+
+  public ScopeCatalog withClientScopes(String clientId, List<ClientScopeModel> added) {
+    List<ClientScopeModel> list = new ArrayList<>(clientScopes.getOrDefault(clientId, List.of()));
+    list.addAll(added);
+
+    Map<String, List<ClientScopeModel>> updated = new LinkedHashMap<>(clientScopes);
+    updated.put(clientId, List.copyOf(list));
+    return new ScopeCatalog(scopes, updated);
+  }
+
+  public ScopeCatalog withoutClientScope(String clientId, String scope) {
+    List<ClientScopeModel> remaining =
+        clientScopes.getOrDefault(clientId, List.of()).stream()
+            .filter(clientScope -> !Objects.equals(scope, clientScope.getScope()))
+            .toList();
+
+    Map<String, List<ClientScopeModel>> updated = new LinkedHashMap<>(clientScopes);
+    if (remaining.isEmpty()) {
+      updated.remove(clientId);
+    } else {
+      updated.put(clientId, remaining);
+    }
+    return new ScopeCatalog(scopes, updated);
+  }
+
+  public ScopeCatalog withoutClient(String clientId) {
+    Map<String, List<ClientScopeModel>> updated = new LinkedHashMap<>(clientScopes);
+    updated.remove(clientId);
+    return new ScopeCatalog(scopes, updated);
+  }
+}
@@ -0,0 +1,160 @@
+package com.dreamsportslabs.guardian.cache;
+
+import com.dreamsportslabs.guardian.dao.ClientScopeDao;
+import com.dreamsportslabs.guardian.dao.ScopeDao;
+import com.dreamsportslabs.guardian.dao.model.ScopeModel;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.reactivex.rxjava3.core.Single;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.UnaryOperator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-node cache of {@link ScopeCatalog}s, loaded for a whole tenant in one go. Scope and client
+ * scope writes are applied to the cached catalog of this node and broadcast on {@link #CHANNEL}, on
+ * which other nodes drop the tenant's catalog and load it again on next use. Entries are also
+ * reloaded after the configured ttl, as a bound on staleness should a broadcast be lost. When the
+ * cache is disabled, lookups query only the rows they need, as loading a whole catalog per request
+ * would cost more than it saves.
+ */
+@Slf4j
+public class ScopeCatalogCache implements CacheInvalidationBus.Listener {
+  public static final String CHANNEL = "guardian:invalidate:scope_catalog";
+
+  private static final String CACHE_NAME = "scope_catalog";
+
+  private final boolean enabled;
+  private final ScopeDao scopeDao;
+  private final ClientScopeDao clientScopeDao;
+  private final AsyncLoadingCache<String, ScopeCatalog> cache;
+  private final CacheInvalidationBus invalidationBus;
+  private final Counter invalidationCounter;
+
+  public ScopeCatalogCache(
+      boolean enabled,
+      long maxSize,
+      long ttlSeconds,
+      ScopeDao scopeDao,
+      ClientScopeDao clientScopeDao,
+      CacheInvalidationBus invalidationBus,
+      MeterRegistry meterRegistry) {
+    this.enabled = enabled;
+    this.scopeDao = scopeDao;
+    this.clientScopeDao = clientScopeDao;
+    this.invalidationBus = invalidationBus;
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .buildAsync(
+                (tenantId, executor) -> load(tenantId).toCompletionStage().toCompletableFuture());
+
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    this.invalidationCounter =
+        Counter.builder("guardian.scope_catalog.cache.invalidations")
+            .description("Scope catalog invalidations received from other nodes")
+            .register(meterRegistry);
+
+    if (enabled) {
+      invalidationBus.subscribe(CHANNEL, this);
+    }
+    log.info(
+        "Scope catalog cache enabled: {}, max size {}, ttl {}s", enabled, maxSize, ttlSeconds);
+  }
+
+  /** Returns the known scopes among {@code names}, once each and in the order they were asked. */
+  public Single<List<ScopeModel>> getScopes(String tenantId, List<String> names) {
+    if (!enabled) {
+      return scopeDao
+          .getScopes(tenantId, names)
+          .map(scopes -> ScopeCatalog.of(scopes, List.of()).getScopes(names));
+    }
+    return get(tenantId).map(catalog -> catalog.getScopes(names));
+  }
+
+  public Single<List<ScopeModel>> getOidcScopes(String tenantId) {
+    if (!enabled) {
+      return scopeDao.oidcScopes(tenantId);
+    }
+    return get(tenantId).map(ScopeCatalog::getOidcScopes);
+  }
+
+  /** Distinct claims of the known scopes among {@code names}. */
+  public Single<List<String>> getClaims(String tenantId, List<String> names) {
+    if (!enabled) {
+      return scopeDao
+          .getScopes(tenantId, names)
+          .map(scopes -> ScopeCatalog.of(scopes, List.of()).getClaims(names));
+    }
+    return get(tenantId).map(catalog -> catalog.getClaims(names));
+  }
+
+  /** Scopes assigned to the client, in the order they were assigned. */
+  public Single<List<String>> getClientScopes(String tenantId, String clientId) {
+    if (!enabled) {
+      return clientScopeDao
+          .getClientScopes(clientId, tenantId)
+          .map(clientScopes -> ScopeCatalog.of(List.of(), clientScopes).getClientScopes(clientId));
+    }
+    return get(tenantId).map(catalog -> catalog.getClientScopes(clientId));
+  }
+
+  public Single<List<String>> getDefaultScopes(String tenantId, String clientId) {
+    if (!enabled) {
+      return clientScopeDao
+          .getClientScopes(clientId, tenantId)
+          .map(clientScopes -> ScopeCatalog.of(List.of(), clientScopes).getDefaultScopes(clientId));
+    }
+    return get(tenantId).map(catalog -> catalog.getDefaultScopes(clientId));
+  }
+
+  private Single<ScopeCatalog> get(String tenantId) {
+    return Single.fromCompletionStage(cache.get(tenantId));
+  }
+
+  /**
+   * Applies a write to the cached catalog of the tenant and tells other nodes to reload it. A
+   * catalog that is still loading may have been read before the write, so it is dropped instead.
+   */
+  public void update(String tenantId, UnaryOperator<ScopeCatalog> change) {
+    if (!enabled) {
+      return;
+    }
+
+    cache
+        .asMap()
+        .computeIfPresent(
+            tenantId,
+            (key, future) ->
+                future.isDone() && !future.isCompletedExceptionally()
+                    ? CompletableFuture.completedFuture(change.apply(future.join()))
+                    : null);
+    invalidationBus.publish(CHANNEL, tenantId);
+  }
+
+  private Single<ScopeCatalog> load(String tenantId) {
+    return Single.zip(
+        scopeDao.getAllScopes(tenantId),
+        clientScopeDao.getAllClientScopes(tenantId),
+        ScopeCatalog::of);
+  }
+
+  @Override
+  public void onMessage(String tenantId) {
+    cache.synchronous().invalidate(tenantId);
+    invalidationCounter.increment();
+  }
+
+  @Override
+  public void resync() {
+    cache.synchronous().invalidateAll();
+    log.info("Scope catalog cache cleared after invalidation subscriber reconnect");
+  }
+}
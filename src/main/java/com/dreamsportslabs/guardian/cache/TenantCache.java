@@ -1,54 +1,311 @@
 package com.dreamsportslabs.guardian.cache;
 
+import static com.dreamsportslabs.guardian.exception.ErrorEnum.INVALID_REQUEST;
+
 import com.dreamsportslabs.guardian.config.tenant.TenantConfig;
 import com.dreamsportslabs.guardian.dao.ConfigDao;
+import com.dreamsportslabs.guardian.dao.config.TenantDao;
+import com.dreamsportslabs.guardian.exception.ErrorEnum;
 import com.dreamsportslabs.guardian.injection.GuiceInjector;
 import com.dreamsportslabs.guardian.registry.Registry;
 import com.dreamsportslabs.guardian.registry.RegistryInit;
+import com.dreamsportslabs.guardian.service.ClientService;
 import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
 import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.reactivex.rxjava3.core.Single;
+import io.vertx.rxjava3.core.Vertx;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
 import java.time.Duration;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Per-node cache of tenant configs. Invalidations are broadcast on {@link #CHANNEL} so that a
+ * config write on one node is picked up by every node without waiting for the refresh interval.
+ * Periodic refreshes first probe the config version and keep the cached config, along with the
+ * signers and providers built from it, when nothing has changed.
+ *
+ * <p>Concurrent first requests for a tenant share a single load. Tenants whose config cannot be
+ * found are remembered for a short while, and ids missing from the periodically refreshed set of
+ * known tenants are rejected without reading their config, so that bogus tenant ids cannot drive
+ * config reads.
+ */
 @Slf4j
-public class TenantCache {
+public class TenantCache implements CacheInvalidationBus.Listener {
+  public static final String CHANNEL = "guardian:invalidate:tenant_config";
+
+  /** Same error as a load of a tenant without config rows, so callers cannot tell them apart. */
+  private static final String UNKNOWN_TENANT_MESSAGE = "User config not found";
+
   private final AsyncLoadingCache<String, TenantConfig> cache;
+  // tenant id to the message of the error its config load failed with
+  private final Cache<String, String> missingTenants;
   private static TenantCache tenantCache;
   private final Registry registry;
+  private final ClientService clientService;
+  private final CacheInvalidationBus invalidationBus;
+  private final Counter unchangedRefreshCounter;
+  private final Counter rebuiltRefreshCounter;
+  private final Counter unknownTenantCounter;
+  private final Counter missingTenantCounter;
+  private final TenantDao tenantDao;
+  private final AtomicLong invalidationEpoch = new AtomicLong();
+  private volatile Set<String> knownTenantIds;
+  private Set<String> tenantsMarkedDuringRefresh = new HashSet<>();
 
-  private TenantCache(int refreshInterval) {
+  private TenantCache(
+      int refreshInterval,
+      int negativeTtl,
+      long negativeMaxSize,
+      int knownTenantsRefreshInterval,
+      CacheInvalidationBus invalidationBus) {
     this.cache =
         Caffeine.newBuilder()
             .refreshAfterWrite(Duration.ofSeconds(refreshInterval))
             .buildAsync(getLoader(GuiceInjector.getGuiceInjector().getInstance(ConfigDao.class)));
     this.registry = GuiceInjector.getGuiceInjector().getInstance(Registry.class);
+    this.clientService = GuiceInjector.getGuiceInjector().getInstance(ClientService.class);
+    this.invalidationBus = invalidationBus;
+    this.missingTenants =
+        Caffeine.newBuilder()
+            .maximumSize(negativeMaxSize)
+            .expireAfterWrite(Duration.ofSeconds(negativeTtl))
+            .build();
+    this.tenantDao = GuiceInjector.getGuiceInjector().getInstance(TenantDao.class);
+
+    MeterRegistry meterRegistry = GuiceInjector.getGuiceInjector().getInstance(MeterRegistry.class);
+    this.unchangedRefreshCounter =
+        Counter.builder("guardian.tenant_config.refresh")
+            .tag("result", "unchanged")
+            .description("Tenant config refreshes by outcome")
+            .register(meterRegistry);
+    this.rebuiltRefreshCounter =
+        Counter.builder("guardian.tenant_config.refresh")
+            .tag("result", "rebuilt")
+            .description("Tenant config refreshes by outcome")
+            .register(meterRegistry);
+    this.unknownTenantCounter =
+        Counter.builder("guardian.tenant_config.rejected")
+            .tag("reason", "unknown_tenant")
+            .description("Tenant config requests rejected without reading the config")
+            .register(meterRegistry);
+    this.missingTenantCounter =
+        Counter.builder("guardian.tenant_config.rejected")
+            .tag("reason", "missing_config")
+            .description("Tenant config requests rejected without reading the config")
+            .register(meterRegistry);
+    invalidationBus.subscribe(CHANNEL, this);
+
+    refreshKnownTenants();
+    GuiceInjector.getGuiceInjector()
+        .getInstance(Vertx.class)
+        .setPeriodic(knownTenantsRefreshInterval * 1000L, id -> refreshKnownTenants());
   }
 
-  public static synchronized TenantCache getInstance(int refreshInterval) {
+  public static synchronized TenantCache getInstance(
+      int refreshInterval,
+      int negativeTtl,
+      long negativeMaxSize,
+      int knownTenantsRefreshInterval,
+      CacheInvalidationBus invalidationBus) {
     if (tenantCache == null) {
-      tenantCache = new TenantCache(refreshInterval);
+      tenantCache =
+          new TenantCache(
+              refreshInterval,
+              negativeTtl,
+              negativeMaxSize,
+              knownTenantsRefreshInterval,
+              invalidationBus);
     }
 
     return tenantCache;
   }
 
+  /** Returns the tenant's config if it is already loaded, without waiting for a load. */
+  public TenantConfig getIfLoaded(String tenantId) {
+    CompletableFuture<TenantConfig> future = cache.getIfPresent(tenantId);
+    if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+      return null;
+    }
+    return future.getNow(null);
+  }
+
   public Single<TenantConfig> getTenantConfig(String tenantId) {
-    return Single.fromCompletionStage(cache.get(tenantId));
+    return Single.defer(
+        () -> {
+          String missing = missingTenants.getIfPresent(tenantId);
+          if (missing != null) {
+            missingTenantCounter.increment();
+            return Single.error(INVALID_REQUEST.getCustomException(missing));
+          }
+
+          Set<String> known = knownTenantIds;
+          if (known != null && !known.contains(tenantId) && cache.getIfPresent(tenantId) == null) {
+            unknownTenantCounter.increment();
+            missingTenants.put(tenantId, UNKNOWN_TENANT_MESSAGE);
+            return Single.error(INVALID_REQUEST.getCustomException(UNKNOWN_TENANT_MESSAGE));
+          }
+
+          long epochAtLoad = invalidationEpoch.get();
+          return Single.fromCompletionStage(cache.get(tenantId))
+              .doOnError(
+                  err -> {
+                    // remember config that is not there, but not failures to read it, and not
+                    // when the tenant was written while it was being read
+                    String message = getMissingConfigMessage(err);
+                    if (message != null && invalidationEpoch.get() == epochAtLoad) {
+                      missingTenants.put(tenantId, message);
+                    }
+                  });
+        });
+  }
+
+  /** The message of a load that failed because config rows are missing, null for other errors. */
+  private static String getMissingConfigMessage(Throwable err) {
+    if (err instanceof WebApplicationException e
+        && e.getResponse().getStatus() == Response.Status.BAD_REQUEST.getStatusCode()
+        && e.getResponse().getEntity() instanceof ErrorEnum.ErrorEntity entity) {
+      return entity.getError().getMessage();
+    }
+    return null;
   }
 
   private AsyncCacheLoader<String, TenantConfig> getLoader(ConfigDao configDao) {
-    return (tenantId, executor) ->
-        configDao
-            .getTenantConfig(tenantId)
-            .map(config -> RegistryInit.initializeRegistry(registry, config))
+    return new AsyncCacheLoader<>() {
+      @Override
+      public CompletableFuture<TenantConfig> asyncLoad(String tenantId, Executor executor) {
+        return load(configDao, tenantId)
+            .doOnSuccess(
+                config -> {
+                  markKnown(tenantId);
+                  warmUpClients(tenantId);
+                })
             .toCompletionStage()
             .toCompletableFuture();
+      }
+
+      @Override
+      public CompletableFuture<TenantConfig> asyncReload(
+          String tenantId, TenantConfig oldValue, Executor executor) {
+        return configDao
+            .getTenantConfigVersion(tenantId)
+            .flatMap(
+                version -> {
+                  if (oldValue.getVersion() != null
+                      && Objects.equals(version, oldValue.getVersion())) {
+                    unchangedRefreshCounter.increment();
+                    return Single.just(oldValue);
+                  }
+                  rebuiltRefreshCounter.increment();
+                  return load(configDao, tenantId);
+                })
+            .toCompletionStage()
+            .toCompletableFuture();
+      }
+    };
+  }
+
+  private Single<TenantConfig> load(ConfigDao configDao, String tenantId) {
+    return configDao
+        .getTenantConfig(tenantId)
+        .map(config -> RegistryInit.initializeRegistry(registry, config));
   }
 
+  private void warmUpClients(String tenantId) {
+    clientService
+        .warmUpClientCache(tenantId)
+        .subscribe(
+            () -> {},
+            err -> log.error("Failed to warm up client cache for tenantId: {}", tenantId, err));
+  }
+
+  /**
+   * Called after this node wrote config for the tenant, or served a request that loaded it, so the
+   * tenant is known to exist.
+   */
   public void invalidateCache(String tenantId) {
+    invalidateLocal(tenantId);
+    markKnown(tenantId);
+    invalidationBus.publish(CHANNEL, tenantId);
+  }
+
+  @Override
+  public void onMessage(String tenantId) {
+    invalidateLocal(tenantId);
+    markKnownIfExists(tenantId);
+  }
+
+  @Override
+  public void resync() {
+    invalidationEpoch.incrementAndGet();
+    cache.synchronous().invalidateAll();
+    missingTenants.invalidateAll();
+    refreshKnownTenants();
+    log.info("Tenant cache cleared after invalidation subscriber reconnect");
+  }
+
+  private void refreshKnownTenants() {
+    synchronized (this) {
+      tenantsMarkedDuringRefresh = new HashSet<>();
+    }
+    tenantDao
+        .getTenantIds()
+        .subscribe(
+            this::setKnownTenants, err -> log.error("Failed to refresh known tenant ids", err));
+  }
+
+  private synchronized void setKnownTenants(Set<String> tenantIds) {
+    Set<String> known = ConcurrentHashMap.newKeySet();
+    known.addAll(tenantIds);
+    // keep tenants created while the ids were being read
+    known.addAll(tenantsMarkedDuringRefresh);
+    this.knownTenantIds = known;
+  }
+
+  private synchronized void markKnown(String tenantId) {
+    tenantsMarkedDuringRefresh.add(tenantId);
+    Set<String> known = knownTenantIds;
+    if (known != null) {
+      known.add(tenantId);
+    }
+  }
+
+  private void invalidateLocal(String tenantId) {
+    invalidationEpoch.incrementAndGet();
     cache.synchronous().invalidate(tenantId);
+    missingTenants.invalidate(tenantId);
     log.info("Tenant cache invalidated for tenantId: {}", tenantId);
   }
+
+  /**
+   * Invalidations from other nodes also arrive for tenants created there, which the next refresh of
+   * known ids would otherwise keep rejecting. Ids from the channel are only trusted once the tenant
+   * table has them, since anything that can publish to it can send any id.
+   */
+  private void markKnownIfExists(String tenantId) {
+    Set<String> known = knownTenantIds;
+    if (known == null || known.contains(tenantId)) {
+      return;
+    }
+    tenantDao
+        .getConfig(tenantId)
+        .subscribe(
+            tenant -> {
+              markKnown(tenantId);
+              // requests that raced the check were rejected as unknown
+              missingTenants.invalidate(tenantId);
+            },
+            err -> log.error("Failed to check tenant {} after invalidation", tenantId, err));
+  }
 }
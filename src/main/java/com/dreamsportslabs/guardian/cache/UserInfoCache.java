@@ -0,0 +1,70 @@
+package com.dreamsportslabs.guardian.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.reactivex.rxjava3.core.Single;
+import io.vertx.core.json.JsonObject;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Assembled userinfo responses, keyed by tenant, user and the set of scopes granted to the token.
+ * User data is owned by the tenant's user service, which does not notify guardian of changes, so
+ * entries are only kept for a short ttl.
+ */
+@Slf4j
+public class UserInfoCache {
+  private static final String CACHE_NAME = "userinfo";
+  private static final String KEY_SEPARATOR = ":";
+  private static final String SCOPE_SEPARATOR = " ";
+
+  private final boolean enabled;
+  private final Cache<String, JsonObject> cache;
+
+  public UserInfoCache(boolean enabled, long maxSize, long ttlSeconds, MeterRegistry registry) {
+    this.enabled = enabled;
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build();
+
+    CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    log.info("Userinfo cache enabled: {}, max size {}, ttl {}s", enabled, maxSize, ttlSeconds);
+  }
+
+  /** Serves a copy of the cached response when present, otherwise loads and caches it. */
+  public Single<JsonObject> get(
+      String tenantId,
+      String userId,
+      Collection<String> scopes,
+      Supplier<Single<JsonObject>> loader) {
+    if (!enabled) {
+      return loader.get();
+    }
+
+    String key = getKey(tenantId, userId, scopes);
+    return Single.defer(
+        () -> {
+          JsonObject userInfo = cache.getIfPresent(key);
+          if (userInfo != null) {
+            return Single.just(userInfo.copy());
+          }
+          return loader.get().doOnSuccess(loaded -> cache.put(key, loaded.copy()));
+        });
+  }
+
+  private static String getKey(String tenantId, String userId, Collection<String> scopes) {
+    return tenantId
+        + KEY_SEPARATOR
+        + userId
+        + KEY_SEPARATOR
+        + String.join(SCOPE_SEPARATOR, new TreeSet<>(scopes));
+  }
+}
@@ -24,6 +24,10 @@ import lombok.ToString;
 public class TenantConfig {
 
   @Getter private String tenantId;
+
+  /** Version of the rows this config was built from, used to detect changes on refresh. */
+  @Getter private String version;
+
   @Getter private UserConfig userConfig;
   @Getter private TokenConfig tokenConfig;
 
@@ -65,6 +65,9 @@ public final class Constants {
   public static final String HTTP_READ_TIMEOUT = "http_read_timeout";
   public static final String HTTP_WRITE_TIMEOUT = "http_write_timeout";
   public static final String TENANT_CONFIG_REFRESH_INTERVAL = "tenant_config_refresh_interval";
+  public static final String TENANT_NEGATIVE_CACHE_TTL = "tenant_negative_cache_ttl";
+  public static final String TENANT_NEGATIVE_CACHE_MAX_SIZE = "tenant_negative_cache_max_size";
+  public static final String KNOWN_TENANTS_REFRESH_INTERVAL = "known_tenants_refresh_interval";
   public static final String HTTP_CLIENT_KEEP_ALIVE = "http_client_keep_alive";
   public static final String HTTP_CLIENT_KEEP_ALIVE_TIMEOUT = "http_client_keep_alive_timeout";
   public static final String HTTP_CLIENT_IDLE_TIMEOUT = "http_client_idle_timeout";
@@ -72,6 +75,33 @@ public final class Constants {
       "http_client_connection_pool_max_size";
   public static final String APPLICATION_SHUTDOWN_GRACE_PERIOD =
       "application_shutdown_grace_period";
+  public static final String TOKEN_SIGNING_POOL_SIZE = "token_signing_pool_size";
+  public static final String TOKEN_SIGNING_QUEUE_SIZE = "token_signing_queue_size";
+  public static final String REFRESH_TOKEN_CACHE_ENABLED = "refresh_token_cache_enabled";
+  public static final String REFRESH_TOKEN_CACHE_MAX_SIZE = "refresh_token_cache_max_size";
+  public static final String REFRESH_TOKEN_CACHE_TTL = "refresh_token_cache_ttl";
+  public static final String ACCESS_TOKEN_CACHE_ENABLED = "access_token_cache_enabled";
+  public static final String ACCESS_TOKEN_CACHE_MAX_SIZE = "access_token_cache_max_size";
+  public static final String ACCESS_TOKEN_CACHE_TTL = "access_token_cache_ttl";
+  public static final String USERINFO_CACHE_ENABLED = "userinfo_cache_enabled";
+  public static final String USERINFO_CACHE_MAX_SIZE = "userinfo_cache_max_size";
+  public static final String USERINFO_CACHE_TTL = "userinfo_cache_ttl";
+  public static final String CLIENT_CACHE_ENABLED = "client_cache_enabled";
+  public static final String CLIENT_CACHE_MAX_SIZE = "client_cache_max_size";
+  public static final String CLIENT_CACHE_TTL = "client_cache_ttl";
+  public static final String SCOPE_CATALOG_ENABLED = "scope_catalog_enabled";
+  public static final String SCOPE_CATALOG_MAX_SIZE = "scope_catalog_max_size";
+  public static final String SCOPE_CATALOG_TTL = "scope_catalog_ttl";
+  public static final String OTP_DELIVERY_ASYNC_ENABLED = "otp_delivery_async_enabled";
+  public static final String OTP_DELIVERY_STREAM_MAX_LENGTH = "otp_delivery_stream_max_length";
+  public static final String OTP_DELIVERY_BATCH_SIZE = "otp_delivery_batch_size";
+  public static final String OTP_DELIVERY_SMS_CONCURRENCY = "otp_delivery_sms_concurrency";
+  public static final String OTP_DELIVERY_EMAIL_CONCURRENCY = "otp_delivery_email_concurrency";
+  public static final String OTP_DELIVERY_MAX_ATTEMPTS = "otp_delivery_max_attempts";
+  public static final String OTP_DELIVERY_RETRY_BACKOFF_MS = "otp_delivery_retry_backoff_ms";
+  public static final String FLOW_STATE_FORMAT = "flow_state_format";
+  public static final String FLOW_STATE_COMPRESSION_THRESHOLD = "flow_state_compression_threshold";
+  public static final String FLOW_STATE_HEADER_ALLOW_LIST = "flow_state_header_allow_list";
 
   // JWT CLAIMS
   public static final String JWT_CLAIMS_AUD = "aud";
@@ -162,10 +192,13 @@ public final class Constants {
   public static final Integer REVOCATIONS_FLOOR_FACTOR_2 = 60;
   public static final String REVOCATIONS_KEY_SEPARATOR = "_";
   public static final String REDIS_OPTION_BYSCORE = "BYSCORE";
-  public static final Integer REVOCATIONS_KEY_APPLICATION_ID_INDEX = 0;
-  public static final Integer REVOCATIONS_KEY_SCORE_START_INDEX = 1;
-  public static final Integer REVOCATIONS_KEY_SCORE_END_INDEX = 2;
+  public static final String REDIS_OPTION_WITHSCORES = "WITHSCORES";
+  public static final Integer REVOCATIONS_BUCKET_SIZE = 60;
+  // Longest a revocation is expected to take to reach the sorted set after it is scored
+  public static final Integer REVOCATIONS_WRITE_DELAY = 10;
   public static final String REVOCATIONS_REDIS_KEY_PREFIX = "revocations";
+  public static final String REDIS_EXCLUSIVE_RANGE_PREFIX = "(";
+  public static final Double REVOCATIONS_BLOOM_FALSE_POSITIVE_RATE = 0.001;
   public static final Integer MILLIS_TO_SECONDS = 1000;
   public static final String COUNT = "count";
 
@@ -199,6 +232,9 @@ public final class Constants {
   public static final String FORMAT_PEM = "PEM";
   public static final String FORMAT_JWKS = "JWKS";
   public static final ImmutableList<Integer> VALID_KEY_SIZES = ImmutableList.of(2048, 3072, 4096);
+  public static final ImmutableList<Integer> VALID_EC_KEY_SIZES = ImmutableList.of(256);
+  public static final String KEY_TYPE_RSA = "RSA";
+  public static final String KEY_TYPE_EC = "EC";
 
   // OIDC Token Constants
   public static final String OIDC_REFRESH_TOKEN = "refresh_token";
@@ -295,6 +331,7 @@ public final class Constants {
 
   // RSA Key Generation Constants
   public static final int DEFAULT_RSA_KEY_SIZE = 2048;
+  public static final int DEFAULT_EC_KEY_SIZE = 256;
   public static final int DEFAULT_RSA_KEY_COUNT = 3;
   public static final int FIRST_RSA_KEY_INDEX = 0;
 
@@ -5,7 +5,8 @@ import lombok.Getter;
 
 @Getter
 public enum OidcIdTokenSigningAlgValue {
-  RS256("RS256");
+  RS256("RS256"),
+  ES256("ES256");
 
   private final String value;
 
@@ -0,0 +1,34 @@
+package com.dreamsportslabs.guardian.constant;
+
+import static com.dreamsportslabs.guardian.exception.ErrorEnum.INVALID_REQUEST;
+
+import java.util.Arrays;
+import java.util.List;
+import lombok.Getter;
+
+@Getter
+public enum RevocationFormat {
+  JSON("json"),
+  PACKED("packed"),
+  BLOOM("bloom");
+
+  private final String value;
+
+  RevocationFormat(String value) {
+    this.value = value;
+  }
+
+  public static RevocationFormat fromValue(String value) {
+    for (RevocationFormat format : values()) {
+      if (format.getValue().equals(value)) {
+        return format;
+      }
+    }
+    throw INVALID_REQUEST.getCustomException(
+        "Invalid format: " + value + ". Valid formats are: " + getAllValues());
+  }
+
+  public static List<String> getAllValues() {
+    return Arrays.stream(values()).map(RevocationFormat::getValue).toList();
+  }
+}
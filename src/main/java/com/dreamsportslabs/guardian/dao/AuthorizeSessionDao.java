@@ -1,50 +1,36 @@
 package com.dreamsportslabs.guardian.dao;
 
 import static com.dreamsportslabs.guardian.constant.Constants.CACHE_KEY_AUTH_SESSION;
-import static com.dreamsportslabs.guardian.constant.Constants.EXPIRY_OPTION_REDIS;
-import static com.dreamsportslabs.guardian.constant.Constants.KEEP_TTL;
 import static com.dreamsportslabs.guardian.exception.OidcErrorEnum.SERVER_ERROR;
 import static com.dreamsportslabs.guardian.exception.OidcErrorEnum.UNAUTHORIZED;
 
+import com.dreamsportslabs.guardian.dao.codec.StateCodec;
 import com.dreamsportslabs.guardian.dao.model.AuthorizeSessionModel;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.dreamsportslabs.guardian.dao.script.RedisScripts;
 import com.google.inject.Inject;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Single;
+import io.vertx.rxjava3.core.buffer.Buffer;
 import io.vertx.rxjava3.redis.client.Command;
 import io.vertx.rxjava3.redis.client.Redis;
 import io.vertx.rxjava3.redis.client.Request;
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @RequiredArgsConstructor(onConstructor = @__({@Inject}))
 public class AuthorizeSessionDao {
   private final Redis redisClient;
-  private final ObjectMapper objectMapper;
+  private final StateCodec stateCodec;
+  private final RedisScripts redisScripts;
 
-  @SneakyThrows
   public Completable saveAuthorizeSession(
       String challenge, AuthorizeSessionModel model, String tenantId, Integer ttl) {
     String cacheKey = getCacheKey(challenge, tenantId);
-    String value = objectMapper.writeValueAsString(model);
+    Buffer value = stateCodec.encode(model);
 
-    return this.redisClient
-        .rxSend(Request.cmd(Command.TTL).arg(cacheKey))
-        .filter(response -> response.toInteger() == -2)
-        .flatMap(
-            response ->
-                redisClient.rxSend(
-                    Request.cmd(Command.SET)
-                        .arg(cacheKey)
-                        .arg(value)
-                        .arg(EXPIRY_OPTION_REDIS)
-                        .arg(ttl)))
-        .switchIfEmpty(
-            redisClient.rxSend(Request.cmd(Command.SET).arg(cacheKey).arg(value).arg(KEEP_TTL)))
-        .ignoreElement();
+    return redisScripts.setKeepingTtl(cacheKey, value, ttl);
   }
 
   public Single<AuthorizeSessionModel> getAuthorizeSession(String challenge, String tenantId) {
@@ -55,7 +41,7 @@ public class AuthorizeSessionDao {
         .onErrorResumeNext(
             err -> Maybe.error(SERVER_ERROR.getJsonCustomException(err.getMessage())))
         .switchIfEmpty(Maybe.error(UNAUTHORIZED.getJsonCustomException("Invalid challenge")))
-        .map(response -> objectMapper.readValue(response.toString(), AuthorizeSessionModel.class))
+        .map(response -> stateCodec.decode(response, AuthorizeSessionModel.class))
         .toSingle();
   }
 
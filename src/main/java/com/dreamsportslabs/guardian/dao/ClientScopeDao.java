@@ -1,6 +1,7 @@
 package com.dreamsportslabs.guardian.dao;
 
 import static com.dreamsportslabs.guardian.dao.query.ClientScopeQuery.DELETE_CLIENT_SCOPE;
+import static com.dreamsportslabs.guardian.dao.query.ClientScopeQuery.GET_ALL_CLIENT_SCOPES;
 import static com.dreamsportslabs.guardian.dao.query.ClientScopeQuery.GET_CLIENT_SCOPES;
 import static com.dreamsportslabs.guardian.dao.query.ClientScopeQuery.INSERT_CLIENT_SCOPE;
 import static com.dreamsportslabs.guardian.exception.ErrorEnum.INTERNAL_SERVER_ERROR;
@@ -48,6 +49,15 @@ public class ClientScopeDao {
         .onErrorResumeNext(err -> Single.error(INTERNAL_SERVER_ERROR.getException(err)));
   }
 
+  public Single<List<ClientScopeModel>> getAllClientScopes(String tenantId) {
+    return mysqlClient
+        .getReaderPool()
+        .preparedQuery(GET_ALL_CLIENT_SCOPES)
+        .rxExecute(Tuple.of(tenantId))
+        .map(result -> JsonUtils.rowSetToList(result, ClientScopeModel.class))
+        .onErrorResumeNext(err -> Single.error(INTERNAL_SERVER_ERROR.getException(err)));
+  }
+
   public Completable deleteClientScope(String tenantId, String clientId, String scope) {
     return mysqlClient
         .getWriterPool()
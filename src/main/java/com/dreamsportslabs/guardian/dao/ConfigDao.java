@@ -1,19 +1,25 @@
 package com.dreamsportslabs.guardian.dao;
 
-import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.ADMIN_CONFIG;
-import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.AUTH_CODE_CONFIG;
-import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.CONTACT_VERIFY_CONFIG;
-import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.EMAIL_CONFIG;
-import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.FB_AUTH_CONFIG;
-import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.GOOGLE_AUTH_CONFIG;
-import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.GUEST_CONFIG;
-import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.OIDC_CONFIG;
-import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.OIDC_PROVIDER_CONFIG;
-import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.OTP_CONFIG;
-import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.PASSWORD_PIN_BLOCK_CONFIG;
-import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.SMS_CONFIG;
-import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.TOKEN_CONFIG;
-import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.USER_CONFIG;
+import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.COLUMN_CONFIG;
+import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.COLUMN_SECTION;
+import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.COLUMN_VERSION;
+import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.SECTION_ADMIN_CONFIG;
+import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.SECTION_AUTH_CODE_CONFIG;
+import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.SECTION_CONTACT_VERIFY_CONFIG;
+import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.SECTION_EMAIL_CONFIG;
+import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.SECTION_FB_CONFIG;
+import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.SECTION_GOOGLE_CONFIG;
+import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.SECTION_GUEST_CONFIG;
+import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.SECTION_OIDC_CONFIG;
+import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.SECTION_OIDC_PROVIDER_CONFIG;
+import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.SECTION_OTP_CONFIG;
+import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.SECTION_PASSWORD_PIN_BLOCK_CONFIG;
+import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.SECTION_SMS_CONFIG;
+import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.SECTION_TOKEN_CONFIG;
+import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.SECTION_USER_CONFIG;
+import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.SECTION_VERSION;
+import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.TENANT_CONFIG;
+import static com.dreamsportslabs.guardian.dao.query.ConfigQuery.TENANT_CONFIG_VERSION;
 import static com.dreamsportslabs.guardian.exception.ErrorEnum.INVALID_REQUEST;
 
 import com.dreamsportslabs.guardian.client.MysqlClient;
@@ -29,184 +35,185 @@ import com.dreamsportslabs.guardian.config.tenant.OidcProviderConfig;
 import com.dreamsportslabs.guardian.config.tenant.OtpConfig;
 import com.dreamsportslabs.guardian.config.tenant.PasswordPinBlockConfig;
 import com.dreamsportslabs.guardian.config.tenant.SmsConfig;
+import com.dreamsportslabs.guardian.config.tenant.TenantConfig.TenantConfigBuilder;
 import com.dreamsportslabs.guardian.config.tenant.TenantConfig;
 import com.dreamsportslabs.guardian.config.tenant.TokenConfig;
 import com.dreamsportslabs.guardian.config.tenant.UserConfig;
 import com.dreamsportslabs.guardian.utils.JsonUtils;
 import com.google.inject.Inject;
-import io.reactivex.rxjava3.core.Completable;
-import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Single;
+import io.vertx.core.json.JsonObject;
+import io.vertx.rxjava3.sqlclient.Row;
+import io.vertx.rxjava3.sqlclient.RowSet;
 import io.vertx.rxjava3.sqlclient.Tuple;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 
 @Slf4j
 @RequiredArgsConstructor(onConstructor = @__({@Inject}))
 public class ConfigDao {
+  private static final int TENANT_CONFIG_PARAM_COUNT = StringUtils.countMatches(TENANT_CONFIG, '?');
+  private static final int TENANT_CONFIG_VERSION_PARAM_COUNT =
+      StringUtils.countMatches(TENANT_CONFIG_VERSION, '?');
+
+  private static final List<MandatorySection<?>> MANDATORY_SECTIONS =
+      List.of(
+          new MandatorySection<>(
+              SECTION_USER_CONFIG,
+              UserConfig.class,
+              TenantConfigBuilder::userConfig,
+              "User config not found"),
+          new MandatorySection<>(
+              SECTION_TOKEN_CONFIG,
+              TokenConfig.class,
+              TenantConfigBuilder::tokenConfig,
+              "Token config not found"));
+
+  private static final List<OptionalSection<?>> OPTIONAL_SECTIONS =
+      List.of(
+          new OptionalSection<>(
+              SECTION_AUTH_CODE_CONFIG, AuthCodeConfig.class, TenantConfigBuilder::authCodeConfig),
+          new OptionalSection<>(
+              SECTION_EMAIL_CONFIG, EmailConfig.class, TenantConfigBuilder::emailConfig),
+          new OptionalSection<>(SECTION_FB_CONFIG, FbConfig.class, TenantConfigBuilder::fbConfig),
+          new OptionalSection<>(
+              SECTION_GOOGLE_CONFIG, GoogleConfig.class, TenantConfigBuilder::googleConfig),
+          new OptionalSection<>(
+              SECTION_SMS_CONFIG, SmsConfig.class, TenantConfigBuilder::smsConfig),
+          new OptionalSection<>(
+              SECTION_OTP_CONFIG, OtpConfig.class, TenantConfigBuilder::otpConfig),
+          new OptionalSection<>(
+              SECTION_CONTACT_VERIFY_CONFIG,
+              ContactVerifyConfig.class,
+              TenantConfigBuilder::contactVerifyConfig),
+          new OptionalSection<>(
+              SECTION_PASSWORD_PIN_BLOCK_CONFIG,
+              PasswordPinBlockConfig.class,
+              TenantConfigBuilder::passwordPinBlockConfig),
+          new OptionalSection<>(
+              SECTION_ADMIN_CONFIG, AdminConfig.class, TenantConfigBuilder::adminConfig),
+          new OptionalSection<>(
+              SECTION_OIDC_CONFIG, OidcConfig.class, TenantConfigBuilder::oidcConfig),
+          new OptionalSection<>(
+              SECTION_GUEST_CONFIG, GuestConfig.class, TenantConfigBuilder::guestConfig));
+
   private final MysqlClient mysqlClient;
 
   public Single<TenantConfig> getTenantConfig(String tenantId) {
-    TenantConfig.TenantConfigBuilder builder = TenantConfig.builder().tenantId(tenantId);
-
-    List<Completable> mandatoryConfigSources =
-        List.of(appendUserConfig(tenantId, builder), appendTokenConfig(tenantId, builder));
-
-    List<Completable> optionalConfigSources =
-        List.of(
-            appendAuthCodeConfig(tenantId, builder),
-            appendEmailConfig(tenantId, builder),
-            appendFbConfig(tenantId, builder),
-            appendGoogleConfig(tenantId, builder),
-            appendSmsConfig(tenantId, builder),
-            appendOtpConfig(tenantId, builder),
-            appendContactVerifyConfig(tenantId, builder),
-            appendPasswordPinBlockConfig(tenantId, builder),
-            appendOidcProviderConfig(tenantId, builder),
-            appendAdminConfig(tenantId, builder),
-            appendOidcConfig(tenantId, builder),
-            appendGuestConfig(tenantId, builder));
-
-    return Completable.merge(mandatoryConfigSources)
-        .andThen(Completable.merge(optionalConfigSources).onErrorComplete())
-        .andThen(Single.defer(() -> Single.just(builder.build())));
-  }
-
-  private Completable appendAuthCodeConfig(
-      String tenantId, TenantConfig.TenantConfigBuilder builder) {
-    return getOptionalConfigFromDb(tenantId, AuthCodeConfig.class, AUTH_CODE_CONFIG)
-        .map(builder::authCodeConfig)
-        .ignoreElement();
-  }
-
-  private Completable appendEmailConfig(String tenantId, TenantConfig.TenantConfigBuilder builder) {
-    return getOptionalConfigFromDb(tenantId, EmailConfig.class, EMAIL_CONFIG)
-        .map(builder::emailConfig)
-        .ignoreElement();
-  }
-
-  private Completable appendOtpConfig(String tenantId, TenantConfig.TenantConfigBuilder builder) {
-    return getOptionalConfigFromDb(tenantId, OtpConfig.class, OTP_CONFIG)
-        .map(builder::otpConfig)
-        .ignoreElement();
-  }
-
-  private Completable appendContactVerifyConfig(
-      String tenantId, TenantConfig.TenantConfigBuilder builder) {
-    return getOptionalConfigFromDb(tenantId, ContactVerifyConfig.class, CONTACT_VERIFY_CONFIG)
-        .map(builder::contactVerifyConfig)
-        .ignoreElement();
-  }
-
-  private Completable appendPasswordPinBlockConfig(
-      String tenantId, TenantConfig.TenantConfigBuilder builder) {
-    return getOptionalConfigFromDb(
-            tenantId, PasswordPinBlockConfig.class, PASSWORD_PIN_BLOCK_CONFIG)
-        .map(builder::passwordPinBlockConfig)
-        .ignoreElement();
-  }
-
-  private Completable appendUserConfig(String tenantId, TenantConfig.TenantConfigBuilder builder) {
-    return getMandatoryConfigFromDb(
-            tenantId, UserConfig.class, USER_CONFIG, "User config not found")
-        .map(builder::userConfig)
-        .ignoreElement();
-  }
-
-  private Completable appendTokenConfig(String tenantId, TenantConfig.TenantConfigBuilder builder) {
-    return getMandatoryConfigFromDb(
-            tenantId, TokenConfig.class, TOKEN_CONFIG, "Token config not found")
-        .map(builder::tokenConfig)
-        .ignoreElement();
-  }
-
-  private Completable appendFbConfig(String tenantId, TenantConfig.TenantConfigBuilder builder) {
-    return getOptionalConfigFromDb(tenantId, FbConfig.class, FB_AUTH_CONFIG)
-        .map(builder::fbConfig)
-        .ignoreElement();
-  }
-
-  private Completable appendGoogleConfig(
-      String tenantId, TenantConfig.TenantConfigBuilder builder) {
-    return getOptionalConfigFromDb(tenantId, GoogleConfig.class, GOOGLE_AUTH_CONFIG)
-        .map(builder::googleConfig)
-        .ignoreElement();
-  }
-
-  private Completable appendGuestConfig(String tenantId, TenantConfig.TenantConfigBuilder builder) {
-    return getOptionalConfigFromDb(tenantId, GuestConfig.class, GUEST_CONFIG)
-        .map(builder::guestConfig)
-        .ignoreElement();
-  }
-
-  private Completable appendSmsConfig(String tenantId, TenantConfig.TenantConfigBuilder builder) {
-    return getOptionalConfigFromDb(tenantId, SmsConfig.class, SMS_CONFIG)
-        .map(builder::smsConfig)
-        .ignoreElement();
-  }
-
-  private Completable appendOidcConfig(String tenantId, TenantConfig.TenantConfigBuilder builder) {
-    return getOptionalConfigFromDb(tenantId, OidcConfig.class, OIDC_CONFIG)
-        .map(builder::oidcConfig)
-        .ignoreElement();
-  }
-
-  private Completable appendAdminConfig(String tenantId, TenantConfig.TenantConfigBuilder builder) {
-    return getOptionalConfigFromDb(tenantId, AdminConfig.class, ADMIN_CONFIG)
-        .map(builder::adminConfig)
-        .ignoreElement();
-  }
-
-  private Completable appendOidcProviderConfig(
-      String tenantId, TenantConfig.TenantConfigBuilder builder) {
-    return getOptionalMultipleConfigFromDb(tenantId, OidcProviderConfig.class, OIDC_PROVIDER_CONFIG)
-        .map(
-            configs ->
-                configs.stream()
-                    .collect(
-                        Collectors.toMap(OidcProviderConfig::getProviderName, config -> config)))
-        .map(builder::oidcProviderConfig)
-        .ignoreElement();
-  }
-
-  private <T> Single<T> getMandatoryConfigFromDb(
-      String tenantId, Class<T> configType, String query, String errorMessage) {
-    return mysqlClient
-        .getReaderPool()
-        .preparedQuery(query)
-        .execute(Tuple.of(tenantId))
-        .filter(rowSet -> rowSet.size() > 0)
-        .switchIfEmpty(Single.error(INVALID_REQUEST.getCustomException(errorMessage)))
-        .map(rows -> JsonUtils.rowSetToList(rows, configType).get(0));
-  }
-
-  private <T> Maybe<T> getOptionalConfigFromDb(String tenantId, Class<T> configType, String query) {
     return mysqlClient
         .getReaderPool()
-        .preparedQuery(query)
-        .execute(Tuple.of(tenantId))
-        .flatMapMaybe(
-            rows -> {
-              if (rows.size() > 0) {
-                return Maybe.just(JsonUtils.rowSetToList(rows, configType).get(0));
-              }
-              return Maybe.empty();
-            });
+        .preparedQuery(TENANT_CONFIG)
+        .execute(tenantParams(tenantId, TENANT_CONFIG_PARAM_COUNT))
+        .map(rows -> buildTenantConfig(tenantId, groupBySection(rows)));
   }
 
-  private <T> Single<List<T>> getOptionalMultipleConfigFromDb(
-      String tenantId, Class<T> configType, String query) {
+  /** Returns the current version of the tenant's config, comparable with {@link TenantConfig}. */
+  public Single<String> getTenantConfigVersion(String tenantId) {
     return mysqlClient
         .getReaderPool()
-        .preparedQuery(query)
-        .execute(Tuple.of(tenantId))
-        .map(
-            rows ->
-                rows.size() > 0
-                    ? JsonUtils.rowSetToList(rows, configType)
-                    : Collections.emptyList());
+        .preparedQuery(TENANT_CONFIG_VERSION)
+        .execute(tenantParams(tenantId, TENANT_CONFIG_VERSION_PARAM_COUNT))
+        .map(rows -> rows.iterator().next().getString(COLUMN_VERSION));
+  }
+
+  private static Tuple tenantParams(String tenantId, int count) {
+    Tuple params = Tuple.tuple();
+    for (int i = 0; i < count; i++) {
+      params.addString(tenantId);
+    }
+    return params;
+  }
+
+  private TenantConfig buildTenantConfig(String tenantId, Map<String, List<String>> sections) {
+    TenantConfigBuilder builder =
+        TenantConfig.builder()
+            .tenantId(tenantId)
+            .version(readVersion(sections.get(SECTION_VERSION)));
+
+    for (MandatorySection<?> section : MANDATORY_SECTIONS) {
+      section.apply(builder, sections.get(section.name()));
+    }
+
+    for (OptionalSection<?> section : OPTIONAL_SECTIONS) {
+      section.apply(builder, sections.get(section.name()));
+    }
+    appendOidcProviderConfig(builder, sections.get(SECTION_OIDC_PROVIDER_CONFIG));
+
+    return builder.build();
+  }
+
+  private void appendOidcProviderConfig(TenantConfigBuilder builder, List<String> rows) {
+    try {
+      builder.oidcProviderConfig(
+          Optional.ofNullable(rows).orElse(List.of()).stream()
+              .map(row -> readSection(row, OidcProviderConfig.class))
+              .collect(Collectors.toMap(OidcProviderConfig::getProviderName, config -> config)));
+    } catch (Exception e) {
+      log.error("Ignoring invalid {}", SECTION_OIDC_PROVIDER_CONFIG, e);
+    }
+  }
+
+  private static String readVersion(List<String> rows) {
+    if (rows == null || rows.isEmpty()) {
+      return null;
+    }
+    return new JsonObject(rows.get(0)).getString(COLUMN_VERSION);
+  }
+
+  private static Map<String, List<String>> groupBySection(RowSet<Row> rows) {
+    Map<String, List<String>> sections = new HashMap<>();
+    for (Row row : rows) {
+      sections
+          .computeIfAbsent(row.getString(COLUMN_SECTION), k -> new ArrayList<>())
+          .add(String.valueOf(row.getValue(COLUMN_CONFIG)));
+    }
+    return sections;
+  }
+
+  private static <T> T readSection(String json, Class<T> configType) {
+    try {
+      return JsonUtils.snakeCaseObjectMapper.readValue(json, configType);
+    } catch (Exception e) {
+      throw new IllegalStateException("Unable to read " + configType.getSimpleName(), e);
+    }
+  }
+
+  /** A section the tenant cannot work without. A missing or unreadable row fails the load. */
+  private record MandatorySection<T>(
+      String name,
+      Class<T> type,
+      BiConsumer<TenantConfigBuilder, T> setter,
+      String errorMessage) {
+
+    void apply(TenantConfigBuilder builder, List<String> rows) {
+      if (rows == null || rows.isEmpty()) {
+        throw INVALID_REQUEST.getCustomException(errorMessage);
+      }
+      setter.accept(builder, readSection(rows.get(0), type));
+    }
+  }
+
+  /** A section that is left unset when it is missing or cannot be read. */
+  private record OptionalSection<T>(
+      String name, Class<T> type, BiConsumer<TenantConfigBuilder, T> setter) {
+
+    void apply(TenantConfigBuilder builder, List<String> rows) {
+      if (rows == null || rows.isEmpty()) {
+        return;
+      }
+      try {
+        setter.accept(builder, readSection(rows.get(0), type));
+      } catch (Exception e) {
+        log.error("Ignoring invalid {}", name, e);
+      }
+    }
   }
 }
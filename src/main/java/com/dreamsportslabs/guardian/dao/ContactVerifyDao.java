@@ -4,8 +4,8 @@ import static com.dreamsportslabs.guardian.constant.Constants.CACHE_KEY_STATE;
 import static com.dreamsportslabs.guardian.constant.Constants.EXPIRE_AT_REDIS;
 import static com.dreamsportslabs.guardian.exception.ErrorEnum.INTERNAL_SERVER_ERROR;
 
+import com.dreamsportslabs.guardian.dao.codec.StateCodec;
 import com.dreamsportslabs.guardian.dao.model.OtpGenerateModel;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.inject.Inject;
 import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Single;
@@ -13,23 +13,21 @@ import io.vertx.rxjava3.redis.client.Command;
 import io.vertx.rxjava3.redis.client.Redis;
 import io.vertx.rxjava3.redis.client.Request;
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @RequiredArgsConstructor(onConstructor = @__({@Inject}))
 public class ContactVerifyDao {
   private final Redis redisClient;
-  private final ObjectMapper objectMapper;
+  private final StateCodec stateCodec;
 
   public Maybe<OtpGenerateModel> getOtpGenerateModel(String tenantId, String state) {
     String cacheKey = getCacheKeyForOtp(tenantId, state);
     return redisClient
         .rxSend(Request.cmd(Command.GET).arg(cacheKey))
-        .map(response -> objectMapper.readValue(response.toString(), OtpGenerateModel.class));
+        .map(response -> stateCodec.decode(response, OtpGenerateModel.class));
   }
 
-  @SneakyThrows
   public Single<OtpGenerateModel> setOtpGenerateModel(
       OtpGenerateModel model, String tenantId, String state) {
     String cacheKey = getCacheKeyForOtp(tenantId, state);
@@ -37,7 +35,7 @@ public class ContactVerifyDao {
         .rxSend(
             Request.cmd(Command.SET)
                 .arg(cacheKey)
-                .arg(objectMapper.writeValueAsString(model))
+                .arg(stateCodec.encode(model))
                 .arg(EXPIRE_AT_REDIS)
                 .arg(model.getExpiry()))
         .onErrorResumeNext(err -> Maybe.error(INTERNAL_SERVER_ERROR.getException(err)))
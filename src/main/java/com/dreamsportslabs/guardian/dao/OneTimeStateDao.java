@@ -0,0 +1,26 @@
+package com.dreamsportslabs.guardian.dao;
+
+import com.dreamsportslabs.guardian.dao.codec.StateCodec;
+import com.google.inject.Inject;
+import io.reactivex.rxjava3.core.Maybe;
+import io.vertx.rxjava3.redis.client.Command;
+import io.vertx.rxjava3.redis.client.Redis;
+import io.vertx.rxjava3.redis.client.Request;
+import lombok.RequiredArgsConstructor;
+
+/** Reads flow state that may be used only once, such as authorization codes. */
+@RequiredArgsConstructor(onConstructor = @__({@Inject}))
+public class OneTimeStateDao {
+  private final Redis redisClient;
+  private final StateCodec stateCodec;
+
+  /**
+   * Returns the state stored at {@code key} and deletes it in the same command. Of concurrent
+   * callers for the same key, only one gets the state; the others get nothing.
+   */
+  public <T> Maybe<T> consume(String key, Class<T> type) {
+    return redisClient
+        .rxSend(Request.cmd(Command.GETDEL).arg(key))
+        .map(response -> stateCodec.decode(response, type));
+  }
+}
@@ -4,9 +4,9 @@ import static com.dreamsportslabs.guardian.constant.Constants.CACHE_KEY_PASSWORD
 import static com.dreamsportslabs.guardian.constant.Constants.CACHE_KEY_PIN_ATTEMPTS;
 
 import com.dreamsportslabs.guardian.constant.BlockFlow;
+import com.dreamsportslabs.guardian.dao.script.RedisScripts;
 import com.google.inject.Inject;
 import io.reactivex.rxjava3.core.Completable;
-import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Single;
 import io.vertx.rxjava3.redis.client.Command;
 import io.vertx.rxjava3.redis.client.Redis;
@@ -19,6 +19,7 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor(onConstructor = @__({@Inject}))
 public class PasswordPinDao {
   private final Redis redisClient;
+  private final RedisScripts redisScripts;
 
   public Single<Integer> getWrongAttemptsCount(
       String tenantId, String userId, BlockFlow blockFlow) {
@@ -34,17 +35,7 @@ public class PasswordPinDao {
       String tenantId, String userId, Integer ttlSeconds, BlockFlow blockFlow) {
     String redisKey = getAttemptsKey(tenantId, userId, blockFlow);
 
-    return redisClient
-        .rxSend(Request.cmd(Command.INCR).arg(redisKey))
-        .flatMap(
-            response -> {
-              if (response.toInteger() == 1) {
-                return redisClient.rxSend(
-                    Request.cmd(Command.EXPIRE).arg(redisKey).arg(String.valueOf(ttlSeconds)));
-              }
-              return Maybe.just(response);
-            })
-        .ignoreElement();
+    return redisScripts.incrementWithExpiry(redisKey, ttlSeconds).ignoreElement();
   }
 
   public Completable deleteWrongAttemptsCount(String tenantId, String userId, BlockFlow blockFlow) {
@@ -5,8 +5,9 @@ import static com.dreamsportslabs.guardian.constant.Constants.CACHE_KEY_STATE;
 import static com.dreamsportslabs.guardian.constant.Constants.EXPIRE_AT_REDIS;
 import static com.dreamsportslabs.guardian.exception.ErrorEnum.INTERNAL_SERVER_ERROR;
 
+import com.dreamsportslabs.guardian.dao.codec.StateCodec;
 import com.dreamsportslabs.guardian.dao.model.PasswordlessModel;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.dreamsportslabs.guardian.dao.script.RedisScripts;
 import com.google.inject.Inject;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Maybe;
@@ -15,28 +16,27 @@ import io.vertx.rxjava3.redis.client.Command;
 import io.vertx.rxjava3.redis.client.Redis;
 import io.vertx.rxjava3.redis.client.Request;
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @RequiredArgsConstructor(onConstructor = @__({@Inject}))
 public class PasswordlessDao {
   private final Redis redisClient;
-  private final ObjectMapper objectMapper;
+  private final StateCodec stateCodec;
+  private final RedisScripts redisScripts;
 
   public Maybe<PasswordlessModel> getPasswordlessModel(String state, String tenantId) {
     return redisClient
         .rxSend(Request.cmd(Command.GET).arg(getCacheKey(tenantId, state)))
-        .map(response -> objectMapper.readValue(response.toString(), PasswordlessModel.class));
+        .map(response -> stateCodec.decode(response, PasswordlessModel.class));
   }
 
-  @SneakyThrows
   public Single<PasswordlessModel> setPasswordlessModel(PasswordlessModel model, String tenantId) {
     return redisClient
         .rxSend(
             Request.cmd(Command.SET)
                 .arg(getCacheKey(tenantId, model.getState()))
-                .arg(objectMapper.writeValueAsString(model))
+                .arg(stateCodec.encode(model))
                 .arg(EXPIRE_AT_REDIS)
                 .arg(model.getExpiry()))
         .onErrorResumeNext(err -> Maybe.error(INTERNAL_SERVER_ERROR.getException(err)))
@@ -44,6 +44,20 @@ public class PasswordlessDao {
         .toSingle();
   }
 
+  /**
+   * Saves the model and counts the send concurrently. They stay two commands because the keys are
+   * in different slots when redis is clustered.
+   */
+  public Single<PasswordlessModel> setPasswordlessModelAndIncrementGlobalResendCount(
+      PasswordlessModel model, String tenantId, String userIdentifier, Integer ttlSeconds) {
+    Single<Long> incrementCount =
+        redisScripts
+            .incrementWithExpiry(getResendCountKey(tenantId, userIdentifier), ttlSeconds)
+            .onErrorResumeNext(err -> Single.error(INTERNAL_SERVER_ERROR.getException(err)));
+    return Single.zip(
+        setPasswordlessModel(model, tenantId), incrementCount, (saved, count) -> model);
+  }
+
   public void deletePasswordlessModel(String state, String tenantId) {
     redisClient.rxSend(Request.cmd(Command.DEL).arg(getCacheKey(tenantId, state))).subscribe();
   }
@@ -57,23 +71,6 @@ public class PasswordlessDao {
         .switchIfEmpty(Single.just(0));
   }
 
-  public Completable incrementGlobalResendCount(
-      String tenantId, String userIdentifier, Integer ttlSeconds) {
-    String redisKey = getResendCountKey(tenantId, userIdentifier);
-
-    return redisClient
-        .rxSend(Request.cmd(Command.INCR).arg(redisKey))
-        .flatMap(
-            response -> {
-              if (response.toInteger() == 1) {
-                return redisClient.rxSend(
-                    Request.cmd(Command.EXPIRE).arg(redisKey).arg(String.valueOf(ttlSeconds)));
-              }
-              return Maybe.just(response);
-            })
-        .ignoreElement();
-  }
-
   public Completable deleteGlobalResendCount(String tenantId, String userIdentifier) {
     String redisKey = getResendCountKey(tenantId, userIdentifier);
     return redisClient.rxSend(Request.cmd(Command.DEL).arg(redisKey)).ignoreElement();
@@ -18,6 +18,7 @@ import static com.dreamsportslabs.guardian.dao.query.SsoTokenQuery.INVALIDATE_SS
 import static com.dreamsportslabs.guardian.dao.query.SsoTokenQuery.SAVE_SSO_TOKEN;
 import static com.dreamsportslabs.guardian.exception.OidcErrorEnum.INTERNAL_SERVER_ERROR;
 
+import com.dreamsportslabs.guardian.cache.RefreshTokenCache;
 import com.dreamsportslabs.guardian.client.MysqlClient;
 import com.dreamsportslabs.guardian.constant.AuthMethod;
 import com.dreamsportslabs.guardian.dao.model.RefreshTokenModel;
@@ -29,6 +30,7 @@ import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Single;
 import io.vertx.core.json.JsonArray;
+import io.vertx.rxjava3.mysqlclient.MySQLPool;
 import io.vertx.rxjava3.sqlclient.Tuple;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
@@ -38,6 +40,7 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor(onConstructor = @__({@Inject}))
 public class RefreshTokenDao {
   private final MysqlClient mysqlClient;
+  private final RefreshTokenCache refreshTokenCache;
 
   public Completable saveRefreshToken(RefreshTokenModel refreshTokenModel) {
     return saveRefreshToken(refreshTokenModel, null);
@@ -85,12 +88,23 @@ public class RefreshTokenDao {
   }
 
   public Maybe<RefreshTokenModel> getRefreshToken(String tenantId, String refreshToken) {
+    if (!refreshTokenCache.isEnabled()) {
+      return getRefreshTokenFromDb(mysqlClient.getReaderPool(), tenantId, refreshToken);
+    }
+    // A row read from a lagging replica right after a revocation would be cached as active for
+    // the whole ttl, so cache misses are read from the writer.
+    return refreshTokenCache.get(
+        tenantId,
+        refreshToken,
+        () -> getRefreshTokenFromDb(mysqlClient.getWriterPool(), tenantId, refreshToken));
+  }
+
+  private Maybe<RefreshTokenModel> getRefreshTokenFromDb(
+      MySQLPool pool, String tenantId, String refreshToken) {
     Tuple params = Tuple.tuple();
     params.addString(tenantId);
     params.addString(refreshToken);
-    return mysqlClient
-        .getReaderPool()
-        .preparedQuery(GET_REFRESH_TOKEN)
+    return pool.preparedQuery(GET_REFRESH_TOKEN)
         .rxExecute(params)
         .onErrorResumeNext(
             err -> {
@@ -155,7 +169,8 @@ public class RefreshTokenDao {
                                 .rxExecute(refreshTokenParams)
                                 .filter(result -> result.rowCount() > 0)
                                 .map(rows -> true)))
-        .switchIfEmpty(Single.just(false));
+        .switchIfEmpty(Single.just(false))
+        .doOnSuccess(__ -> refreshTokenCache.invalidateToken(tenantId, refreshToken));
   }
 
   public Completable revokeTokens(String tenantId, String clientId, String userId) {
@@ -176,7 +191,8 @@ public class RefreshTokenDao {
                                 .rxExecute(refreshTokenParams)
                                 .filter(result -> result.rowCount() > 0)
                                 .map(rows -> true)))
-        .ignoreElement();
+        .ignoreElement()
+        .doOnComplete(() -> refreshTokenCache.invalidateUser(tenantId, userId, clientId));
   }
 
   public Completable revokeTokens(String tenantId, String userId) {
@@ -196,7 +212,8 @@ public class RefreshTokenDao {
                                 .rxExecute(refreshTokenParams)
                                 .filter(result -> result.rowCount() > 0)
                                 .map(rows -> true)))
-        .ignoreElement();
+        .ignoreElement()
+        .doOnComplete(() -> refreshTokenCache.invalidateUser(tenantId, userId, null));
   }
 
   public Completable updateRefreshToken(
@@ -219,7 +236,8 @@ public class RefreshTokenDao {
             v -> log.info("Refresh token auth method, expiry and scopes updated successfully"))
         .doOnError(
             err -> log.error("Error updating refresh token auth method, expiry and scopes", err))
-        .ignoreElement();
+        .ignoreElement()
+        .doOnComplete(() -> refreshTokenCache.invalidateToken(tenantId, refreshToken));
   }
 
   public Single<Long> getActiveRefreshTokensCountForUser(
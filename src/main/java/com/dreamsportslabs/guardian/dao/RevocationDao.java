@@ -1,16 +1,17 @@
 package com.dreamsportslabs.guardian.dao;
 
 import static com.dreamsportslabs.guardian.constant.Constants.NEG_INF;
+import static com.dreamsportslabs.guardian.constant.Constants.REDIS_EXCLUSIVE_RANGE_PREFIX;
 import static com.dreamsportslabs.guardian.constant.Constants.REDIS_OPTION_BYSCORE;
-import static com.dreamsportslabs.guardian.constant.Constants.REVOCATIONS_KEY_APPLICATION_ID_INDEX;
-import static com.dreamsportslabs.guardian.constant.Constants.REVOCATIONS_KEY_SCORE_END_INDEX;
-import static com.dreamsportslabs.guardian.constant.Constants.REVOCATIONS_KEY_SCORE_START_INDEX;
+import static com.dreamsportslabs.guardian.constant.Constants.REDIS_OPTION_WITHSCORES;
 import static com.dreamsportslabs.guardian.constant.Constants.REVOCATIONS_KEY_SEPARATOR;
 import static com.dreamsportslabs.guardian.constant.Constants.REVOCATIONS_REDIS_KEY_PREFIX;
 import static com.dreamsportslabs.guardian.exception.ErrorEnum.INTERNAL_SERVER_ERROR;
 
+import com.dreamsportslabs.guardian.dao.model.RevocationModel;
 import com.google.inject.Inject;
 import io.reactivex.rxjava3.core.Single;
+import io.vertx.redis.client.ResponseType;
 import io.vertx.rxjava3.redis.client.Command;
 import io.vertx.rxjava3.redis.client.Redis;
 import io.vertx.rxjava3.redis.client.Request;
@@ -25,11 +26,19 @@ import lombok.extern.slf4j.Slf4j;
 public class RevocationDao {
   final Redis redisClient;
 
-  public Single<List<String>> getRevocations(String key) {
+  /** Returns the ids revoked in {@code [fromEpoch, toEpoch)} along with their revocation time. */
+  public Single<List<RevocationModel>> getRevocations(
+      String tenantId, long fromEpoch, long toEpoch) {
     return redisClient
-        .rxSend(getRedisRequestToGetRevocations(key))
+        .rxSend(
+            Request.cmd(Command.ZRANGE)
+                .arg(getRevocationsCacheKey(tenantId))
+                .arg(fromEpoch)
+                .arg(REDIS_EXCLUSIVE_RANGE_PREFIX + toEpoch)
+                .arg(REDIS_OPTION_BYSCORE)
+                .arg(REDIS_OPTION_WITHSCORES))
         .switchIfEmpty(Single.error(INTERNAL_SERVER_ERROR.getException()))
-        .map(this::mapRedisResponseToList)
+        .map(this::mapRedisResponseToRevocations)
         .onErrorResumeNext(err -> Single.error(INTERNAL_SERVER_ERROR.getException(err)));
   }
 
@@ -56,22 +65,21 @@ public class RevocationDao {
         .subscribe();
   }
 
-  private List<String> mapRedisResponseToList(Response resp) {
-    List<String> revocations = new ArrayList<>();
-    resp.forEach(item -> revocations.add(item.toString()));
+  private List<RevocationModel> mapRedisResponseToRevocations(Response resp) {
+    List<RevocationModel> revocations = new ArrayList<>();
+    if (resp.size() > 0 && resp.get(0).type() == ResponseType.MULTI) {
+      // RESP3 returns [member, score] pairs
+      resp.forEach(pair -> revocations.add(toRevocation(pair.get(0), pair.get(1))));
+    } else {
+      for (int i = 0; i + 1 < resp.size(); i += 2) {
+        revocations.add(toRevocation(resp.get(i), resp.get(i + 1)));
+      }
+    }
     return revocations;
   }
 
-  private Request getRedisRequestToGetRevocations(String key) {
-    String[] revocationKeyParts = key.split(REVOCATIONS_KEY_SEPARATOR);
-    String tenantId = revocationKeyParts[REVOCATIONS_KEY_APPLICATION_ID_INDEX];
-    String fromEpoch = revocationKeyParts[REVOCATIONS_KEY_SCORE_START_INDEX];
-    String toEpoch = revocationKeyParts[REVOCATIONS_KEY_SCORE_END_INDEX];
-    return Request.cmd(Command.ZRANGE)
-        .arg(getRevocationsCacheKey(tenantId))
-        .arg(fromEpoch)
-        .arg(toEpoch)
-        .arg(REDIS_OPTION_BYSCORE);
+  private RevocationModel toRevocation(Response member, Response score) {
+    return new RevocationModel(member.toString(), (long) Double.parseDouble(score.toString()));
   }
 
   private String getRevocationsCacheKey(String applicationId) {
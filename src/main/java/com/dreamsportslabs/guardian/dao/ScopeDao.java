@@ -2,6 +2,7 @@ package com.dreamsportslabs.guardian.dao;
 
 import static com.dreamsportslabs.guardian.constant.Constants.MYSQL_ERROR_CODE_DUPLICATE_ENTRY;
 import static com.dreamsportslabs.guardian.dao.query.ScopeQuery.DELETE_SCOPE;
+import static com.dreamsportslabs.guardian.dao.query.ScopeQuery.GET_ALL_SCOPES;
 import static com.dreamsportslabs.guardian.dao.query.ScopeQuery.GET_OIDC_SCOPES;
 import static com.dreamsportslabs.guardian.dao.query.ScopeQuery.GET_SCOPES_BY_NAMES_TEMPLATE;
 import static com.dreamsportslabs.guardian.dao.query.ScopeQuery.GET_SCOPES_PAGINATED;
@@ -47,6 +48,14 @@ public class ScopeDao {
         .map(rowSet -> JsonUtils.rowSetToList(rowSet, ScopeModel.class));
   }
 
+  public Single<List<ScopeModel>> getAllScopes(String tenantId) {
+    return mysqlClient
+        .getReaderPool()
+        .preparedQuery(GET_ALL_SCOPES)
+        .execute(Tuple.of(tenantId))
+        .map(rowSet -> JsonUtils.rowSetToList(rowSet, ScopeModel.class));
+  }
+
   public Single<List<ScopeModel>> getScopesWithPagination(String tenantId, int offset, int limit) {
     return mysqlClient
         .getReaderPool()
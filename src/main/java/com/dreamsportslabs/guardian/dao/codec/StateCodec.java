@@ -0,0 +1,180 @@
+package com.dreamsportslabs.guardian.dao.codec;
+
+import static com.dreamsportslabs.guardian.constant.Constants.prohibitedForwardingHeaders;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.rxjava3.core.buffer.Buffer;
+import io.vertx.rxjava3.redis.client.Response;
+import jakarta.ws.rs.core.MultivaluedMap;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serializes the short-lived flow state kept in Redis: otp state, authorization codes, authorize
+ * sessions and biometric challenges.
+ *
+ * <p>State is written either as plain JSON, the format used before this codec existed, or as a
+ * framed value: a version byte, a flags byte, and the Smile or JSON encoding of the state, deflated
+ * when it is larger than the compression threshold. JSON always starts with {@code '{'}, so reads
+ * tell the two apart by the first byte and keep accepting state written in the old format. Plain
+ * JSON is the default so that nodes running an older release can read what newer ones write during
+ * a rollout.
+ */
+@Slf4j
+public class StateCodec {
+  private static final byte LEGACY_JSON_START = '{';
+  private static final byte VERSION = 1;
+  private static final byte FLAG_SMILE = 1;
+  private static final byte FLAG_DEFLATED = 1 << 1;
+  private static final int HEADER_LENGTH = 2;
+
+  private final ObjectMapper jsonMapper = new ObjectMapper();
+  private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+  private final Format format;
+  private final int compressionThreshold;
+  private final Set<String> headerAllowList;
+  private final DistributionSummary encodedSize;
+
+  /**
+   * @param compressionThreshold size in bytes above which framed state is deflated, 0 to never
+   *     compress
+   * @param headerAllowList request headers kept in flow state, empty to keep every header that is
+   *     forwarded to the user service
+   */
+  public StateCodec(
+      Format format,
+      int compressionThreshold,
+      Set<String> headerAllowList,
+      MeterRegistry meterRegistry) {
+    this.format = format;
+    this.compressionThreshold = compressionThreshold;
+    this.headerAllowList =
+        headerAllowList.stream()
+            .map(header -> header.toUpperCase(Locale.ROOT))
+            .collect(Collectors.toUnmodifiableSet());
+    this.encodedSize =
+        DistributionSummary.builder("guardian.flow_state.encoded.size")
+            .baseUnit("bytes")
+            .description("Size of flow state values written to redis")
+            .register(meterRegistry);
+    log.info(
+        "Flow state codec format {}, compression threshold {} bytes, header allow-list {}",
+        format,
+        compressionThreshold,
+        headerAllowList);
+  }
+
+  public Buffer encode(Object state) {
+    try {
+      byte[] encoded;
+      if (format == Format.JSON && compressionThreshold <= 0) {
+        encoded = jsonMapper.writeValueAsBytes(state);
+      } else {
+        encoded = frame(state);
+      }
+      encodedSize.record(encoded.length);
+      return Buffer.buffer(encoded);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  public <T> T decode(Response response, Class<T> type) {
+    byte[] value = response.toBuffer().getBytes();
+    try {
+      if (value.length > 0 && value[0] == LEGACY_JSON_START) {
+        return jsonMapper.readValue(value, type);
+      }
+      if (value.length < HEADER_LENGTH || value[0] != VERSION) {
+        throw new IOException("Unsupported flow state encoding");
+      }
+
+      byte flags = value[1];
+      byte[] payload = new byte[value.length - HEADER_LENGTH];
+      System.arraycopy(value, HEADER_LENGTH, payload, 0, payload.length);
+      if ((flags & FLAG_DEFLATED) != 0) {
+        payload = inflate(payload);
+      }
+      ObjectMapper mapper = (flags & FLAG_SMILE) != 0 ? smileMapper : jsonMapper;
+      return mapper.readValue(payload, type);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Headers of the request to keep in flow state, for when they are forwarded to the user service
+   * on a later call. Headers that are never forwarded are dropped.
+   */
+  public Map<String, String> persistedHeaders(MultivaluedMap<String, String> headers) {
+    Map<String, String> persisted = new HashMap<>();
+    headers.forEach(
+        (key, values) -> {
+          String name = key.toUpperCase(Locale.ROOT);
+          if (prohibitedForwardingHeaders.contains(name)
+              || (!headerAllowList.isEmpty() && !headerAllowList.contains(name))) {
+            return;
+          }
+          persisted.put(key, values.get(0));
+        });
+    return persisted;
+  }
+
+  private byte[] frame(Object state) throws IOException {
+    byte flags = 0;
+    byte[] payload;
+    if (format == Format.SMILE) {
+      flags |= FLAG_SMILE;
+      payload = smileMapper.writeValueAsBytes(state);
+    } else {
+      payload = jsonMapper.writeValueAsBytes(state);
+    }
+    if (compressionThreshold > 0 && payload.length > compressionThreshold) {
+      flags |= FLAG_DEFLATED;
+      payload = deflate(payload);
+    }
+
+    byte[] framed = new byte[HEADER_LENGTH + payload.length];
+    framed[0] = VERSION;
+    framed[1] = flags;
+    System.arraycopy(payload, 0, framed, HEADER_LENGTH, payload.length);
+    return framed;
+  }
+
+  private static byte[] deflate(byte[] payload) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(payload.length / 2);
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try (DeflaterOutputStream deflating = new DeflaterOutputStream(out, deflater)) {
+      deflating.write(payload);
+    } finally {
+      deflater.end();
+    }
+    return out.toByteArray();
+  }
+
+  private static byte[] inflate(byte[] payload) throws IOException {
+    try (InflaterInputStream inflating =
+        new InflaterInputStream(new ByteArrayInputStream(payload))) {
+      return inflating.readAllBytes();
+    }
+  }
+
+  public enum Format {
+    JSON,
+    SMILE
+  }
+}
@@ -6,6 +6,7 @@ import static com.dreamsportslabs.guardian.dao.config.query.TenantQuery.CREATE_T
 import static com.dreamsportslabs.guardian.dao.config.query.TenantQuery.DELETE_TENANT;
 import static com.dreamsportslabs.guardian.dao.config.query.TenantQuery.GET_TENANT;
 import static com.dreamsportslabs.guardian.dao.config.query.TenantQuery.GET_TENANT_BY_NAME;
+import static com.dreamsportslabs.guardian.dao.config.query.TenantQuery.GET_TENANT_IDS;
 import static com.dreamsportslabs.guardian.dao.config.query.TenantQuery.UPDATE_TENANT;
 import static com.dreamsportslabs.guardian.exception.ErrorEnum.INTERNAL_SERVER_ERROR;
 import static com.dreamsportslabs.guardian.exception.ErrorEnum.TENANT_ALREADY_EXISTS;
@@ -22,6 +23,8 @@ import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Single;
 import io.vertx.rxjava3.sqlclient.SqlConnection;
 import io.vertx.rxjava3.sqlclient.Tuple;
+import java.util.HashSet;
+import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -98,6 +101,19 @@ public class TenantDao extends BaseConfigDao<TenantModel> {
                     .ignoreElement());
   }
 
+  public Single<Set<String>> getTenantIds() {
+    return mysqlClient
+        .getReaderPool()
+        .preparedQuery(GET_TENANT_IDS)
+        .rxExecute()
+        .map(
+            result -> {
+              Set<String> tenantIds = new HashSet<>();
+              result.forEach(row -> tenantIds.add(row.getString("id")));
+              return tenantIds;
+            });
+  }
+
   public Maybe<TenantModel> getTenantByName(String name) {
     return mysqlClient
         .getReaderPool()
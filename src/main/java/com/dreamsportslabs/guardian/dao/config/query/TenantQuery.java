@@ -18,6 +18,12 @@ public final class TenantQuery {
       WHERE id = ?
       """;
 
+  public static final String GET_TENANT_IDS =
+      """
+      SELECT id
+      FROM tenant
+      """;
+
   public static final String GET_TENANT_BY_NAME =
       """
       SELECT id, name
@@ -0,0 +1,98 @@
+package com.dreamsportslabs.guardian.dao.mapper;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.rxjava3.sqlclient.Row;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Typed access to the columns of a result set. Column positions are resolved once per result set,
+ * and columns the query did not select read as null, like absent fields in JSON.
+ */
+public final class RowColumns {
+  private final Map<String, Integer> indexes;
+
+  public RowColumns(List<String> columnNames) {
+    this.indexes = new HashMap<>(columnNames.size() * 2);
+    for (int i = 0; i < columnNames.size(); i++) {
+      indexes.put(columnNames.get(i), i);
+    }
+  }
+
+  public boolean has(String column) {
+    return indexes.containsKey(column);
+  }
+
+  public Object getValue(Row row, String column) {
+    Integer index = indexes.get(column);
+    return index == null ? null : row.getValue(index);
+  }
+
+  public String getString(Row row, String column) {
+    Object value = getValue(row, column);
+    return value == null ? null : value.toString();
+  }
+
+  public Long getLong(Row row, String column) {
+    Object value = getValue(row, column);
+    return value == null ? null : ((Number) value).longValue();
+  }
+
+  /** Reads BOOLEAN columns, which MySQL returns as TINYINT. */
+  public Boolean getBoolean(Row row, String column) {
+    Object value = getValue(row, column);
+    if (value == null || value instanceof Boolean) {
+      return (Boolean) value;
+    }
+    return ((Number) value).intValue() != 0;
+  }
+
+  /** Reads a JSON array column of strings. */
+  public List<String> getStringList(Row row, String column) {
+    JsonArray array = getJsonArray(row, column);
+    if (array == null) {
+      return null;
+    }
+    List<String> list = new ArrayList<>(array.size());
+    for (int i = 0; i < array.size(); i++) {
+      Object value = array.getValue(i);
+      list.add(value == null ? null : value.toString());
+    }
+    return list;
+  }
+
+  /** Reads a JSON array column of enum names, matched ignoring case. */
+  public <E extends Enum<E>> List<E> getEnumList(Row row, String column, Class<E> type) {
+    List<String> names = getStringList(row, column);
+    if (names == null) {
+      return null;
+    }
+    List<E> list = new ArrayList<>(names.size());
+    for (String name : names) {
+      list.add(toEnum(name, type));
+    }
+    return list;
+  }
+
+  private JsonArray getJsonArray(Row row, String column) {
+    Object value = getValue(row, column);
+    if (value == null || value instanceof JsonArray) {
+      return (JsonArray) value;
+    }
+    if (value instanceof List<?> list) {
+      return new JsonArray(new ArrayList<>(list));
+    }
+    return new JsonArray(value.toString());
+  }
+
+  private static <E extends Enum<E>> E toEnum(String name, Class<E> type) {
+    for (E constant : type.getEnumConstants()) {
+      if (constant.name().equalsIgnoreCase(name)) {
+        return constant;
+      }
+    }
+    throw new IllegalArgumentException("Unknown " + type.getSimpleName() + " " + name);
+  }
+}
@@ -0,0 +1,8 @@
+package com.dreamsportslabs.guardian.dao.mapper;
+
+import io.vertx.rxjava3.sqlclient.Row;
+
+@FunctionalInterface
+public interface RowMapper<T> {
+  T map(Row row, RowColumns columns);
+}
@@ -0,0 +1,11 @@
+package com.dreamsportslabs.guardian.dao.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class RevocationModel {
+  private String rftId;
+  private long revokedAt;
+}
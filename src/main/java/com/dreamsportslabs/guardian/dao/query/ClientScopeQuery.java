@@ -19,6 +19,14 @@ public final class ClientScopeQuery {
       ORDER BY created_at ASC
       """;
 
+  public static final String GET_ALL_CLIENT_SCOPES =
+      """
+      SELECT tenant_id, scope, client_id, is_default
+      FROM client_scope
+      WHERE tenant_id = ?
+      ORDER BY created_at ASC
+      """;
+
   public static final String DELETE_CLIENT_SCOPE =
       """
       DELETE FROM client_scope
@@ -1,182 +1,216 @@
 package com.dreamsportslabs.guardian.dao.query;
 
 public class ConfigQuery {
-  public static final String SMS_CONFIG =
-      """
-    SELECT is_ssl_enabled,
-           host,
-           port,
-           send_sms_path,
-           template_name,
-           template_params
-    FROM sms_config
-    WHERE tenant_id = ?
-    """;
+  public static final String SECTION_USER_CONFIG = "user_config";
+  public static final String SECTION_TOKEN_CONFIG = "token_config";
+  public static final String SECTION_AUTH_CODE_CONFIG = "auth_code_config";
+  public static final String SECTION_EMAIL_CONFIG = "email_config";
+  public static final String SECTION_FB_CONFIG = "fb_config";
+  public static final String SECTION_GOOGLE_CONFIG = "google_config";
+  public static final String SECTION_SMS_CONFIG = "sms_config";
+  public static final String SECTION_OTP_CONFIG = "otp_config";
+  public static final String SECTION_CONTACT_VERIFY_CONFIG = "contact_verify_config";
+  public static final String SECTION_PASSWORD_PIN_BLOCK_CONFIG = "password_pin_block_config";
+  public static final String SECTION_OIDC_PROVIDER_CONFIG = "oidc_provider_config";
+  public static final String SECTION_ADMIN_CONFIG = "admin_config";
+  public static final String SECTION_OIDC_CONFIG = "oidc_config";
+  public static final String SECTION_GUEST_CONFIG = "guest_config";
+  public static final String SECTION_VERSION = "version";
 
-  public static final String AUTH_CODE_CONFIG =
+  public static final String COLUMN_SECTION = "section";
+  public static final String COLUMN_CONFIG = "config";
+  public static final String COLUMN_VERSION = "version";
+
+  /**
+   * Version of a tenant's config: the number of config rows and the latest {@code updated_at}
+   * across them. An insert, update or delete changes the version, up to the one second precision
+   * of {@code updated_at}.
+   */
+  private static final String VERSION_EXPRESSION =
       """
-    SELECT tenant_id,
-           ttl,
-           length
-    FROM auth_code_config
-    WHERE tenant_id = ?
+    (SELECT CONCAT_WS(':', COUNT(*), UNIX_TIMESTAMP(MAX(updated_at)))
+     FROM (SELECT updated_at FROM user_config WHERE tenant_id = ?
+           UNION ALL SELECT updated_at FROM token_config WHERE tenant_id = ?
+           UNION ALL SELECT updated_at FROM auth_code_config WHERE tenant_id = ?
+           UNION ALL SELECT updated_at FROM email_config WHERE tenant_id = ?
+           UNION ALL SELECT updated_at FROM fb_config WHERE tenant_id = ?
+           UNION ALL SELECT updated_at FROM google_config WHERE tenant_id = ?
+           UNION ALL SELECT updated_at FROM sms_config WHERE tenant_id = ?
+           UNION ALL SELECT updated_at FROM otp_config WHERE tenant_id = ?
+           UNION ALL SELECT updated_at FROM contact_verify_config WHERE tenant_id = ?
+           UNION ALL SELECT updated_at FROM password_pin_block_config WHERE tenant_id = ?
+           UNION ALL SELECT updated_at FROM oidc_provider_config WHERE tenant_id = ?
+           UNION ALL SELECT updated_at FROM admin_config WHERE tenant_id = ?
+           UNION ALL SELECT updated_at FROM oidc_config WHERE tenant_id = ?
+           UNION ALL SELECT updated_at FROM guest_config WHERE tenant_id = ?) AS config_rows)
     """;
 
-  public static final String USER_CONFIG =
+  /** Cheap probe used on refresh to skip reloading a tenant whose config has not changed. */
+  public static final String TENANT_CONFIG_VERSION =
+      "SELECT " + VERSION_EXPRESSION + " AS version";
+
+  /**
+   * Loads every config section of a tenant in a single round trip. Each row carries the section
+   * name and the section's columns as a JSON object. Every branch binds the tenant id once. The
+   * last row carries the config version, read in the same statement so that it matches the data.
+   */
+  public static final String TENANT_CONFIG =
       """
-    SELECT is_ssl_enabled,
-           host,
-           port,
-           get_user_path,
-           create_user_path,
-           authenticate_user_path,
-           add_provider_path,
-           update_user_path,
-           send_provider_details
+    SELECT 'user_config' AS section,
+           JSON_OBJECT('is_ssl_enabled', is_ssl_enabled,
+                       'host', host,
+                       'port', port,
+                       'get_user_path', get_user_path,
+                       'create_user_path', create_user_path,
+                       'authenticate_user_path', authenticate_user_path,
+                       'add_provider_path', add_provider_path,
+                       'update_user_path', update_user_path,
+                       'send_provider_details', send_provider_details) AS config
     FROM user_config
     WHERE tenant_id = ?
-    """;
-
-  public static final String EMAIL_CONFIG =
-      """
-    SELECT is_ssl_enabled,
-           host,
-           port,
-           send_email_path,
-           template_name,
-           template_params
+    UNION ALL
+    SELECT 'token_config',
+           JSON_OBJECT('algorithm', algorithm,
+                       'issuer', issuer,
+                       'access_token_expiry', access_token_expiry,
+                       'refresh_token_expiry', refresh_token_expiry,
+                       'id_token_expiry', id_token_expiry,
+                       'id_token_claims', id_token_claims,
+                       'rsa_keys', rsa_keys,
+                       'cookie_same_site', cookie_same_site,
+                       'cookie_path', cookie_path,
+                       'cookie_domain', cookie_domain,
+                       'cookie_secure', cookie_secure,
+                       'cookie_http_only', cookie_http_only,
+                       'access_token_claims', access_token_claims)
+    FROM token_config
+    WHERE tenant_id = ?
+    UNION ALL
+    SELECT 'auth_code_config',
+           JSON_OBJECT('tenant_id', tenant_id,
+                       'ttl', ttl,
+                       'length', length)
+    FROM auth_code_config
+    WHERE tenant_id = ?
+    UNION ALL
+    SELECT 'email_config',
+           JSON_OBJECT('is_ssl_enabled', is_ssl_enabled,
+                       'host', host,
+                       'port', port,
+                       'send_email_path', send_email_path,
+                       'template_name', template_name,
+                       'template_params', template_params)
     FROM email_config
     WHERE tenant_id = ?
-    """;
-
-  public static final String FB_AUTH_CONFIG =
-      """
-    SELECT app_id,
-           app_secret,
-           send_app_secret
+    UNION ALL
+    SELECT 'fb_config',
+           JSON_OBJECT('app_id', app_id,
+                       'app_secret', app_secret,
+                       'send_app_secret', send_app_secret)
     FROM fb_config
     WHERE tenant_id = ?
-    """;
-
-  public static final String GOOGLE_AUTH_CONFIG =
-      """
-        SELECT client_id,
-               client_secret
-        FROM google_config
-        WHERE tenant_id = ?
-        """;
-
-  public static final String TOKEN_CONFIG =
-      """
-    SELECT algorithm,
-           issuer,
-           access_token_expiry,
-           refresh_token_expiry,
-           id_token_expiry,
-           id_token_claims,
-           rsa_keys,
-           cookie_same_site,
-           cookie_path,
-           cookie_domain,
-           cookie_secure,
-           cookie_http_only,
-           access_token_claims
-    FROM token_config
+    UNION ALL
+    SELECT 'google_config',
+           JSON_OBJECT('client_id', client_id,
+                       'client_secret', client_secret)
+    FROM google_config
     WHERE tenant_id = ?
-    """;
-
-  public static final String OTP_CONFIG =
-      """
-    SELECT otp_length,
-           try_limit,
-           is_otp_mocked,
-           resend_limit,
-           otp_resend_interval,
-           otp_validity,
-           whitelisted_inputs,
-           otp_send_block_seconds,
-           otp_send_window_seconds,
-           otp_send_window_max_count
+    UNION ALL
+    SELECT 'sms_config',
+           JSON_OBJECT('is_ssl_enabled', is_ssl_enabled,
+                       'host', host,
+                       'port', port,
+                       'send_sms_path', send_sms_path,
+                       'template_name', template_name,
+                       'template_params', template_params)
+    FROM sms_config
+    WHERE tenant_id = ?
+    UNION ALL
+    SELECT 'otp_config',
+           JSON_OBJECT('otp_length', otp_length,
+                       'try_limit', try_limit,
+                       'is_otp_mocked', is_otp_mocked,
+                       'resend_limit', resend_limit,
+                       'otp_resend_interval', otp_resend_interval,
+                       'otp_validity', otp_validity,
+                       'whitelisted_inputs', whitelisted_inputs,
+                       'otp_send_block_seconds', otp_send_block_seconds,
+                       'otp_send_window_seconds', otp_send_window_seconds,
+                       'otp_send_window_max_count', otp_send_window_max_count)
     FROM otp_config
     WHERE tenant_id = ?
-    """;
-
-  public static final String CONTACT_VERIFY_CONFIG =
-      """
-       SELECT otp_length,
-              try_limit,
-              is_otp_mocked,
-              resend_limit,
-              otp_resend_interval,
-              otp_validity,
-              whitelisted_inputs
-       FROM contact_verify_config
-       WHERE tenant_id = ?
-    """;
-
-  public static final String OIDC_PROVIDER_CONFIG =
-      """
-    SELECT tenant_id,
-           provider_name,
-           issuer,
-           jwks_url,
-           token_url,
-           client_id,
-           client_secret,
-           redirect_uri,
-           client_auth_method,
-           is_ssl_enabled,
-           user_identifier,
-           audience_claims
+    UNION ALL
+    SELECT 'contact_verify_config',
+           JSON_OBJECT('otp_length', otp_length,
+                       'try_limit', try_limit,
+                       'is_otp_mocked', is_otp_mocked,
+                       'resend_limit', resend_limit,
+                       'otp_resend_interval', otp_resend_interval,
+                       'otp_validity', otp_validity,
+                       'whitelisted_inputs', whitelisted_inputs)
+    FROM contact_verify_config
+    WHERE tenant_id = ?
+    UNION ALL
+    SELECT 'password_pin_block_config',
+           JSON_OBJECT('attempts_allowed', attempts_allowed,
+                       'attempts_window_seconds', attempts_window_seconds,
+                       'block_interval_seconds', block_interval_seconds)
+    FROM password_pin_block_config
+    WHERE tenant_id = ?
+    UNION ALL
+    SELECT 'oidc_provider_config',
+           JSON_OBJECT('tenant_id', tenant_id,
+                       'provider_name', provider_name,
+                       'issuer', issuer,
+                       'jwks_url', jwks_url,
+                       'token_url', token_url,
+                       'client_id', client_id,
+                       'client_secret', client_secret,
+                       'redirect_uri', redirect_uri,
+                       'client_auth_method', client_auth_method,
+                       'is_ssl_enabled', is_ssl_enabled,
+                       'user_identifier', user_identifier,
+                       'audience_claims', audience_claims)
     FROM oidc_provider_config
     WHERE tenant_id = ?
-    """;
-
-  public static final String ADMIN_CONFIG =
-      """
-    SELECT username,
-           password
+    UNION ALL
+    SELECT 'admin_config',
+           JSON_OBJECT('username', username,
+                       'password', password)
     FROM admin_config
     WHERE tenant_id = ?
-    """;
-
-  public static final String OIDC_CONFIG =
-      """
-    SELECT tenant_id,
-           issuer,
-           authorization_endpoint,
-           token_endpoint,
-           userinfo_endpoint,
-           revocation_endpoint,
-           jwks_uri,
-           login_page_uri,
-           consent_page_uri,
-           authorize_ttl,
-           grant_types_supported,
-           response_types_supported,
-           subject_types_supported,
-           id_token_signing_alg_values_supported,
-           token_endpoint_auth_methods_supported
+    UNION ALL
+    SELECT 'oidc_config',
+           JSON_OBJECT('tenant_id', tenant_id,
+                       'issuer', issuer,
+                       'authorization_endpoint', authorization_endpoint,
+                       'token_endpoint', token_endpoint,
+                       'userinfo_endpoint', userinfo_endpoint,
+                       'revocation_endpoint', revocation_endpoint,
+                       'jwks_uri', jwks_uri,
+                       'login_page_uri', login_page_uri,
+                       'consent_page_uri', consent_page_uri,
+                       'authorize_ttl', authorize_ttl,
+                       'grant_types_supported', grant_types_supported,
+                       'response_types_supported', response_types_supported,
+                       'subject_types_supported', subject_types_supported,
+                       'id_token_signing_alg_values_supported',
+                       id_token_signing_alg_values_supported,
+                       'token_endpoint_auth_methods_supported',
+                       token_endpoint_auth_methods_supported)
     FROM oidc_config
     WHERE tenant_id = ?
-    """;
-
-  public static final String GUEST_CONFIG =
-      """
-     SELECT tenant_id,
-            is_encrypted,
-            secret_key,
-            allowed_scopes
-     FROM guest_config
-     WHERE tenant_id = ?
-     """;
-
-  public static final String PASSWORD_PIN_BLOCK_CONFIG =
-      """
-    SELECT attempts_allowed,
-           attempts_window_seconds,
-           block_interval_seconds
-    FROM password_pin_block_config
+    UNION ALL
+    SELECT 'guest_config',
+           JSON_OBJECT('tenant_id', tenant_id,
+                       'is_encrypted', is_encrypted,
+                       'secret_key', secret_key,
+                       'allowed_scopes', allowed_scopes)
+    FROM guest_config
     WHERE tenant_id = ?
-    """;
+    UNION ALL
+    SELECT 'version',
+           JSON_OBJECT('version', """
+          + VERSION_EXPRESSION
+          + ")";
 }
@@ -0,0 +1,14 @@
+package com.dreamsportslabs.guardian.dao.script;
+
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * A Lua script run server side by {@link RedisScriptExecutor}. The SHA-1 digest is computed
+ * locally, so callers can send {@code EVALSHA} without asking redis for it first.
+ */
+public record RedisScript(String name, String source, String sha) {
+
+  public static RedisScript of(String name, String source) {
+    return new RedisScript(name, source, DigestUtils.sha1Hex(source));
+  }
+}
@@ -0,0 +1,116 @@
+package com.dreamsportslabs.guardian.dao.script;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Observable;
+import io.vertx.rxjava3.core.buffer.Buffer;
+import io.vertx.rxjava3.redis.client.Command;
+import io.vertx.rxjava3.redis.client.Redis;
+import io.vertx.rxjava3.redis.client.Request;
+import io.vertx.rxjava3.redis.client.Response;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs registered {@link RedisScript}s with {@code EVALSHA}, so that only the digest of a script
+ * travels with each call. When redis does not know the script, after a restart, a failover or a
+ * {@code SCRIPT FLUSH}, the call is retried once with {@code EVAL}, which also caches the script on
+ * that node for the calls that follow.
+ */
+@Slf4j
+public class RedisScriptExecutor {
+  private static final String NO_SCRIPT_ERROR = "NOSCRIPT";
+
+  private final Redis redisClient;
+  private final Collection<RedisScript> scripts;
+  private final Map<String, Timer> latencyTimers = new HashMap<>();
+  private final Counter reloadCounter;
+
+  public RedisScriptExecutor(
+      Redis redisClient, Collection<RedisScript> scripts, MeterRegistry meterRegistry) {
+    this.redisClient = redisClient;
+    this.scripts = List.copyOf(scripts);
+    for (RedisScript script : this.scripts) {
+      latencyTimers.put(
+          script.name(),
+          Timer.builder("guardian.redis.script.latency")
+              .tag("script", script.name())
+              .description("Time taken to run a redis script, including a reload")
+              .publishPercentiles(0.5, 0.99)
+              .register(meterRegistry));
+    }
+    this.reloadCounter =
+        Counter.builder("guardian.redis.script.reloads")
+            .description("Script calls sent again with EVAL after redis answered NOSCRIPT")
+            .register(meterRegistry);
+  }
+
+  /**
+   * Loads every registered script into the script cache of redis. A script that fails to load is
+   * only logged, as calls fall back to {@code EVAL} until it is cached.
+   */
+  public Completable load() {
+    return Observable.fromIterable(scripts)
+        .flatMapCompletable(
+            script ->
+                redisClient
+                    .rxSend(Request.cmd(Command.SCRIPT).arg("LOAD").arg(script.source()))
+                    .doOnSuccess(
+                        response -> {
+                          if (!script.sha().equals(response.toString())) {
+                            log.warn("Digest mismatch for redis script {}", script.name());
+                          }
+                        })
+                    .ignoreElement()
+                    .doOnError(
+                        err -> log.warn("Unable to load redis script {}", script.name(), err))
+                    .onErrorComplete());
+  }
+
+  /**
+   * @param args string values, or a {@link Buffer} for binary values such as encoded flow state
+   */
+  public Maybe<Response> run(RedisScript script, List<String> keys, List<Object> args) {
+    Timer timer = latencyTimers.get(script.name());
+    if (timer == null) {
+      return Maybe.error(
+          new IllegalArgumentException("Redis script not registered: " + script.name()));
+    }
+
+    long start = System.nanoTime();
+    return redisClient
+        .rxSend(request(Command.EVALSHA, script.sha(), keys, args))
+        .onErrorResumeNext(
+            err -> {
+              if (err.getMessage() == null || !err.getMessage().startsWith(NO_SCRIPT_ERROR)) {
+                return Maybe.error(err);
+              }
+              reloadCounter.increment();
+              return redisClient.rxSend(request(Command.EVAL, script.source(), keys, args));
+            })
+        .doFinally(() -> timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+  }
+
+  private static Request request(
+      Command command, String script, List<String> keys, List<Object> args) {
+    Request request = Request.cmd(command).arg(script).arg(keys.size());
+    for (String key : keys) {
+      request.arg(key);
+    }
+    for (Object arg : args) {
+      if (arg instanceof Buffer buffer) {
+        request.arg(buffer);
+      } else {
+        request.arg(String.valueOf(arg));
+      }
+    }
+    return request;
+  }
+}
@@ -0,0 +1,59 @@
+package com.dreamsportslabs.guardian.dao.script;
+
+import com.google.inject.Inject;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Single;
+import io.vertx.rxjava3.core.buffer.Buffer;
+import io.vertx.rxjava3.redis.client.Response;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Typed calls for the redis scripts used by the DAOs. Each script replaces a read followed by a
+ * dependent write, which took two round trips and could interleave with other nodes in between.
+ * Each script touches a single key, so it runs on the node owning that key when redis is clustered.
+ */
+@RequiredArgsConstructor(onConstructor = @__({@Inject}))
+public class RedisScripts {
+  /** Increments a counter, starting its expiry on the first increment. KEYS: counter. ARGV: ttl. */
+  static final RedisScript INCREMENT_WITH_EXPIRY =
+      RedisScript.of(
+          "increment_with_expiry",
+          """
+          local count = redis.call('INCR', KEYS[1])
+          if count == 1 then
+            redis.call('EXPIRE', KEYS[1], ARGV[1])
+          end
+          return count
+          """);
+
+  /**
+   * Sets a value, keeping the remaining ttl of the key when it exists and using the given ttl
+   * otherwise. KEYS: key. ARGV: value, ttl.
+   */
+  static final RedisScript SET_KEEPING_TTL =
+      RedisScript.of(
+          "set_keeping_ttl",
+          """
+          if redis.call('EXISTS', KEYS[1]) == 1 then
+            return redis.call('SET', KEYS[1], ARGV[1], 'KEEPTTL')
+          end
+          return redis.call('SET', KEYS[1], ARGV[1], 'EX', ARGV[2])
+          """);
+
+  public static final List<RedisScript> ALL = List.of(INCREMENT_WITH_EXPIRY, SET_KEEPING_TTL);
+
+  private final RedisScriptExecutor executor;
+
+  /** Returns the count after the increment. */
+  public Single<Long> incrementWithExpiry(String key, long ttlSeconds) {
+    return executor
+        .run(INCREMENT_WITH_EXPIRY, List.of(key), List.of(ttlSeconds))
+        .map(Response::toLong)
+        .toSingle();
+  }
+
+  public Completable setKeepingTtl(String key, Buffer value, long ttlSeconds) {
+    return executor.run(SET_KEEPING_TTL, List.of(key), List.of(value, ttlSeconds)).ignoreElement();
+  }
+}
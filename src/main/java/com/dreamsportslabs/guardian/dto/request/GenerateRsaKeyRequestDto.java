@@ -1,23 +1,48 @@
 package com.dreamsportslabs.guardian.dto.request;
 
+import static com.dreamsportslabs.guardian.constant.Constants.DEFAULT_EC_KEY_SIZE;
+import static com.dreamsportslabs.guardian.constant.Constants.DEFAULT_RSA_KEY_SIZE;
 import static com.dreamsportslabs.guardian.constant.Constants.FORMAT_JWKS;
 import static com.dreamsportslabs.guardian.constant.Constants.FORMAT_PEM;
+import static com.dreamsportslabs.guardian.constant.Constants.KEY_TYPE_EC;
+import static com.dreamsportslabs.guardian.constant.Constants.KEY_TYPE_RSA;
+import static com.dreamsportslabs.guardian.constant.Constants.VALID_EC_KEY_SIZES;
 import static com.dreamsportslabs.guardian.constant.Constants.VALID_KEY_SIZES;
 import static com.dreamsportslabs.guardian.exception.ErrorEnum.INVALID_REQUEST;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import org.apache.commons.lang3.StringUtils;
 
 @Data
 public class GenerateRsaKeyRequestDto {
 
-  private Integer keySize = 2048;
+  private Integer keySize;
   private String format = FORMAT_PEM;
+  private String keyType = KEY_TYPE_RSA;
 
   public void validate() {
-    if (!VALID_KEY_SIZES.contains(keySize)) {
-      throw INVALID_REQUEST.getCustomException(
-          "Invalid RSA key length. Allowed values are [2048, 3072, 4096]");
+    if (!StringUtils.equals(this.keyType, KEY_TYPE_RSA)
+        && !StringUtils.equals(this.keyType, KEY_TYPE_EC)) {
+      throw INVALID_REQUEST.getCustomException("Invalid key type. Allowed values are RSA or EC");
+    }
+
+    if (isEcKey()) {
+      if (keySize == null) {
+        keySize = DEFAULT_EC_KEY_SIZE;
+      }
+      if (!VALID_EC_KEY_SIZES.contains(keySize)) {
+        throw INVALID_REQUEST.getCustomException(
+            "Invalid EC key length. Allowed values are [256]");
+      }
+    } else {
+      if (keySize == null) {
+        keySize = DEFAULT_RSA_KEY_SIZE;
+      }
+      if (!VALID_KEY_SIZES.contains(keySize)) {
+        throw INVALID_REQUEST.getCustomException(
+            "Invalid RSA key length. Allowed values are [2048, 3072, 4096]");
+      }
     }
 
     if (!StringUtils.equals(this.format, FORMAT_PEM)
@@ -26,4 +51,9 @@ public class GenerateRsaKeyRequestDto {
           "Invalid key format. Allowed values are PEM or JWKS");
     }
   }
+
+  @JsonIgnore
+  public boolean isEcKey() {
+    return StringUtils.equals(this.keyType, KEY_TYPE_EC);
+  }
 }
@@ -1,8 +1,10 @@
 package com.dreamsportslabs.guardian.dto.request;
 
 import static com.dreamsportslabs.guardian.constant.Constants.REVOCATIONS_FLOOR_FACTOR_2;
+import static com.dreamsportslabs.guardian.constant.Constants.REVOCATIONS_WRITE_DELAY;
 import static com.dreamsportslabs.guardian.exception.ErrorEnum.INVALID_REQUEST;
 
+import com.dreamsportslabs.guardian.constant.RevocationFormat;
 import jakarta.ws.rs.QueryParam;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -13,11 +15,18 @@ public class RevocationRequestDto {
   @QueryParam("from")
   private Long fromEpoch;
 
+  @QueryParam("format")
+  private String format;
+
   private Long toEpoch;
 
+  public RevocationFormat getRevocationFormat() {
+    return format == null ? RevocationFormat.JSON : RevocationFormat.fromValue(format);
+  }
+
   public void validate(Integer accessTokenExpiryInSeconds) {
     Instant fromInstant;
-    toEpoch = Instant.now().getEpochSecond();
+    toEpoch = Instant.now().getEpochSecond() - REVOCATIONS_WRITE_DELAY;
     if (fromEpoch == null) {
       fromInstant = Instant.now().minus(accessTokenExpiryInSeconds, ChronoUnit.SECONDS);
       fromEpoch = fromInstant.getEpochSecond();
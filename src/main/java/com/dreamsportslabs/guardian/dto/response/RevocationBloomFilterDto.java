@@ -0,0 +1,16 @@
+package com.dreamsportslabs.guardian.dto.response;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class RevocationBloomFilterDto {
+  private String bits;
+  private Integer numBits;
+  private Integer numHashes;
+  private Double falsePositiveRate;
+}
@@ -1,13 +1,18 @@
 package com.dreamsportslabs.guardian.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.util.List;
-import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Getter;
 
-@AllArgsConstructor
+@Builder
 @Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class RevocationsResponseDto {
+  private String format;
   private List<String> revocations;
+  private String packed;
+  private RevocationBloomFilterDto bloom;
   private Long from;
   private Long to;
   private Integer expiry;
@@ -11,6 +11,10 @@ import jakarta.ws.rs.container.ContainerRequestContext;
 import jakarta.ws.rs.container.ContainerRequestFilter;
 import jakarta.ws.rs.container.PreMatching;
 import jakarta.ws.rs.ext.Provider;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.jboss.resteasy.core.interception.jaxrs.SuspendableContainerRequestContext;
@@ -20,6 +24,13 @@ import org.jboss.resteasy.core.interception.jaxrs.SuspendableContainerRequestCon
 @Slf4j
 @Provider
 public class ConfigFilter implements ContainerRequestFilter {
+  /** Routes that are not bound to a tenant, matched ignoring case. */
+  private static final Set<String> EXEMPT_PATHS =
+      caseInsensitiveSet("/healthcheck", "/metrics", "/v1/keys/generate");
+
+  private static final List<String> EXEMPT_PATH_PREFIXES =
+      List.of("/v1/admin/config/tenant", "/v1/admin/config/changelog");
+
   final Registry registry;
   final TenantCache tenantCache;
 
@@ -30,16 +41,15 @@ public class ConfigFilter implements ContainerRequestFilter {
 
   @Override
   public void filter(ContainerRequestContext requestContext) {
-    // Todo: create a filter annotation instead of filtering out routes here, @Config
-    String path = requestContext.getUriInfo().getPath();
-    if (path.equalsIgnoreCase("/healthcheck")
-        || path.equalsIgnoreCase("/v1/keys/generate")
-        || path.startsWith("/v1/admin/config/tenant")
-        || path.startsWith("/v1/admin/config/changelog")) {
+    String tenantId = requestContext.getHeaderString(Constants.TENANT_ID);
+    // most requests are for a tenant that is already loaded, so continue without suspending
+    if (StringUtils.isNotBlank(tenantId) && tenantCache.getIfLoaded(tenantId) != null) {
       return;
     }
 
-    String tenantId = requestContext.getHeaderString(Constants.TENANT_ID);
+    if (isExempt(requestContext.getUriInfo().getPath())) {
+      return;
+    }
 
     if (StringUtils.isBlank(tenantId)) {
       throw UNAUTHORIZED.getException();
@@ -58,4 +68,22 @@ public class ConfigFilter implements ContainerRequestFilter {
               suspendableContext.resume(err);
             });
   }
+
+  private static boolean isExempt(String path) {
+    if (EXEMPT_PATHS.contains(path)) {
+      return true;
+    }
+    for (String prefix : EXEMPT_PATH_PREFIXES) {
+      if (path.startsWith(prefix)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static Set<String> caseInsensitiveSet(String... values) {
+    Set<String> set = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    set.addAll(List.of(values));
+    return Collections.unmodifiableSet(set);
+  }
 }
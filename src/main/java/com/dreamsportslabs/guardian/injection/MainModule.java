@@ -1,11 +1,25 @@
 package com.dreamsportslabs.guardian.injection;
 
+import com.dreamsportslabs.guardian.cache.AccessTokenCache;
+import com.dreamsportslabs.guardian.cache.CacheInvalidationBus;
+import com.dreamsportslabs.guardian.cache.ClientCache;
+import com.dreamsportslabs.guardian.cache.JwksCache;
+import com.dreamsportslabs.guardian.cache.RefreshTokenCache;
+import com.dreamsportslabs.guardian.cache.ScopeCatalogCache;
 import com.dreamsportslabs.guardian.cache.TenantCache;
+import com.dreamsportslabs.guardian.cache.UserInfoCache;
 import com.dreamsportslabs.guardian.client.MysqlClient;
 import com.dreamsportslabs.guardian.client.impl.MysqlClientImpl;
+import com.dreamsportslabs.guardian.dao.codec.StateCodec;
+import com.dreamsportslabs.guardian.dao.script.RedisScriptExecutor;
 import com.dreamsportslabs.guardian.registry.Registry;
+import com.dreamsportslabs.guardian.service.impl.otp.OtpDeliveryQueue;
+import com.dreamsportslabs.guardian.service.impl.signers.TokenSigningExecutor;
 import com.dreamsportslabs.guardian.utils.SharedDataUtils;
 import com.google.inject.AbstractModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
 import io.vertx.core.Vertx;
 import io.vertx.rxjava3.ext.web.client.WebClient;
 import io.vertx.rxjava3.redis.client.Redis;
@@ -27,5 +41,27 @@ public class MainModule extends AbstractModule {
     bind(WebClient.class).toProvider(() -> SharedDataUtils.get(vertx, WebClient.class));
     bind(Registry.class).toProvider(() -> SharedDataUtils.get(vertx, Registry.class));
     bind(TenantCache.class).toProvider(() -> SharedDataUtils.get(vertx, TenantCache.class));
+    bind(CacheInvalidationBus.class)
+        .toProvider(() -> SharedDataUtils.get(vertx, CacheInvalidationBus.class));
+    bind(RefreshTokenCache.class)
+        .toProvider(() -> SharedDataUtils.get(vertx, RefreshTokenCache.class));
+    bind(TokenSigningExecutor.class)
+        .toProvider(() -> SharedDataUtils.get(vertx, TokenSigningExecutor.class));
+    bind(AccessTokenCache.class)
+        .toProvider(() -> SharedDataUtils.get(vertx, AccessTokenCache.class));
+    bind(ClientCache.class).toProvider(() -> SharedDataUtils.get(vertx, ClientCache.class));
+    bind(ScopeCatalogCache.class)
+        .toProvider(() -> SharedDataUtils.get(vertx, ScopeCatalogCache.class));
+    bind(UserInfoCache.class).toProvider(() -> SharedDataUtils.get(vertx, UserInfoCache.class));
+    bind(JwksCache.class).toProvider(() -> SharedDataUtils.get(vertx, JwksCache.class));
+    bind(StateCodec.class).toProvider(() -> SharedDataUtils.get(vertx, StateCodec.class));
+    bind(RedisScriptExecutor.class)
+        .toProvider(() -> SharedDataUtils.get(vertx, RedisScriptExecutor.class));
+    bind(OtpDeliveryQueue.class)
+        .toProvider(() -> SharedDataUtils.get(vertx, OtpDeliveryQueue.class));
+
+    PrometheusMeterRegistry meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    bind(PrometheusMeterRegistry.class).toInstance(meterRegistry);
+    bind(MeterRegistry.class).toInstance(meterRegistry);
   }
 }
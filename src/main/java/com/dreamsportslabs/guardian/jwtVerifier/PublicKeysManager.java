@@ -3,38 +3,87 @@ package com.dreamsportslabs.guardian.jwtVerifier;
 import com.dreamsportslabs.guardian.jwtVerifier.exception.PublicKeysManagerException;
 import io.fusionauth.jwks.JSONWebKeySetHelper;
 import io.fusionauth.jwks.domain.JSONWebKey;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.lang.ref.WeakReference;
 import java.security.PublicKey;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
-
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the public keys used to verify tokens as an immutable snapshot. Lookups only read the
+ * current snapshot. Keys fetched from a JWKS url are refreshed on a background thread ahead of
+ * their expiry. Only the very first fetch happens on the calling thread. When a refresh fails, the
+ * previous snapshot keeps being served and the refresh is retried.
+ */
 class PublicKeysManager {
   private static final long REFRESH_SKEW_MILLIS = 120000L;
-  private String publicCertsEncodedUrl;
-  private Long refreshTimeout;
-  private Long expirationTime;
-  private Map<String, PublicKey> publicKeys;
-  private Lock lock;
+  private static final long RETRY_DELAY_MILLIS = 30000L;
+
+  private static final ScheduledExecutorService REFRESH_SCHEDULER =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "jwt-verifier-keys-refresh");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private final String publicCertsEncodedUrl;
+  private final Long refreshTimeout;
+  private final AtomicReference<Map<String, PublicKey>> publicKeys = new AtomicReference<>();
+  private final Timer refreshTimer;
+  private final Counter refreshFailedCounter;
+  private final Counter kidMissCounter;
 
   PublicKeysManager(Builder builder) {
-    if (builder.publicKeys == null && builder.publicCertsEncodedUrl == null) {
+    if (builder.publicKeys == null
+        && builder.resolvedPublicKeys == null
+        && builder.publicCertsEncodedUrl == null) {
       throw new PublicKeysManagerException(
           "Either publicKeys or publicCertsEncodedUrl must be provided.");
     }
 
+    MeterRegistry meterRegistry =
+        builder.meterRegistry == null ? Metrics.globalRegistry : builder.meterRegistry;
+    this.refreshTimer =
+        Timer.builder("guardian.jwt_verifier.keys.refresh")
+            .description("Time taken to fetch public keys from the public certs url")
+            .register(meterRegistry);
+    this.refreshFailedCounter =
+        Counter.builder("guardian.jwt_verifier.keys.refresh.failed")
+            .description("Public key fetches that failed")
+            .register(meterRegistry);
+    this.kidMissCounter =
+        Counter.builder("guardian.jwt_verifier.kid.miss")
+            .description("Tokens whose kid did not match any known public key")
+            .register(meterRegistry);
+
+    if (builder.resolvedPublicKeys != null) {
+      this.publicCertsEncodedUrl = null;
+      this.refreshTimeout = null;
+      this.publicKeys.set(Map.copyOf(builder.resolvedPublicKeys));
+      return;
+    }
+
     if (builder.publicKeys != null) {
-      this.publicKeys = new HashMap<>();
+      Map<String, PublicKey> keys = new HashMap<>();
       for (Map.Entry<String, String> key : builder.publicKeys.entrySet()) {
-        this.publicKeys.put(key.getKey(), JSONWebKey.parse(JSONWebKey.build(key.getValue())));
+        keys.put(key.getKey(), JSONWebKey.parse(JSONWebKey.build(key.getValue())));
       }
+      this.publicCertsEncodedUrl = null;
+      this.refreshTimeout = null;
+      this.publicKeys.set(Map.copyOf(keys));
       return;
     }
 
     this.publicCertsEncodedUrl = builder.publicCertsEncodedUrl;
     this.refreshTimeout = builder.refreshTimeout;
-
-    this.lock = new ReentrantLock();
   }
 
   static Builder builder() {
@@ -42,48 +91,79 @@ class PublicKeysManager {
   }
 
   Map<String, PublicKey> getPublicKeyMap() {
-    if (this.publicCertsEncodedUrl == null) {
-      return this.publicKeys;
-    }
-
-    this.lock.lock();
-    try {
-      if (this.publicKeys == null || this.isExpired()) {
-        this.refresh();
-      }
-    } finally {
-      this.lock.unlock();
+    Map<String, PublicKey> keys = this.publicKeys.get();
+    if (keys != null) {
+      return keys;
     }
+    return initialLoad();
+  }
 
-    return this.publicKeys;
+  void recordKidMiss() {
+    this.kidMissCounter.increment();
   }
 
-  private boolean isExpired() {
-    return System.currentTimeMillis() + REFRESH_SKEW_MILLIS > this.expirationTime;
+  private synchronized Map<String, PublicKey> initialLoad() {
+    Map<String, PublicKey> keys = this.publicKeys.get();
+    if (keys == null) {
+      keys = refresh();
+      scheduleRefresh(this, getRefreshDelayMillis());
+    }
+    return keys;
   }
 
-  private void refresh() {
-    this.lock.lock();
+  private long getRefreshDelayMillis() {
+    return Math.max(RETRY_DELAY_MILLIS, this.refreshTimeout * 1000 - REFRESH_SKEW_MILLIS);
+  }
 
+  private Map<String, PublicKey> refresh() {
+    long start = System.nanoTime();
     try {
-      this.publicKeys = new HashMap<>();
-
+      Map<String, PublicKey> keys = new HashMap<>();
       for (JSONWebKey key : JSONWebKeySetHelper.retrieveKeysFromJWKS(this.publicCertsEncodedUrl)) {
-        this.publicKeys.put(key.kid, JSONWebKey.parse(key));
+        keys.put(key.kid, JSONWebKey.parse(key));
       }
-
-      this.expirationTime = System.currentTimeMillis() + this.refreshTimeout * 1000;
+      Map<String, PublicKey> snapshot = Map.copyOf(keys);
+      this.publicKeys.set(snapshot);
+      return snapshot;
     } catch (Exception e) {
+      this.refreshFailedCounter.increment();
       throw new PublicKeysManagerException("Failed to create public keys from public certs url", e);
     } finally {
-      this.lock.unlock();
+      this.refreshTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
     }
   }
 
+  /**
+   * Schedules the next background refresh. The task only holds a weak reference, so managers that
+   * are no longer used stop being refreshed once they are garbage collected.
+   */
+  private static void scheduleRefresh(PublicKeysManager manager, long delayMillis) {
+    WeakReference<PublicKeysManager> reference = new WeakReference<>(manager);
+    REFRESH_SCHEDULER.schedule(
+        () -> {
+          PublicKeysManager current = reference.get();
+          if (current == null) {
+            return;
+          }
+          long nextDelayMillis;
+          try {
+            current.refresh();
+            nextDelayMillis = current.getRefreshDelayMillis();
+          } catch (Exception e) {
+            nextDelayMillis = RETRY_DELAY_MILLIS;
+          }
+          scheduleRefresh(current, nextDelayMillis);
+        },
+        delayMillis,
+        TimeUnit.MILLISECONDS);
+  }
+
   static class Builder {
     String publicCertsEncodedUrl;
     Map<String, String> publicKeys;
+    Map<String, PublicKey> resolvedPublicKeys;
     Long refreshTimeout;
+    MeterRegistry meterRegistry;
 
     Builder() {}
 
@@ -101,9 +181,19 @@ class PublicKeysManager {
       return this;
     }
 
+    Builder resolvedPublicKeys(Map<String, PublicKey> resolvedPublicKeys) {
+      this.resolvedPublicKeys = resolvedPublicKeys;
+      return this;
+    }
+
     Builder refreshTimeout(long refreshTimeout) {
       this.refreshTimeout = refreshTimeout;
       return this;
     }
+
+    Builder meterRegistry(MeterRegistry meterRegistry) {
+      this.meterRegistry = meterRegistry;
+      return this;
+    }
   }
 }
@@ -10,6 +10,8 @@ import io.fusionauth.jwt.Verifier;
 import io.fusionauth.jwt.domain.JWT;
 import io.fusionauth.jwt.ec.ECVerifier;
 import io.fusionauth.jwt.rsa.RSAVerifier;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import java.security.PublicKey;
 import java.security.interfaces.ECPublicKey;
 import java.security.interfaces.RSAPublicKey;
@@ -27,12 +29,22 @@ public class TokenVerifier {
   }
 
   public TokenVerifier(String publicCertsEncodedUrl, String issuer, Long refreshTimeout) {
+    this(publicCertsEncodedUrl, issuer, refreshTimeout, Metrics.globalRegistry);
+  }
+
+  /** Publishes key refresh and kid miss metrics to the given registry. */
+  public TokenVerifier(
+      String publicCertsEncodedUrl,
+      String issuer,
+      Long refreshTimeout,
+      MeterRegistry meterRegistry) {
     this.issuer = issuer;
     this.decoder = JWT.getDecoder();
     this.publicKeysManager =
         PublicKeysManager.builder()
             .publicCertsEncodedUrl(publicCertsEncodedUrl)
             .refreshTimeout(refreshTimeout)
+            .meterRegistry(meterRegistry)
             .build();
   }
 
@@ -42,6 +54,14 @@ public class TokenVerifier {
     this.publicKeysManager = PublicKeysManager.builder().publicKeys(publicKeys).build();
   }
 
+  /** Verifies tokens against a key already resolved by the caller, e.g. from a shared cache. */
+  public TokenVerifier(String keyId, PublicKey publicKey, String issuer) {
+    this.issuer = issuer;
+    this.decoder = JWT.getDecoder();
+    this.publicKeysManager =
+        PublicKeysManager.builder().resolvedPublicKeys(Map.of(keyId, publicKey)).build();
+  }
+
   public Map<String, Object> verify(String token) {
     JWT jwt = this.decoder.decode(token, this::getVerifier);
 
@@ -62,6 +82,7 @@ public class TokenVerifier {
   private Verifier getVerifier(String keyId) {
     PublicKey publicKey = this.publicKeysManager.getPublicKeyMap().get(keyId);
     if (publicKey == null) {
+      this.publicKeysManager.recordKidMiss();
       throw new InvalidTokenException("Invalid Signature");
     }
     if (publicKey instanceof RSAPublicKey) {
@@ -1,39 +1,69 @@
 package com.dreamsportslabs.guardian.registry;
 
-import java.util.HashMap;
 import java.util.Map;
-import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections.keyvalue.MultiKey;
 
+/**
+ * Per-tenant objects shared by every verticle. Each tenant maps to an immutable {@link
+ * TenantBundle}, which is replaced as a whole, so lookups are lock-free and never observe a
+ * partially initialized tenant.
+ */
 @Slf4j
 public class Registry {
-  private final Map<MultiKey, Object> classMap;
+  private final Map<String, TenantBundle> tenants;
 
   private static final String DEFAULT_NAME = "default";
 
   public Registry() {
-    this.classMap = new HashMap<>();
+    this.tenants = new ConcurrentHashMap<>();
   }
 
   public <T> T get(String tenant, Class<T> clazz) {
-    return this.get(tenant, clazz, DEFAULT_NAME);
+    TenantBundle bundle = tenants.get(tenant);
+    return bundle == null ? null : bundle.get(clazz);
   }
 
   public <T> T get(String tenant, Class<T> clazz, String name) {
-    return (T) classMap.get(getKey(clazz, tenant, name));
+    if (DEFAULT_NAME.equals(name)) {
+      return get(tenant, clazz);
+    }
+    TenantBundle bundle = tenants.get(tenant);
+    return bundle == null ? null : bundle.get(clazz, name);
+  }
+
+  /** Atomically replaces everything registered for the tenant with the given bundle. */
+  public void put(String tenant, TenantBundle bundle) {
+    tenants.put(tenant, bundle);
   }
 
   public <T> void put(String tenant, T object) {
-    this.put(tenant, object, DEFAULT_NAME);
+    update(tenant, builder -> builder.put(object));
   }
 
   public <T> void put(String tenant, T object, String name) {
-    Objects.requireNonNull(object);
-    classMap.put(getKey(object.getClass(), tenant, name), object);
+    if (DEFAULT_NAME.equals(name)) {
+      put(tenant, object);
+      return;
+    }
+    @SuppressWarnings("unchecked")
+    Class<T> clazz = (Class<T>) object.getClass();
+    update(tenant, builder -> builder.put(clazz, object, name));
+  }
+
+  public <T> void put(String tenant, Class<T> clazz, T object) {
+    update(tenant, builder -> builder.put(clazz, object));
   }
 
-  private MultiKey getKey(Class<?> clazz, String tenant, String name) {
-    return new MultiKey(tenant, clazz.getName(), name);
+  private void update(String tenant, Consumer<TenantBundle.Builder> change) {
+    tenants.compute(
+        tenant,
+        (k, bundle) -> {
+          TenantBundle.Builder builder =
+              bundle == null ? TenantBundle.builder() : bundle.toBuilder();
+          change.accept(builder);
+          return builder.build();
+        });
   }
 }
@@ -3,37 +3,46 @@ package com.dreamsportslabs.guardian.registry;
 import com.dreamsportslabs.guardian.config.tenant.RsaKey;
 import com.dreamsportslabs.guardian.config.tenant.TenantConfig;
 import com.dreamsportslabs.guardian.config.tenant.TokenConfig;
+import com.dreamsportslabs.guardian.service.impl.claims.AccessTokenClaims;
 import com.dreamsportslabs.guardian.service.impl.idproviders.FacebookIdProvider;
 import com.dreamsportslabs.guardian.service.impl.idproviders.GoogleIdProvider;
+import com.dreamsportslabs.guardian.service.impl.signers.PooledRsaSigner;
+import com.dreamsportslabs.guardian.service.impl.signers.VerifierTable;
 import io.fusionauth.jwt.Signer;
-import io.fusionauth.jwt.rsa.RSASigner;
+import io.fusionauth.jwt.ec.ECSigner;
 import lombok.SneakyThrows;
 
 public class RegistryInit {
 
   @SneakyThrows
   public static TenantConfig initializeRegistry(Registry registry, TenantConfig tenantConfig) {
-    String tenantId = tenantConfig.getTenantId();
-    registry.put(tenantId, tenantConfig);
-    registry.put(tenantId, getTokenSigner(tenantConfig.getTokenConfig()));
+    TenantBundle.Builder bundle =
+        TenantBundle.builder()
+            .put(tenantConfig)
+            .put(Signer.class, getTokenSigner(tenantConfig.getTokenConfig()))
+            .put(VerifierTable.of(tenantConfig.getTokenConfig().getRsaKeys()))
+            .put(AccessTokenClaims.compile(tenantConfig.getTokenConfig().getAccessTokenClaims()));
 
     if (tenantConfig.findFbConfig().isPresent()) {
-      registry.put(tenantId, new FacebookIdProvider(tenantConfig.findFbConfig().get()));
+      bundle.put(new FacebookIdProvider(tenantConfig.findFbConfig().get()));
     }
     if (tenantConfig.findGoogleConfig().isPresent()) {
-      registry.put(tenantId, new GoogleIdProvider(tenantConfig.findGoogleConfig().get()));
+      bundle.put(new GoogleIdProvider(tenantConfig.findGoogleConfig().get()));
     }
 
+    registry.put(tenantConfig.getTenantId(), bundle.build());
     return tenantConfig;
   }
 
   private static Signer getTokenSigner(TokenConfig config) {
     RsaKey currentKey = config.getRsaKeys().stream().filter(RsaKey::getCurrent).toList().get(0);
     if ("RS512".equals(config.getAlgorithm())) {
-      return RSASigner.newSHA512Signer(currentKey.getPrivateKey(), currentKey.getKid());
+      return PooledRsaSigner.newSHA512Signer(currentKey.getPrivateKey(), currentKey.getKid());
     } else if ("RS256".equals(config.getAlgorithm())) {
-      return RSASigner.newSHA256Signer(currentKey.getPrivateKey(), currentKey.getKid());
+      return PooledRsaSigner.newSHA256Signer(currentKey.getPrivateKey(), currentKey.getKid());
+    } else if ("ES256".equals(config.getAlgorithm())) {
+      return ECSigner.newSHA256Signer(currentKey.getPrivateKey(), currentKey.getKid());
     }
-    throw new Error("Invalid configuration, only RS256 and RS512 are supported");
+    throw new Error("Invalid configuration, only RS256, RS512 and ES256 are supported");
   }
 }
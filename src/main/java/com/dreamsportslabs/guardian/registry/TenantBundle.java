@@ -0,0 +1,74 @@
+package com.dreamsportslabs.guardian.registry;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable set of objects built for a tenant from a single config snapshot, such as the config
+ * itself, its token signer and its id providers. A bundle is published to the {@link Registry} as a
+ * whole, so readers never see objects built from different snapshots.
+ */
+public final class TenantBundle {
+  private final Map<Class<?>, Object> objects;
+  private final Map<Class<?>, Map<String, Object>> namedObjects;
+
+  private TenantBundle(
+      Map<Class<?>, Object> objects, Map<Class<?>, Map<String, Object>> namedObjects) {
+    this.objects = objects;
+    this.namedObjects = namedObjects;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  @SuppressWarnings("unchecked")
+  public <T> T get(Class<T> clazz) {
+    return (T) objects.get(clazz);
+  }
+
+  @SuppressWarnings("unchecked")
+  public <T> T get(Class<T> clazz, String name) {
+    Map<String, Object> byName = namedObjects.get(clazz);
+    return byName == null ? null : (T) byName.get(name);
+  }
+
+  public Builder toBuilder() {
+    Builder builder = new Builder();
+    builder.objects.putAll(objects);
+    namedObjects.forEach((clazz, byName) -> builder.namedObjects.put(clazz, new HashMap<>(byName)));
+    return builder;
+  }
+
+  public static final class Builder {
+    private final Map<Class<?>, Object> objects = new HashMap<>();
+    private final Map<Class<?>, Map<String, Object>> namedObjects = new HashMap<>();
+
+    private Builder() {}
+
+    public <T> Builder put(T object) {
+      Objects.requireNonNull(object);
+      objects.put(object.getClass(), object);
+      return this;
+    }
+
+    public <T> Builder put(Class<T> clazz, T object) {
+      Objects.requireNonNull(object);
+      objects.put(clazz, object);
+      return this;
+    }
+
+    public <T> Builder put(Class<T> clazz, T object, String name) {
+      Objects.requireNonNull(object);
+      namedObjects.computeIfAbsent(clazz, k -> new HashMap<>()).put(name, object);
+      return this;
+    }
+
+    public TenantBundle build() {
+      Map<Class<?>, Map<String, Object>> named = new HashMap<>();
+      namedObjects.forEach((clazz, byName) -> named.put(clazz, Map.copyOf(byName)));
+      return new TenantBundle(Map.copyOf(objects), Map.copyOf(named));
+    }
+  }
+}
@@ -0,0 +1,32 @@
+package com.dreamsportslabs.guardian.rest;
+
+import com.google.inject.Inject;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import io.reactivex.rxjava3.core.Single;
+import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.util.concurrent.CompletionStage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RequiredArgsConstructor(onConstructor = @__({@Inject}))
+@Path("/metrics")
+public class Metrics {
+
+  final PrometheusMeterRegistry meterRegistry;
+
+  @GET
+  @Consumes(MediaType.WILDCARD)
+  @Produces(MediaType.TEXT_PLAIN)
+  @Hidden
+  public CompletionStage<Response> metrics() {
+    return Single.fromCallable(() -> Response.ok(meterRegistry.scrape()).build())
+        .toCompletionStage();
+  }
+}
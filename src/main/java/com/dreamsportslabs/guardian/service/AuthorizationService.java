@@ -19,6 +19,7 @@ import static com.dreamsportslabs.guardian.utils.Utils.getCurrentTimeInSeconds;
 import static com.dreamsportslabs.guardian.utils.Utils.getRftId;
 import static com.dreamsportslabs.guardian.utils.Utils.shouldSetAccessTokenAdditionalClaims;
 
+import com.dreamsportslabs.guardian.cache.AccessTokenCache;
 import com.dreamsportslabs.guardian.config.tenant.AuthCodeConfig;
 import com.dreamsportslabs.guardian.config.tenant.TenantConfig;
 import com.dreamsportslabs.guardian.config.tenant.TokenConfig;
@@ -68,6 +69,7 @@ public class AuthorizationService {
   private final RefreshTokenDao refreshTokenDao;
   private final CodeDao codeDao;
   private final RevocationDao revocationDao;
+  private final AccessTokenCache accessTokenCache;
   private final ClientService clientService;
   private final UserService userService;
   private final TokenVerifier tokenVerifier;
@@ -102,28 +104,23 @@ public class AuthorizationService {
     Single<ClientModel> clientModelSingle = clientService.getClient(clientId, tenantId);
 
     return Single.zip(
-            tokenIssuer.generateAccessToken(
+            tokenIssuer.generateAccessAndIdToken(
                 refreshToken,
                 iat,
+                null,
                 String.join(" ", scopes),
                 user,
                 authMethods,
+                config.getTokenConfig().getIdTokenClaims(),
                 clientId,
                 tenantId,
                 config),
-            tokenIssuer.generateIdToken(
-                iat,
-                null,
-                user,
-                config.getTokenConfig().getIdTokenClaims(),
-                clientId,
-                config.getTenantId()),
             clientModelSingle,
-            (accessToken, idToken, clientModel) ->
+            (tokens, clientModel) ->
                 buildTokenResponse(
-                    accessToken,
+                    tokens.getLeft(),
                     refreshToken,
-                    idToken,
+                    tokens.getRight(),
                     null,
                     user,
                     authMethods,
@@ -168,21 +165,23 @@ public class AuthorizationService {
     Single<ClientModel> clientModelSingle = clientService.getClient(clientId, tenantId);
 
     return Single.zip(
-            tokenIssuer.generateAccessToken(
-                refreshToken, iat, scopes, user, authMethods, clientId, tenantId, config),
-            tokenIssuer.generateIdToken(
+            tokenIssuer.generateAccessAndIdToken(
+                refreshToken,
                 iat,
                 null,
+                scopes,
                 user,
+                authMethods,
                 config.getTokenConfig().getIdTokenClaims(),
                 clientId,
-                config.getTenantId()),
+                tenantId,
+                config),
             clientModelSingle,
-            (accessToken, idToken, clientModel) ->
+            (tokens, clientModel) ->
                 buildTokenResponse(
-                    accessToken,
+                    tokens.getLeft(),
                     refreshToken,
-                    idToken,
+                    tokens.getRight(),
                     ssoToken,
                     user,
                     authMethods,
@@ -387,7 +386,7 @@ public class AuthorizationService {
   public Single<TokenResponseDto> codeTokenExchange(
       V1CodeTokenExchangeRequestDto dto, String tenantId) {
     return codeDao
-        .getCode(dto.getCode(), tenantId)
+        .consumeCode(dto.getCode(), tenantId)
         .switchIfEmpty(Single.error(INVALID_CODE.getException()))
         .flatMap(
             model ->
@@ -397,8 +396,7 @@ public class AuthorizationService {
                     model.getAuthMethods(),
                     model.getMetaInfo(),
                     model.getClientId(),
-                    tenantId))
-        .doOnSuccess(res -> codeDao.deleteCode(dto.getCode(), tenantId).subscribe());
+                    tenantId));
   }
 
   public Completable logout(V1LogoutRequestDto requestDto, String tenantId) {
@@ -554,6 +552,7 @@ public class AuthorizationService {
 
     revocationDao.addExpiredRefreshTokensInSortedSet(
         currentTimeStamp, expiredRefreshTokens, tenantId);
+    accessTokenCache.invalidateRefreshTokens(tenantId, expiredRefreshTokens);
 
     revocationDao.removeExpiredRefreshTokensFromSortedSet(
         currentTimeStamp, accessTokenExpiry, tenantId);
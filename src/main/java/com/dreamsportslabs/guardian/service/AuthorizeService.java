@@ -6,12 +6,11 @@ import static com.dreamsportslabs.guardian.exception.OidcErrorEnum.INVALID_REDIR
 import static com.dreamsportslabs.guardian.exception.OidcErrorEnum.INVALID_SCOPE;
 import static com.dreamsportslabs.guardian.exception.OidcErrorEnum.UNSUPPORTED_RESPONSE_TYPE;
 
+import com.dreamsportslabs.guardian.cache.ScopeCatalogCache;
 import com.dreamsportslabs.guardian.config.tenant.TenantConfig;
 import com.dreamsportslabs.guardian.dao.AuthorizeSessionDao;
-import com.dreamsportslabs.guardian.dao.ClientScopeDao;
 import com.dreamsportslabs.guardian.dao.model.AuthorizeSessionModel;
 import com.dreamsportslabs.guardian.dao.model.ClientModel;
-import com.dreamsportslabs.guardian.dao.model.ClientScopeModel;
 import com.dreamsportslabs.guardian.dto.request.AuthorizeRequestDto;
 import com.dreamsportslabs.guardian.dto.response.AuthorizeResponseDto;
 import com.dreamsportslabs.guardian.registry.Registry;
@@ -20,6 +19,7 @@ import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Single;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -31,7 +31,7 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor(onConstructor = @__({@Inject}))
 public class AuthorizeService {
   private final ClientService clientService;
-  private final ClientScopeDao clientScopeDao;
+  private final ScopeCatalogCache scopeCatalogCache;
   private final AuthorizeSessionDao authorizeSessionDao;
   private final Registry registry;
 
@@ -44,8 +44,8 @@ public class AuthorizeService {
             client -> {
               String loginChallenge = UUID.randomUUID().toString();
 
-              return clientScopeDao
-                  .getClientScopes(requestDto.getClientId(), tenantId)
+              return scopeCatalogCache
+                  .getClientScopes(tenantId, requestDto.getClientId())
                   .map(clientScopes -> filterAllowedScopes(requestDto.getScope(), clientScopes))
                   .map(
                       allowedScopes ->
@@ -136,10 +136,8 @@ public class AuthorizeService {
         "scope must contain 'openid'", requestDto.getState(), requestDto.getRedirectUri());
   }
 
-  private List<String> filterAllowedScopes(
-      String requestedScopes, List<ClientScopeModel> clientScopes) {
-    Set<String> clientAllowedScopes =
-        clientScopes.stream().map(ClientScopeModel::getScope).collect(Collectors.toSet());
+  private List<String> filterAllowedScopes(String requestedScopes, List<String> clientScopes) {
+    Set<String> clientAllowedScopes = new HashSet<>(clientScopes);
 
     Set<String> requestedScopesSet =
         Arrays.stream(requestedScopes.split("\\s+")).collect(Collectors.toSet());
@@ -93,7 +93,7 @@ public class BiometricService {
       String tenantId) {
 
     return biometricChallengeDao
-        .getChallenge(requestDto.getState(), tenantId)
+        .consumeChallenge(requestDto.getState(), tenantId)
         .switchIfEmpty(Single.error(CHALLENGE_NOT_FOUND.getException()))
         .flatMap(challengeModel -> validateChallenge(challengeModel, requestDto))
         .flatMap(
@@ -168,8 +168,7 @@ public class BiometricService {
                 headers,
                 tenantId,
                 combineAuthMethods(
-                    refreshTokenModel.getAuthMethod(), AuthMethod.HARDWARE_KEY_PROOF)))
-        .doFinally(() -> biometricChallengeDao.deleteChallenge(requestDto.getState(), tenantId));
+                    refreshTokenModel.getAuthMethod(), AuthMethod.HARDWARE_KEY_PROOF)));
   }
 
   private Single<BiometricTokenResponseDto> handleLoginFlow(
@@ -202,9 +201,7 @@ public class BiometricService {
                       refreshTokenModel.getAuthMethod(), AuthMethod.HARDWARE_KEY_PROOF);
 
               return generateTokensForUser(
-                      refreshTokenModel, headers, tenantId, combinedAuthMethods)
-                  .doFinally(
-                      () -> biometricChallengeDao.deleteChallenge(requestDto.getState(), tenantId));
+                  refreshTokenModel, headers, tenantId, combinedAuthMethods);
             });
   }
 
@@ -2,6 +2,7 @@ package com.dreamsportslabs.guardian.service;
 
 import static com.dreamsportslabs.guardian.exception.ErrorEnum.INVALID_REQUEST;
 
+import com.dreamsportslabs.guardian.cache.ScopeCatalogCache;
 import com.dreamsportslabs.guardian.dao.ClientDao;
 import com.dreamsportslabs.guardian.dao.ClientScopeDao;
 import com.dreamsportslabs.guardian.dao.model.ClientScopeModel;
@@ -22,6 +23,7 @@ public class ClientScopeService {
   private final ClientScopeDao clientScopeDao;
   private final ScopeService scopeService;
   private final ClientDao clientDao;
+  private final ScopeCatalogCache scopeCatalogCache;
 
   public Completable createClientScope(
       String clientId, CreateClientScopeRequestDto requestDto, String tenantId) {
@@ -63,7 +65,12 @@ public class ClientScopeService {
                         .build();
                 clientScopeList.add(clientScopeModel);
               }
-              return clientScopeDao.createClientScope(clientScopeList);
+              return clientScopeDao
+                  .createClientScope(clientScopeList)
+                  .doOnComplete(
+                      () ->
+                          scopeCatalogCache.update(
+                              tenantId, c -> c.withClientScopes(clientId, clientScopeList)));
             });
   }
 
@@ -78,15 +85,17 @@ public class ClientScopeService {
     return clientDao
         .getClient(clientId, tenantId)
         .switchIfEmpty(Single.error(INVALID_REQUEST.getCustomException("Client not found")))
-        .flatMapCompletable(exists -> clientScopeDao.deleteClientScope(tenantId, clientId, scope));
+        .flatMapCompletable(exists -> clientScopeDao.deleteClientScope(tenantId, clientId, scope))
+        .doOnComplete(
+            () ->
+                scopeCatalogCache.update(tenantId, c -> c.withoutClientScope(clientId, scope)));
   }
 
+  /** Checks the scopes against the client's assigned scopes. The client must already exist. */
   public Completable validateClientScopes(
       String tenantId, String clientId, List<String> requestScopes) {
-    return getClientScopes(clientId, tenantId)
-        .map(
-            clientScopeModels ->
-                clientScopeModels.stream().map(ClientScopeModel::getScope).toList())
+    return scopeCatalogCache
+        .getClientScopes(tenantId, clientId)
         .flatMapCompletable(
             clientScopes -> {
               HashSet<String> scopesSet = new HashSet<>(clientScopes);
@@ -4,6 +4,8 @@ import static com.dreamsportslabs.guardian.exception.ErrorEnum.CLIENT_NOT_FOUND;
 import static com.dreamsportslabs.guardian.exception.ErrorEnum.INVALID_CLIENT;
 import static com.dreamsportslabs.guardian.exception.ErrorEnum.INVALID_REQUEST;
 
+import com.dreamsportslabs.guardian.cache.ClientCache;
+import com.dreamsportslabs.guardian.cache.ScopeCatalogCache;
 import com.dreamsportslabs.guardian.constant.ClientType;
 import com.dreamsportslabs.guardian.dao.ClientDao;
 import com.dreamsportslabs.guardian.dao.model.ClientModel;
@@ -26,6 +28,8 @@ public class ClientService {
 
   private final ClientDao clientDao;
   private final ClientScopeService clientScopeService;
+  private final ClientCache clientCache;
+  private final ScopeCatalogCache scopeCatalogCache;
 
   public Single<ClientModel> createClient(CreateClientRequestDto requestDto, String tenantId) {
     String clientId = RandomStringUtils.randomAlphanumeric(CLIENT_ID_LENGTH);
@@ -52,11 +56,23 @@ public class ClientService {
   }
 
   public Single<ClientModel> getClient(String clientId, String tenantId) {
-    return clientDao
-        .getClient(clientId, tenantId)
+    return clientCache
+        .get(tenantId, clientId, () -> clientDao.getClient(clientId, tenantId))
         .switchIfEmpty(Single.error(CLIENT_NOT_FOUND.getException()));
   }
 
+  /** Loads the tenant's clients into the client cache, when it is enabled. */
+  public Completable warmUpClientCache(String tenantId) {
+    if (!clientCache.isEnabled()) {
+      return Completable.complete();
+    }
+    long epochAtLoad = clientCache.getInvalidationEpoch();
+    return clientDao
+        .getClients(tenantId, ClientCache.WARM_UP_LIMIT, 0)
+        .doOnSuccess(clients -> clientCache.warmUp(tenantId, clients, epochAtLoad))
+        .ignoreElement();
+  }
+
   public Single<List<ClientModel>> getClients(String tenantId, int page, int limit) {
     int offset = (page - 1) * limit;
     return clientDao.getClients(tenantId, limit, offset);
@@ -66,6 +82,7 @@ public class ClientService {
       String clientId, UpdateClientRequestDto requestDto, String tenantId) {
     return clientDao
         .updateClient(requestDto, clientId, tenantId)
+        .doOnComplete(() -> clientCache.invalidate(tenantId, clientId))
         .andThen(getClient(clientId, tenantId));
   }
 
@@ -74,7 +91,12 @@ public class ClientService {
         .deleteClient(clientId, tenantId)
         .filter(deleted -> deleted)
         .switchIfEmpty(Single.error(INVALID_REQUEST.getCustomException("Client not found")))
-        .ignoreElement();
+        .ignoreElement()
+        .doOnComplete(
+            () -> {
+              clientCache.invalidate(tenantId, clientId);
+              scopeCatalogCache.update(tenantId, c -> c.withoutClient(clientId));
+            });
   }
 
   public Single<String> regenerateClientSecret(String clientId, String tenantId) {
@@ -87,6 +109,7 @@ public class ClientService {
               existingClient.setClientSecret(newSecret);
               return clientDao
                   .updateClientSecret(newSecret, clientId, tenantId)
+                  .doOnComplete(() -> clientCache.invalidate(tenantId, clientId))
                   .andThen(Single.just(newSecret));
             });
   }
@@ -13,6 +13,7 @@ import com.dreamsportslabs.guardian.config.tenant.TenantConfig;
 import com.dreamsportslabs.guardian.constant.BlockFlow;
 import com.dreamsportslabs.guardian.constant.Contact;
 import com.dreamsportslabs.guardian.dao.ContactVerifyDao;
+import com.dreamsportslabs.guardian.dao.codec.StateCodec;
 import com.dreamsportslabs.guardian.dao.model.OtpGenerateModel;
 import com.dreamsportslabs.guardian.dto.request.V1SendOtpRequestDto;
 import com.dreamsportslabs.guardian.registry.Registry;
@@ -20,7 +21,6 @@ import com.dreamsportslabs.guardian.utils.OtpUtils;
 import com.google.inject.Inject;
 import io.reactivex.rxjava3.core.Single;
 import jakarta.ws.rs.core.MultivaluedMap;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
@@ -32,6 +32,7 @@ import org.apache.commons.lang3.StringUtils;
 @RequiredArgsConstructor(onConstructor = @__({@Inject}))
 public class ContactVerifyService {
   private final ContactVerifyDao contactVerifyDao;
+  private final StateCodec stateCodec;
   private final Registry registry;
   private final OtpService otpService;
   private final UserFlowBlockService userFlowBlockService;
@@ -82,7 +83,12 @@ public class ContactVerifyService {
               }
 
               return otpService
-                  .sendOtp(List.of(model.getContact()), model.getOtp(), headers, tenantId)
+                  .sendOtp(
+                      List.of(model.getContact()),
+                      model.getOtp(),
+                      model.getExpiry(),
+                      headers,
+                      tenantId)
                   .andThen(Single.just(model));
             })
         .map(OtpGenerateModel::updateResend)
@@ -101,8 +107,7 @@ public class ContactVerifyService {
 
     ContactVerifyConfig config = tenantConfig.getContactVerifyConfig();
 
-    Map<String, String> h = new HashMap<>();
-    headers.forEach((key, val) -> h.put(key, val.get(0)));
+    Map<String, String> h = stateCodec.persistedHeaders(headers);
 
     return Single.just(
         OtpGenerateModel.builder()
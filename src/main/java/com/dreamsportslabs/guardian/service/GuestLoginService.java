@@ -5,18 +5,17 @@ import static com.dreamsportslabs.guardian.exception.ErrorEnum.CLIENT_NOT_FOUND;
 import static com.dreamsportslabs.guardian.exception.ErrorEnum.INVALID_SCOPE;
 import static com.dreamsportslabs.guardian.utils.Utils.decryptUsingAESCBCAlgo;
 
+import com.dreamsportslabs.guardian.cache.ScopeCatalogCache;
 import com.dreamsportslabs.guardian.config.tenant.GuestConfig;
 import com.dreamsportslabs.guardian.config.tenant.TenantConfig;
-import com.dreamsportslabs.guardian.dao.ClientScopeDao;
-import com.dreamsportslabs.guardian.dao.model.ClientScopeModel;
 import com.dreamsportslabs.guardian.dto.request.V1GuestLoginRequestDto;
 import com.dreamsportslabs.guardian.dto.response.GuestLoginResponseDto;
 import com.dreamsportslabs.guardian.registry.Registry;
 import com.google.inject.Inject;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Single;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -26,7 +25,7 @@ public class GuestLoginService {
 
   private final Registry registry;
   private final TokenIssuer tokenIssuer;
-  private final ClientScopeDao clientScopeDao;
+  private final ScopeCatalogCache scopeCatalogCache;
   private final AuthorizationService authorizationService;
 
   public Single<GuestLoginResponseDto> login(V1GuestLoginRequestDto requestDto, String tenantId) {
@@ -65,16 +64,14 @@ public class GuestLoginService {
 
   public Completable validateClientScopes(
       String clientId, String tenantId, List<String> requestedScopes) {
-    return clientScopeDao
-        .getClientScopes(clientId, tenantId)
+    return scopeCatalogCache
+        .getClientScopes(tenantId, clientId)
         .map(
             clientScopes -> {
               if (clientScopes.isEmpty()) {
                 throw CLIENT_NOT_FOUND.getException();
               }
-              return clientScopes.stream()
-                  .map(ClientScopeModel::getScope)
-                  .collect(Collectors.toSet());
+              return new HashSet<>(clientScopes);
             })
         .flatMapCompletable(
             allowedClientScopes -> {
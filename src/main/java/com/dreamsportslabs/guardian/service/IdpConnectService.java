@@ -33,6 +33,7 @@ import static com.dreamsportslabs.guardian.exception.ErrorEnum.USER_EXISTS;
 import static com.dreamsportslabs.guardian.exception.ErrorEnum.USER_NOT_EXISTS;
 
 import com.dreamsportslabs.guardian.cache.DefaultClientScopesCache;
+import com.dreamsportslabs.guardian.cache.JwksCache;
 import com.dreamsportslabs.guardian.config.tenant.OidcProviderConfig;
 import com.dreamsportslabs.guardian.config.tenant.TenantConfig;
 import com.dreamsportslabs.guardian.constant.AuthMethod;
@@ -50,6 +51,7 @@ import com.dreamsportslabs.guardian.dto.response.IdpConnectResponseDto;
 import com.dreamsportslabs.guardian.exception.ErrorEnum;
 import com.dreamsportslabs.guardian.jwtVerifier.TokenVerifier;
 import com.dreamsportslabs.guardian.registry.Registry;
+import com.dreamsportslabs.guardian.utils.JwtHeader;
 import com.dreamsportslabs.guardian.utils.Utils;
 import com.google.inject.Inject;
 import io.reactivex.rxjava3.core.Single;
@@ -78,6 +80,7 @@ public class IdpConnectService {
   private final UserFlowBlockService userFlowBlockService;
   private final ClientService clientService;
   private final DefaultClientScopesCache defaultClientScopesCache;
+  private final JwksCache jwksCache;
 
   public Single<IdpConnectResponseDto> connect(
       V2IdpConnectRequestDto requestDto, MultivaluedMap<String, String> headers, String tenantId) {
@@ -345,19 +348,23 @@ public class IdpConnectService {
 
   private Single<IdpCredentials> verifyIdToken(
       V2IdpConnectRequestDto requestDto, OidcProviderConfig oidcProviderConfig) {
-
-    try {
-      TokenVerifier tokenVerifier =
-          new TokenVerifier(oidcProviderConfig.getJwksUrl(), oidcProviderConfig.getIssuer());
-      Map<String, Object> claims =
-          tokenVerifier.verify(requestDto.getIdentifier(), oidcProviderConfig.getClientId());
-
-      verifyNonceClaim(requestDto, claims);
-      return Single.just(IdpCredentials.builder().idToken(requestDto.getIdentifier()).build());
-
-    } catch (Exception e) {
-      throw INVALID_IDP_TOKEN.getException();
-    }
+    String idToken = requestDto.getIdentifier();
+
+    return Single.defer(
+            () -> {
+              String keyId = JwtHeader.parse(idToken).kid();
+              return jwksCache
+                  .getPublicKey(oidcProviderConfig.getJwksUrl(), keyId)
+                  .map(
+                      publicKey -> {
+                        Map<String, Object> claims =
+                            new TokenVerifier(keyId, publicKey, oidcProviderConfig.getIssuer())
+                                .verify(idToken, oidcProviderConfig.getClientId());
+                        verifyNonceClaim(requestDto, claims);
+                        return IdpCredentials.builder().idToken(idToken).build();
+                      });
+            })
+        .onErrorResumeNext(err -> Single.error(INVALID_IDP_TOKEN.getException()));
   }
 
   private void verifyNonceClaim(V2IdpConnectRequestDto requestDto, Map<String, Object> claims) {
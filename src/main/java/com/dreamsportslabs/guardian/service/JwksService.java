@@ -4,6 +4,7 @@ import com.dreamsportslabs.guardian.cache.TenantCache;
 import com.dreamsportslabs.guardian.config.tenant.TokenConfig;
 import io.fusionauth.jwks.domain.JSONWebKey;
 import io.fusionauth.jwt.domain.Algorithm;
+import io.fusionauth.jwt.domain.KeyType;
 import io.reactivex.rxjava3.core.Single;
 import io.vertx.core.json.JsonObject;
 import java.util.List;
@@ -32,7 +33,25 @@ public class JwksService {
   private JsonObject getKeysInJwksFormat(String publicKey, String kid, String alg) {
     JSONWebKey jwk = JSONWebKey.build(publicKey);
     jwk.kid = kid;
-    jwk.alg = Algorithm.valueOf(alg);
+    jwk.alg = getKeyAlgorithm(jwk, Algorithm.valueOf(alg));
     return new JsonObject(jwk.toJSON());
   }
+
+  /**
+   * The algorithm of a key follows from the key itself rather than from the tenant, as keys kept
+   * for rotation may have been issued under another algorithm. EC keys fix the algorithm through
+   * their curve. RSA keys can sign with any RS algorithm, so they take the tenant's one when it is
+   * RSA and are published without {@code alg} otherwise.
+   */
+  private static Algorithm getKeyAlgorithm(JSONWebKey jwk, Algorithm tenantAlgorithm) {
+    if (jwk.kty == KeyType.EC) {
+      return switch (jwk.crv) {
+        case "P-256" -> Algorithm.ES256;
+        case "P-384" -> Algorithm.ES384;
+        case "P-521" -> Algorithm.ES512;
+        default -> null;
+      };
+    }
+    return tenantAlgorithm.name().startsWith("RS") ? tenantAlgorithm : null;
+  }
 }
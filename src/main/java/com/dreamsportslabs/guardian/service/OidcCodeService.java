@@ -25,15 +25,11 @@ public class OidcCodeService {
     return oidcCodeDao.saveOidcCode(code, oidcCodeModel, tenantId, oidcConfig.getAuthorizeTtl());
   }
 
-  public Maybe<OidcCodeModel> getOidcCode(String code, String tenantId) {
+  public Maybe<OidcCodeModel> consumeOidcCode(String code, String tenantId) {
     return oidcCodeDao
-        .getOidcCode(code, tenantId)
+        .consumeOidcCode(code, tenantId)
         .onErrorResumeNext(
             err ->
                 Maybe.error(INTERNAL_SERVER_ERROR.getJsonCustomException(500, "code is invalid")));
   }
-
-  public Completable deleteOidcCode(String code, String tenantId) {
-    return oidcCodeDao.deleteOidcCode(code, tenantId);
-  }
 }
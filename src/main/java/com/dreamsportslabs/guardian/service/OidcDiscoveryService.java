@@ -1,8 +1,8 @@
 package com.dreamsportslabs.guardian.service;
 
+import com.dreamsportslabs.guardian.cache.ScopeCatalogCache;
 import com.dreamsportslabs.guardian.config.tenant.OidcConfig;
 import com.dreamsportslabs.guardian.config.tenant.TenantConfig;
-import com.dreamsportslabs.guardian.dao.ScopeDao;
 import com.dreamsportslabs.guardian.dao.model.ScopeModel;
 import com.dreamsportslabs.guardian.dto.response.OidcDiscoveryResponseDto;
 import com.dreamsportslabs.guardian.registry.Registry;
@@ -15,14 +15,14 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor(onConstructor = @__({@Inject}))
 public class OidcDiscoveryService {
 
-  private final ScopeDao scopeDao;
+  private final ScopeCatalogCache scopeCatalogCache;
   private final Registry registry;
 
   public Single<OidcDiscoveryResponseDto> getOidcDiscovery(String tenantId) {
     OidcConfig oidcConfig = registry.get(tenantId, TenantConfig.class).getOidcConfig();
 
-    return scopeDao
-        .oidcScopes(tenantId)
+    return scopeCatalogCache
+        .getOidcScopes(tenantId)
         .map(
             list -> {
               List<String> scopeNames =
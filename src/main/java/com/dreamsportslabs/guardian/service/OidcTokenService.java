@@ -14,6 +14,7 @@ import static com.dreamsportslabs.guardian.exception.OidcErrorEnum.UNAUTHORIZED_
 import static com.dreamsportslabs.guardian.utils.Utils.getCurrentTimeInSeconds;
 import static com.dreamsportslabs.guardian.utils.Utils.shouldSetAccessTokenAdditionalClaims;
 
+import com.dreamsportslabs.guardian.cache.ScopeCatalogCache;
 import com.dreamsportslabs.guardian.config.tenant.TenantConfig;
 import com.dreamsportslabs.guardian.config.tenant.TokenConfig;
 import com.dreamsportslabs.guardian.constant.AuthMethod;
@@ -21,14 +22,11 @@ import com.dreamsportslabs.guardian.constant.OidcCodeChallengeMethod;
 import com.dreamsportslabs.guardian.constant.OidcGrantType;
 import com.dreamsportslabs.guardian.dao.RefreshTokenDao;
 import com.dreamsportslabs.guardian.dao.model.ClientModel;
-import com.dreamsportslabs.guardian.dao.model.ClientScopeModel;
 import com.dreamsportslabs.guardian.dao.model.OidcCodeModel;
 import com.dreamsportslabs.guardian.dao.model.RefreshTokenModel;
-import com.dreamsportslabs.guardian.dao.model.ScopeModel;
 import com.dreamsportslabs.guardian.dto.request.GenerateOidcTokenDto;
 import com.dreamsportslabs.guardian.dto.request.RevokeTokenRequestDto;
 import com.dreamsportslabs.guardian.dto.request.TokenRequestDto;
-import com.dreamsportslabs.guardian.dto.request.scope.GetScopeRequestDto;
 import com.dreamsportslabs.guardian.dto.response.OidcTokenResponseDto;
 import com.dreamsportslabs.guardian.registry.Registry;
 import com.dreamsportslabs.guardian.utils.Utils;
@@ -46,7 +44,6 @@ import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -56,8 +53,7 @@ public class OidcTokenService {
 
   private final ClientService clientService;
   private final OidcCodeService oidcCodeService;
-  private final ClientScopeService clientScopeService;
-  private final ScopeService scopeService;
+  private final ScopeCatalogCache scopeCatalogCache;
   private final UserService userService;
   private final TokenIssuer tokenIssuer;
   private final RefreshTokenDao refreshTokenDao;
@@ -107,11 +103,6 @@ public class OidcTokenService {
               return clientId;
             })
         .flatMap(clientId -> validateCode(requestDto, tenantId))
-        .flatMap(
-            oidcCodeModel ->
-                oidcCodeService
-                    .deleteOidcCode(requestDto.getCode(), tenantId)
-                    .toSingleDefault(oidcCodeModel))
         .flatMap(
             oidcCodeModel ->
                 userService
@@ -220,9 +211,10 @@ public class OidcTokenService {
         .onErrorResumeNext(err -> Single.error(createInvalidClientError(tenantId)));
   }
 
+  /** Consumes the code before validating it, so that a failed attempt also uses it up. */
   private Single<OidcCodeModel> validateCode(TokenRequestDto requestDto, String tenantId) {
     return oidcCodeService
-        .getOidcCode(requestDto.getCode(), tenantId)
+        .consumeOidcCode(requestDto.getCode(), tenantId)
         .filter(oidcCodeModel -> oidcCodeModel.getClientId().equals(requestDto.getClientId()))
         .switchIfEmpty(Single.error(INVALID_GRANT.getJsonCustomException("code is invalid")))
         .filter(oidcCodeModel -> oidcCodeModel.getRedirectUri().equals(requestDto.getRedirectUri()))
@@ -252,17 +244,9 @@ public class OidcTokenService {
   }
 
   private Single<String> getAllowedScopes(String clientId, String tenantId, String requestScopes) {
-    return clientScopeService
-        .getClientScopes(clientId, tenantId)
-        .map(
-            clientScopeModels -> {
-              String allowedScopes =
-                  clientScopeModels.stream()
-                      .map(ClientScopeModel::getScope)
-                      .collect(Collectors.joining(" "));
-
-              return getValidScopes(allowedScopes, requestScopes);
-            });
+    return scopeCatalogCache
+        .getClientScopes(tenantId, clientId)
+        .map(clientScopes -> getValidScopes(String.join(" ", clientScopes), requestScopes));
   }
 
   private String getValidScopes(String allowedScopes, String requestedScopes) {
@@ -287,44 +271,35 @@ public class OidcTokenService {
     TokenConfig tokenConfig = tenantConfig.getTokenConfig();
     String refreshToken = tokenIssuer.generateRefreshToken();
     generateOidcTokenDto.getUserResponse().put(USERID, generateOidcTokenDto.getUserId());
-    return scopeService
-        .getScopes(
-            generateOidcTokenDto.getTenantId(), createScopeRequest(generateOidcTokenDto.getScope()))
-        .map(
-            scopeModels ->
-                scopeModels.stream().map(ScopeModel::getClaims).flatMap(List::stream).toList())
+    return scopeCatalogCache
+        .getClaims(
+            generateOidcTokenDto.getTenantId(), getScopeNames(generateOidcTokenDto.getScope()))
         .flatMap(
             claims ->
-                Single.zip(
-                    tokenIssuer.generateAccessToken(
+                tokenIssuer
+                    .generateAccessAndIdToken(
                         refreshToken,
                         generateOidcTokenDto.getIat(),
+                        generateOidcTokenDto.getNonce(),
                         generateOidcTokenDto.getScope(),
                         generateOidcTokenDto.getUserResponse(),
                         generateOidcTokenDto.getAuthMethods(),
-                        generateOidcTokenDto.getClientId(),
-                        tenantConfig.getTenantId(),
-                        tenantConfig),
-                    tokenIssuer.generateIdToken(
-                        generateOidcTokenDto.getIat(),
-                        generateOidcTokenDto.getNonce(),
-                        generateOidcTokenDto.getUserResponse(),
                         claims,
                         generateOidcTokenDto.getClientId(),
-                        generateOidcTokenDto.getTenantId()),
-                    (accessToken, idToken) ->
-                        buildTokenResponse(
-                            accessToken,
-                            idToken,
-                            refreshToken,
-                            tokenConfig.getAccessTokenExpiry(),
-                            String.join(" ", generateOidcTokenDto.getScope()))));
+                        tenantConfig.getTenantId(),
+                        tenantConfig)
+                    .map(
+                        tokens ->
+                            buildTokenResponse(
+                                tokens.getLeft(),
+                                tokens.getRight(),
+                                refreshToken,
+                                tokenConfig.getAccessTokenExpiry(),
+                                String.join(" ", generateOidcTokenDto.getScope()))));
   }
 
-  private GetScopeRequestDto createScopeRequest(String scope) {
-    GetScopeRequestDto scopeRequest = new GetScopeRequestDto();
-    scopeRequest.setNames(Arrays.asList(scope.trim().split("\\s+")));
-    return scopeRequest;
+  private List<String> getScopeNames(String scope) {
+    return Arrays.asList(scope.trim().split("\\s+"));
   }
 
   private OidcTokenResponseDto buildTokenResponse(
@@ -18,12 +18,17 @@ import com.dreamsportslabs.guardian.config.tenant.TenantConfig;
 import com.dreamsportslabs.guardian.constant.Channel;
 import com.dreamsportslabs.guardian.constant.Contact;
 import com.dreamsportslabs.guardian.registry.Registry;
+import com.dreamsportslabs.guardian.service.impl.otp.OtpDeliveryQueue;
 import com.dreamsportslabs.guardian.utils.Utils;
 import com.google.inject.Inject;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Single;
 import io.vertx.core.json.JsonObject;
+import io.vertx.rxjava3.core.MultiMap;
 import io.vertx.rxjava3.ext.web.client.WebClient;
+import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.MultivaluedMap;
 import java.util.ArrayList;
 import java.util.List;
@@ -35,28 +40,67 @@ import lombok.extern.slf4j.Slf4j;
 public class OtpService {
   private final WebClient webClient;
   private final Registry registry;
+  private final OtpDeliveryQueue deliveryQueue;
+  private final MeterRegistry meterRegistry;
 
+  /**
+   * Sends the otp to every contact. When the delivery queue is enabled, the messages are only
+   * enqueued and gateway errors are not reported back to the caller. Queued messages that are not
+   * sent before the otp expires, given as unix seconds, are dropped.
+   */
   public Completable sendOtp(
-      List<Contact> contacts, String otp, MultivaluedMap<String, String> headers, String tenantId) {
+      List<Contact> contacts,
+      String otp,
+      Long otpExpiry,
+      MultivaluedMap<String, String> headers,
+      String tenantId) {
+    MultiMap forwardingHeaders = Utils.getForwardingHeaders(headers);
     List<Completable> completables = new ArrayList<>();
     for (Contact contact : contacts) {
       contact.getTemplate().getParams().put(MESSAGE_TEMPLATE_PARAMS_OTP, otp);
-      if (contact.getChannel().equals(Channel.EMAIL)) {
-        completables.add(sendOtpViaEmail(contact, headers, tenantId));
+      if (deliveryQueue.isEnabled()) {
+        completables.add(deliveryQueue.enqueue(tenantId, contact, forwardingHeaders, otpExpiry));
       } else {
-        completables.add(sendOtpViaSms(contact, headers, tenantId));
+        completables.add(send(contact, forwardingHeaders, tenantId));
       }
     }
     return Completable.merge(completables);
   }
 
-  public Completable sendOtpViaSms(
-      Contact contact, MultivaluedMap<String, String> headers, String tenantId) {
+  public Completable send(Contact contact, MultiMap forwardingHeaders, String tenantId) {
+    return Completable.defer(
+        () -> {
+          Timer.Sample sample = Timer.start(meterRegistry);
+          Completable send =
+              contact.getChannel().equals(Channel.EMAIL)
+                  ? sendOtpViaEmail(contact, forwardingHeaders, tenantId)
+                  : sendOtpViaSms(contact, forwardingHeaders, tenantId);
+          return send.doOnComplete(() -> recordGatewayLatency(sample, contact, "success"))
+              .doOnError(err -> recordGatewayLatency(sample, contact, gatewayResult(err)));
+        });
+  }
+
+  private static String gatewayResult(Throwable err) {
+    return err instanceof WebApplicationException e && e.getResponse().getStatus() / 100 == 4
+        ? "client_error"
+        : "error";
+  }
+
+  private void recordGatewayLatency(Timer.Sample sample, Contact contact, String result) {
+    sample.stop(
+        Timer.builder("guardian.otp.gateway.latency")
+            .tag("channel", contact.getChannel().getName())
+            .tag("result", result)
+            .description("Time taken by the SMS and email gateways to accept an OTP")
+            .register(meterRegistry));
+  }
+
+  private Completable sendOtpViaSms(Contact contact, MultiMap forwardingHeaders, String tenantId) {
     SmsConfig config = registry.get(tenantId, TenantConfig.class).getSmsConfig();
     return webClient
         .post(config.getPort(), config.getHost(), config.getSendSmsPath())
         .ssl(config.isSslEnabled())
-        .putHeaders(Utils.getForwardingHeaders(headers))
+        .putHeaders(forwardingHeaders)
         .rxSendJson(
             new JsonObject()
                 .put(MESSAGE_CHANNEL, contact.getChannel().getName())
@@ -86,13 +130,13 @@ public class OtpService {
         .ignoreElement();
   }
 
-  public Completable sendOtpViaEmail(
-      Contact contact, MultivaluedMap<String, String> headers, String tenantId) {
+  private Completable sendOtpViaEmail(
+      Contact contact, MultiMap forwardingHeaders, String tenantId) {
     EmailConfig config = registry.get(tenantId, TenantConfig.class).getEmailConfig();
     return webClient
         .post(config.getPort(), config.getHost(), config.getSendEmailPath())
         .ssl(config.isSslEnabled())
-        .putHeaders(Utils.getForwardingHeaders(headers))
+        .putHeaders(forwardingHeaders)
         .rxSendJson(
             new JsonObject()
                 .put(MESSAGE_CHANNEL, contact.getChannel().getName())
@@ -24,6 +24,7 @@ import com.dreamsportslabs.guardian.constant.Channel;
 import com.dreamsportslabs.guardian.constant.Contact;
 import com.dreamsportslabs.guardian.dao.PasswordlessDao;
 import com.dreamsportslabs.guardian.dao.UserFlowBlockDao;
+import com.dreamsportslabs.guardian.dao.codec.StateCodec;
 import com.dreamsportslabs.guardian.dao.model.PasswordlessModel;
 import com.dreamsportslabs.guardian.dao.model.UserFlowBlockModel;
 import com.dreamsportslabs.guardian.dto.PasswordlessContext;
@@ -36,6 +37,7 @@ import com.dreamsportslabs.guardian.utils.OtpUtils;
 import com.google.inject.Inject;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.functions.BiFunction;
 import io.vertx.core.json.JsonObject;
 import jakarta.ws.rs.core.MultivaluedHashMap;
 import jakarta.ws.rs.core.MultivaluedMap;
@@ -53,6 +55,7 @@ public class Passwordless {
   private final UserService userService;
   private final OtpService otpService;
   private final PasswordlessDao passwordlessDao;
+  private final StateCodec stateCodec;
   private final AuthorizationService authorizationService;
   private final Registry registry;
   private final UserFlowBlockService userFlowBlockService;
@@ -98,22 +101,49 @@ public class Passwordless {
       passwordlessModel = this.createPasswordlessModel(requestDto, headers, tenantId);
     }
 
-    return clientService
-        .validateFirstPartyClientAndClientScopes(
-            tenantId, requestDto.getClientId(), requestDto.getScopes())
-        .andThen(passwordlessModel)
-        .flatMap(model -> validateUserBlockStatus(model, tenantId))
-        .flatMap(model -> getGlobalResendCountAndCreateContext(model, tenantId))
+    // the client check and the model lookup are independent, as are the block check and the
+    // resend count read, so each pair runs concurrently
+    return zipInOrder(
+            clientService
+                .validateFirstPartyClientAndClientScopes(
+                    tenantId, requestDto.getClientId(), requestDto.getScopes())
+                .toSingleDefault(Boolean.TRUE),
+            passwordlessModel,
+            (valid, model) -> model)
+        .flatMap(model -> validateUserBlockStatusAndCreateContext(model, tenantId))
         .flatMap(context -> checkResendLimitsAndBlockUserIfNeeded(context, state, tenantId))
         .flatMap(model -> sendOtp(model, headers, tenantId))
-        .flatMap(model -> incrementGlobalResendCount(model, tenantId))
         .map(PasswordlessModel::updateResend)
-        .flatMap(model -> passwordlessDao.setPasswordlessModel(model, tenantId));
+        .flatMap(model -> saveAndIncrementGlobalResendCount(model, tenantId));
   }
 
-  private Single<PasswordlessModel> validateUserBlockStatus(
+  private Single<PasswordlessContext> validateUserBlockStatusAndCreateContext(
       PasswordlessModel model, String tenantId) {
-    return userFlowBlockService.isUserBlocked(model, tenantId).andThen(Single.just(model));
+    String userIdentifier = extractUserIdentifier(model);
+    return zipInOrder(
+        userFlowBlockService.isUserBlocked(model, tenantId).toSingleDefault(Boolean.TRUE),
+        passwordlessDao.getGlobalResendCount(tenantId, userIdentifier),
+        (notBlocked, globalCount) -> new PasswordlessContext(model, userIdentifier, globalCount));
+  }
+
+  /**
+   * Subscribes to both sources at once, like {@link Single#zip}, but waits for both and reports
+   * the error of {@code first} when both fail, so that errors do not depend on timing.
+   */
+  private static <A, B, R> Single<R> zipInOrder(
+      Single<A> first, Single<B> second, BiFunction<A, B, R> zipper) {
+    return Single.zip(
+        first.materialize(),
+        second.materialize(),
+        (a, b) -> {
+          if (a.isOnError()) {
+            throw a.getError();
+          }
+          if (b.isOnError()) {
+            throw b.getError();
+          }
+          return zipper.apply(a.getValue(), b.getValue());
+        });
   }
 
   private Single<PasswordlessModel> sendOtp(
@@ -122,7 +152,7 @@ public class Passwordless {
       return Single.just(model);
     }
     return otpService
-        .sendOtp(model.getContacts(), model.getOtp(), headers, tenantId)
+        .sendOtp(model.getContacts(), model.getOtp(), model.getExpiry(), headers, tenantId)
         .andThen(Single.just(model));
   }
 
@@ -168,8 +198,7 @@ public class Passwordless {
                 throw INVALID_CONTACT_FOR_SIGNUP.getException();
               }
               OtpConfig config = registry.get(tenantId, TenantConfig.class).getOtpConfig();
-              Map<String, String> h = new HashMap<>();
-              headers.forEach((key, val) -> h.put(key, val.get(0)));
+              Map<String, String> h = stateCodec.persistedHeaders(headers);
               return PasswordlessModel.builder()
                   .state(generateState())
                   .otp(generateOtp(config, dto.getContacts()))
@@ -287,21 +316,11 @@ public class Passwordless {
             });
   }
 
-  private Single<PasswordlessContext> getGlobalResendCountAndCreateContext(
+  private Single<PasswordlessModel> saveAndIncrementGlobalResendCount(
       PasswordlessModel model, String tenantId) {
-    String userIdentifier = extractUserIdentifier(model);
-    return passwordlessDao
-        .getGlobalResendCount(tenantId, userIdentifier)
-        .map(globalCount -> new PasswordlessContext(model, userIdentifier, globalCount));
-  }
-
-  private Single<PasswordlessModel> incrementGlobalResendCount(
-      PasswordlessModel model, String tenantId) {
-    String userIdentifier = extractUserIdentifier(model);
     OtpConfig otpConfig = registry.get(tenantId, TenantConfig.class).getOtpConfig();
-    return passwordlessDao
-        .incrementGlobalResendCount(tenantId, userIdentifier, otpConfig.getOtpSendWindowSeconds())
-        .andThen(Single.just(model));
+    return passwordlessDao.setPasswordlessModelAndIncrementGlobalResendCount(
+        model, tenantId, extractUserIdentifier(model), otpConfig.getOtpSendWindowSeconds());
   }
 
   private Single<PasswordlessModel> checkResendLimitsAndBlockUserIfNeeded(
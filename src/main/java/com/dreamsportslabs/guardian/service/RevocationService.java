@@ -1,16 +1,19 @@
 package com.dreamsportslabs.guardian.service;
 
+import static com.dreamsportslabs.guardian.constant.Constants.REVOCATIONS_BLOOM_FALSE_POSITIVE_RATE;
 import static com.dreamsportslabs.guardian.constant.Constants.REVOCATIONS_FLOOR_FACTOR;
-import static com.dreamsportslabs.guardian.constant.Constants.REVOCATIONS_KEY_SEPARATOR;
 
 import com.dreamsportslabs.guardian.cache.RevocationsCache;
 import com.dreamsportslabs.guardian.config.tenant.TenantConfig;
+import com.dreamsportslabs.guardian.constant.RevocationFormat;
 import com.dreamsportslabs.guardian.dto.request.RevocationRequestDto;
 import com.dreamsportslabs.guardian.dto.response.RevocationsResponseDto;
 import com.dreamsportslabs.guardian.registry.Registry;
+import com.dreamsportslabs.guardian.utils.RevocationEncodingUtils;
 import com.google.inject.Inject;
 import io.reactivex.rxjava3.core.Single;
 import java.util.ArrayList;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -20,32 +23,55 @@ public class RevocationService {
   private final RevocationsCache revocationsCache;
   private final Registry registry;
 
+  /**
+   * Returns the ids revoked in {@code [from, to)}. The returned {@code to} is the cursor for the
+   * next poll: passing it back as {@code from} yields only the revocations made since.
+   *
+   * <p>Revocations are scored with the time they happened but written without waiting, so {@code
+   * to} trails the current time by {@code REVOCATIONS_WRITE_DELAY}. A revocation written after a
+   * poll is then still ahead of that poll's cursor.
+   */
   public Single<RevocationsResponseDto> getRevocations(
       RevocationRequestDto requestDto, String tenantId) {
     TenantConfig config = registry.get(tenantId, TenantConfig.class);
 
     Integer accessTokenExpiry = config.getTokenConfig().getAccessTokenExpiry();
     requestDto.validate(accessTokenExpiry);
+    RevocationFormat format = requestDto.getRevocationFormat();
 
     Long fromEpoch = getFloorTimestamp(requestDto.getFromEpoch());
     Long toEpoch = getFloorTimestamp(requestDto.getToEpoch());
-    if (fromEpoch.equals(toEpoch)) {
+    if (fromEpoch >= toEpoch) {
       return Single.just(
-          new RevocationsResponseDto(new ArrayList<>(), fromEpoch, toEpoch, accessTokenExpiry));
+          buildResponse(format, new ArrayList<>(), fromEpoch, fromEpoch, accessTokenExpiry));
     }
     return revocationsCache
-        .getRevocationList(getRevocationKey(tenantId, fromEpoch, toEpoch))
+        .getRevocationList(tenantId, fromEpoch, toEpoch)
         .map(
             revocations ->
-                new RevocationsResponseDto(revocations, fromEpoch, toEpoch, accessTokenExpiry));
+                buildResponse(format, revocations, fromEpoch, toEpoch, accessTokenExpiry));
   }
 
-  private String getRevocationKey(String tenantId, Long fromTimestamp, Long toTimestamp) {
-    return tenantId
-        + REVOCATIONS_KEY_SEPARATOR
-        + fromTimestamp
-        + REVOCATIONS_KEY_SEPARATOR
-        + toTimestamp;
+  private RevocationsResponseDto buildResponse(
+      RevocationFormat format,
+      List<String> revocations,
+      Long fromEpoch,
+      Long toEpoch,
+      Integer accessTokenExpiry) {
+    RevocationsResponseDto.RevocationsResponseDtoBuilder builder =
+        RevocationsResponseDto.builder()
+            .format(format.getValue())
+            .from(fromEpoch)
+            .to(toEpoch)
+            .expiry(accessTokenExpiry);
+
+    switch (format) {
+      case PACKED -> builder.packed(RevocationEncodingUtils.pack(revocations));
+      case BLOOM -> builder.bloom(
+          RevocationEncodingUtils.bloom(revocations, REVOCATIONS_BLOOM_FALSE_POSITIVE_RATE));
+      default -> builder.revocations(revocations);
+    }
+    return builder.build();
   }
 
   private Long getFloorTimestamp(Long epochSeconds) {
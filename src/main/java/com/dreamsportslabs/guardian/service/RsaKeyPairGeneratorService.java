@@ -16,7 +16,7 @@ import lombok.extern.slf4j.Slf4j;
 public class RsaKeyPairGeneratorService {
 
   public RsaKeyResponseDto generateKey(GenerateRsaKeyRequestDto request) {
-    KeyPair keyPair = getRsaKeyPair(request.getKeySize());
+    KeyPair keyPair = request.isEcKey() ? getEcKeyPair() : getRsaKeyPair(request.getKeySize());
 
     JSONWebKey publicJsonWebKey = JSONWebKey.build(keyPair.publicKey);
     JSONWebKey privateJsonWebKey = JSONWebKey.build(keyPair.privateKey);
@@ -56,4 +56,9 @@ public class RsaKeyPairGeneratorService {
       }
     };
   }
+
+  private KeyPair getEcKeyPair() {
+    log.debug("Generating P-256 EC key pair");
+    return JWTUtils.generate256_ECKeyPair();
+  }
 }
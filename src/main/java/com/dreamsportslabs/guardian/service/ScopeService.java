@@ -3,6 +3,7 @@ package com.dreamsportslabs.guardian.service;
 import static com.dreamsportslabs.guardian.exception.ErrorEnum.INTERNAL_SERVER_ERROR;
 import static com.dreamsportslabs.guardian.exception.ErrorEnum.SCOPE_NOT_FOUND;
 
+import com.dreamsportslabs.guardian.cache.ScopeCatalogCache;
 import com.dreamsportslabs.guardian.dao.ScopeDao;
 import com.dreamsportslabs.guardian.dao.model.ScopeModel;
 import com.dreamsportslabs.guardian.dto.request.scope.CreateScopeRequestDto;
@@ -18,6 +19,7 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor(onConstructor = @__({@Inject}))
 public class ScopeService {
   private final ScopeDao scopeDao;
+  private final ScopeCatalogCache scopeCatalogCache;
 
   public Single<List<ScopeModel>> getScopes(
       String tenantId, GetScopeRequestDto getScopeRequestDto) {
@@ -28,7 +30,7 @@ public class ScopeService {
           (getScopeRequestDto.getPage() - 1) * getScopeRequestDto.getPageSize(),
           getScopeRequestDto.getPageSize());
     } else {
-      return scopeDao.getScopes(tenantId, getScopeRequestDto.getNames());
+      return scopeCatalogCache.getScopes(tenantId, getScopeRequestDto.getNames());
     }
   }
 
@@ -44,11 +46,20 @@ public class ScopeService {
             .isOidc(requestDto.getIsOidc())
             .build();
 
-    return scopeDao.saveScope(scopeModel);
+    return scopeDao
+        .saveScope(scopeModel)
+        .doOnSuccess(scope -> scopeCatalogCache.update(tenantId, c -> c.withScope(scope)));
   }
 
   public Single<Boolean> deleteScope(String tenantId, String name) {
-    return scopeDao.deleteScope(tenantId, name);
+    return scopeDao
+        .deleteScope(tenantId, name)
+        .doOnSuccess(
+            deleted -> {
+              if (deleted) {
+                scopeCatalogCache.update(tenantId, c -> c.withoutScope(name));
+              }
+            });
   }
 
   public Single<ScopeModel> updateScope(
@@ -69,7 +80,8 @@ public class ScopeService {
                           }
                           return buildUpdatedScopeModel(
                               scopeModels.get(0), requestDto, tenantId, name);
-                        }));
+                        }))
+        .doOnSuccess(scope -> scopeCatalogCache.update(tenantId, c -> c.withScope(scope)));
   }
 
   private ScopeModel buildUpdatedScopeModel(
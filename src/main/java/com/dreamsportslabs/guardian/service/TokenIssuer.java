@@ -23,27 +23,27 @@ import static com.dreamsportslabs.guardian.utils.Utils.shouldSetAccessTokenAddit
 import com.dreamsportslabs.guardian.config.tenant.TenantConfig;
 import com.dreamsportslabs.guardian.constant.AuthMethod;
 import com.dreamsportslabs.guardian.registry.Registry;
+import com.dreamsportslabs.guardian.service.impl.claims.AccessTokenClaims;
+import com.dreamsportslabs.guardian.service.impl.signers.TokenSigningExecutor;
 import com.google.inject.Inject;
-import com.jayway.jsonpath.DocumentContext;
-import com.jayway.jsonpath.JsonPath;
-import com.jayway.jsonpath.PathNotFoundException;
 import io.fusionauth.jwt.JWTEncoder;
+import io.fusionauth.jwt.Signer;
 import io.fusionauth.jwt.domain.JWT;
-import io.fusionauth.jwt.rsa.RSASigner;
 import io.reactivex.rxjava3.core.Single;
 import io.vertx.core.json.JsonObject;
-import io.vertx.rxjava3.core.Vertx;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 
 @Slf4j
 @RequiredArgsConstructor(onConstructor = @__({@Inject}))
 public class TokenIssuer {
-  private final Vertx vertx;
+  private final TokenSigningExecutor signingExecutor;
   private final JWTEncoder encoder = JWT.getEncoder();
   private final Registry registry;
 
@@ -54,6 +54,71 @@ public class TokenIssuer {
       List<String> idTokenClaims,
       String clientId,
       String tenantId) {
+    JWT jwt = buildIdToken(iat, nonce, user, idTokenClaims, clientId, tenantId);
+    return signToken(jwt, tenantId);
+  }
+
+  public Single<String> generateAccessToken(
+      String refreshToken,
+      long iat,
+      String scope,
+      JsonObject userResponse,
+      List<AuthMethod> authMethods,
+      String clientId,
+      String tenantId,
+      TenantConfig config) {
+    JWT jwt =
+        buildAccessToken(
+            refreshToken, iat, scope, userResponse, authMethods, clientId, tenantId, config);
+    return signToken(jwt, tenantId, getAccessTokenHeaders());
+  }
+
+  /**
+   * Generates the access token and id token issued together on login as a single signing task, so
+   * the pair costs one hop to the signing pool instead of two.
+   */
+  public Single<Pair<String, String>> generateAccessAndIdToken(
+      String refreshToken,
+      long iat,
+      String nonce,
+      String scope,
+      JsonObject user,
+      List<AuthMethod> authMethods,
+      List<String> idTokenClaims,
+      String clientId,
+      String tenantId,
+      TenantConfig config) {
+    JWT accessToken =
+        buildAccessToken(refreshToken, iat, scope, user, authMethods, clientId, tenantId, config);
+    JWT idToken = buildIdToken(iat, nonce, user, idTokenClaims, clientId, tenantId);
+    Map<String, String> accessTokenHeaders = getAccessTokenHeaders();
+
+    return signingExecutor
+        .submit(
+            () -> {
+              Signer signer = getSigner(tenantId);
+              return Pair.of(
+                  encode(accessToken, signer, accessTokenHeaders),
+                  encode(idToken, signer, Collections.emptyMap()));
+            })
+        .onErrorResumeNext(err -> Single.error(INTERNAL_SERVER_ERROR.getException(err)));
+  }
+
+  public String generateRefreshToken() {
+    return RandomStringUtils.randomAlphanumeric(32);
+  }
+
+  public String generateSsoToken() {
+    return RandomStringUtils.randomAlphanumeric(15);
+  }
+
+  private JWT buildIdToken(
+      long iat,
+      String nonce,
+      JsonObject user,
+      List<String> idTokenClaims,
+      String clientId,
+      String tenantId) {
     TenantConfig tenantConfig = registry.get(tenantId, TenantConfig.class);
     JWT jwt = new JWT();
 
@@ -71,10 +136,10 @@ public class TokenIssuer {
         jwt.addClaim(claim, value);
       }
     }
-    return signToken(jwt, tenantId);
+    return jwt;
   }
 
-  public Single<String> generateAccessToken(
+  private JWT buildAccessToken(
       String refreshToken,
       long iat,
       String scope,
@@ -96,21 +161,15 @@ public class TokenIssuer {
     jwt.addClaim(JWT_CLAIMS_SCOPE, scope);
     jwt.addClaim(JWT_CLAIMS_AMR, authMethods.stream().map(AuthMethod::getValue).toList());
     if (shouldSetAccessTokenAdditionalClaims(config)) {
-      addAdditionalClaimsFromJsonPath(
-          jwt, userResponse, config.getTokenConfig().getAccessTokenClaims());
+      registry.get(tenantId, AccessTokenClaims.class).addClaims(jwt, userResponse);
     }
+    return jwt;
+  }
 
+  private Map<String, String> getAccessTokenHeaders() {
     Map<String, String> tokenHeaders = new HashMap<>();
     tokenHeaders.put(JWT_HEADERS_TYP, TYP_JWT_ACCESS_TOKEN);
-    return signToken(jwt, tenantId, tokenHeaders);
-  }
-
-  public String generateRefreshToken() {
-    return RandomStringUtils.randomAlphanumeric(32);
-  }
-
-  public String generateSsoToken() {
-    return RandomStringUtils.randomAlphanumeric(15);
+    return tokenHeaders;
   }
 
   private Single<String> signToken(JWT jwt, String tenantId) {
@@ -118,65 +177,28 @@ public class TokenIssuer {
   }
 
   private Single<String> signToken(JWT jwt, String tenantId, Map<String, String> headers) {
-    return vertx
-        .rxExecuteBlocking(
-            future -> {
-              RSASigner signer = registry.get(tenantId, RSASigner.class);
-              future.complete(
-                  encoder.encode(
-                      jwt,
-                      signer,
-                      header -> {
-                        for (Map.Entry<String, String> entry : headers.entrySet()) {
-                          header.set(entry.getKey(), entry.getValue());
-                        }
-                        header.set(JWT_HEADERS_KID, signer.getKid());
-                      }));
-            },
-            false)
-        .switchIfEmpty(Single.error(INTERNAL_SERVER_ERROR.getException()))
-        .onErrorResumeNext(err -> Single.error(INTERNAL_SERVER_ERROR.getException(err)))
-        .map(String.class::cast);
+    return signingExecutor
+        .submit(() -> encode(jwt, getSigner(tenantId), headers))
+        .onErrorResumeNext(err -> Single.error(INTERNAL_SERVER_ERROR.getException(err)));
   }
 
-  private void addAdditionalClaimsFromJsonPath(
-      JWT jwt, JsonObject userResponse, List<String> claimPaths) {
-    if (claimPaths == null || claimPaths.isEmpty()) return;
-
-    DocumentContext jsonContext = JsonPath.parse(userResponse.encode());
-
-    for (String claimPath : claimPaths) {
-      String path = claimPath != null ? claimPath.trim() : "";
-      if (path.isEmpty()) continue;
-
-      try {
-        String jsonPathExpr = path.startsWith("$") ? path : "$." + path;
-        Object value = jsonContext.read(jsonPathExpr);
-
-        if (value instanceof List<?> list && !list.isEmpty()) {
-          value = list.get(0);
-        }
-
-        if (value != null) {
-          String claimName = extractClaimName(path);
-          jwt.addClaim(claimName, value);
-        }
-      } catch (PathNotFoundException e) {
-        log.debug("Path not found: {}", path);
-      } catch (Exception e) {
-        log.warn("Error reading path '{}': {}", path, e.getMessage());
-      }
+  private Signer getSigner(String tenantId) {
+    Signer signer = registry.get(tenantId, Signer.class);
+    if (signer == null) {
+      throw new IllegalStateException("No token signer registered for tenant " + tenantId);
     }
+    return signer;
   }
 
-  private String extractClaimName(String path) {
-    String cleanPath =
-        path.startsWith("$.") ? path.substring(2) : path.startsWith("$") ? path.substring(1) : path;
-
-    int lastDot = cleanPath.lastIndexOf('.');
-    String claimName = lastDot >= 0 ? cleanPath.substring(lastDot + 1) : cleanPath;
-
-    int bracketIndex = claimName.indexOf('[');
-    return bracketIndex > 0 ? claimName.substring(0, bracketIndex) : claimName;
+  private String encode(JWT jwt, Signer signer, Map<String, String> headers) {
+    return encoder.encode(
+        jwt,
+        signer,
+        header -> {
+          for (Map.Entry<String, String> entry : headers.entrySet()) {
+            header.set(entry.getKey(), entry.getValue());
+          }
+          header.set(JWT_HEADERS_KID, signer.getKid());
+        });
   }
 }
@@ -1,17 +1,17 @@
 package com.dreamsportslabs.guardian.service;
 
 import static com.dreamsportslabs.guardian.exception.OidcErrorEnum.INVALID_TOKEN;
-import static com.dreamsportslabs.guardian.utils.Utils.decodeJwtHeaders;
 
-import com.dreamsportslabs.guardian.config.tenant.RsaKey;
-import com.dreamsportslabs.guardian.config.tenant.TenantConfig;
+import com.dreamsportslabs.guardian.cache.AccessTokenCache;
 import com.dreamsportslabs.guardian.registry.Registry;
+import com.dreamsportslabs.guardian.service.impl.signers.VerifierTable;
+import com.dreamsportslabs.guardian.utils.JwtHeader;
 import com.google.inject.Inject;
 import io.fusionauth.jwt.InvalidJWTSignatureException;
 import io.fusionauth.jwt.JWTDecoder;
 import io.fusionauth.jwt.JWTExpiredException;
+import io.fusionauth.jwt.Verifier;
 import io.fusionauth.jwt.domain.JWT;
-import io.fusionauth.jwt.rsa.RSAVerifier;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,33 +21,38 @@ import org.apache.commons.lang3.StringUtils;
 @RequiredArgsConstructor(onConstructor = @__({@Inject}))
 public class TokenVerifier {
   private final Registry registry;
+  private final AccessTokenCache accessTokenCache;
   private final JWTDecoder decoder = JWT.getDecoder();
 
   public Map<String, Object> verifyAccessToken(String accessToken, String tenantId) {
+    JwtHeader jwtHeader;
+    try {
+      jwtHeader = JwtHeader.parse(accessToken);
+    } catch (Exception e) {
+      throw INVALID_TOKEN.getBearerAuthHeaderException();
+    }
 
-    Map<String, Object> jwtHeaders = decodeJwtHeaders(accessToken);
-
-    String kid = (String) jwtHeaders.get("kid");
+    String kid = jwtHeader.kid();
     if (StringUtils.isBlank(kid)) {
       throw INVALID_TOKEN.getBearerAuthHeaderException("Invalid token: missing kid in headers");
     }
 
-    String typ = (String) jwtHeaders.get("typ");
+    String typ = jwtHeader.typ();
     if (typ == null || !typ.equals("at+jwt")) {
       throw INVALID_TOKEN.getBearerAuthHeaderException("Invalid token type");
     }
 
-    TenantConfig tenantConfig = registry.get(tenantId, TenantConfig.class);
+    Verifier verifier = registry.get(tenantId, VerifierTable.class).get(kid);
+    if (verifier == null) {
+      throw new RuntimeException("No RSA key found");
+    }
 
-    RsaKey rsaKey =
-        tenantConfig.getTokenConfig().getRsaKeys().stream()
-            .filter(RsaKey -> kid.equals(RsaKey.getKid()))
-            .findFirst()
-            .orElseThrow(() -> new RuntimeException("No RSA key found"));
+    return accessTokenCache.get(tenantId, accessToken, () -> decode(accessToken, verifier));
+  }
 
+  private JWT decode(String accessToken, Verifier verifier) {
     try {
-      JWT jwt = decoder.decode(accessToken, RSAVerifier.newVerifier(rsaKey.getPublicKey()));
-      return jwt.getAllClaims();
+      return decoder.decode(accessToken, verifier);
     } catch (InvalidJWTSignatureException e) {
       throw INVALID_TOKEN.getBearerAuthHeaderException("Token Signature is invalid");
     } catch (JWTExpiredException e) {
@@ -0,0 +1,100 @@
+package com.dreamsportslabs.guardian.service.impl.claims;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.PathNotFoundException;
+import io.fusionauth.jwt.domain.JWT;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The {@code access_token_claims} of a tenant, compiled once when the tenant is registered. Each
+ * entry pairs the claim name with its compiled JsonPath, which is evaluated directly against the
+ * user response.
+ */
+@Slf4j
+public final class AccessTokenClaims {
+  private static final Configuration CONFIGURATION =
+      Configuration.builder().jsonProvider(new VertxJsonProvider()).build();
+
+  private final List<ClaimPath> claimPaths;
+
+  private AccessTokenClaims(List<ClaimPath> claimPaths) {
+    this.claimPaths = List.copyOf(claimPaths);
+  }
+
+  /** Compiles the paths, skipping blank ones and logging the ones that are not valid JsonPath. */
+  public static AccessTokenClaims compile(List<String> paths) {
+    List<ClaimPath> claimPaths = new ArrayList<>();
+    if (paths != null) {
+      for (String claimPath : paths) {
+        String path = claimPath != null ? claimPath.trim() : "";
+        if (path.isEmpty()) {
+          continue;
+        }
+        try {
+          String jsonPathExpr = path.startsWith("$") ? path : "$." + path;
+          claimPaths.add(new ClaimPath(extractClaimName(path), JsonPath.compile(jsonPathExpr)));
+        } catch (Exception e) {
+          log.warn("Ignoring invalid access token claim path '{}': {}", path, e.getMessage());
+        }
+      }
+    }
+    return new AccessTokenClaims(claimPaths);
+  }
+
+  public boolean isEmpty() {
+    return claimPaths.isEmpty();
+  }
+
+  /** Adds the value found at each path to the token. Missing paths are left out. */
+  public void addClaims(JWT jwt, JsonObject userResponse) {
+    for (ClaimPath claimPath : claimPaths) {
+      try {
+        Object value = toClaimValue(claimPath.path().read(userResponse, CONFIGURATION));
+
+        if (value instanceof List<?> list && !list.isEmpty()) {
+          value = toClaimValue(list.get(0));
+        }
+
+        if (value != null) {
+          jwt.addClaim(claimPath.claimName(), value);
+        }
+      } catch (PathNotFoundException e) {
+        log.debug("Path not found: {}", claimPath.path().getPath());
+      } catch (Exception e) {
+        log.warn("Error reading path '{}': {}", claimPath.path().getPath(), e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Converts Vert.x containers into plain maps and lists that the JWT encoder can serialize. Values
+   * decoded from an HTTP response already are, so this only copies programmatically built ones.
+   */
+  private static Object toClaimValue(Object value) {
+    if (value instanceof JsonObject jsonObject) {
+      return new JsonObject(jsonObject.encode()).getMap();
+    }
+    if (value instanceof JsonArray jsonArray) {
+      return new JsonArray(jsonArray.encode()).getList();
+    }
+    return value;
+  }
+
+  private static String extractClaimName(String path) {
+    String cleanPath =
+        path.startsWith("$.") ? path.substring(2) : path.startsWith("$") ? path.substring(1) : path;
+
+    int lastDot = cleanPath.lastIndexOf('.');
+    String claimName = lastDot >= 0 ? cleanPath.substring(lastDot + 1) : cleanPath;
+
+    int bracketIndex = claimName.indexOf('[');
+    return bracketIndex > 0 ? claimName.substring(0, bracketIndex) : claimName;
+  }
+
+  private record ClaimPath(String claimName, JsonPath path) {}
+}
@@ -0,0 +1,58 @@
+package com.dreamsportslabs.guardian.service.impl.claims;
+
+import com.jayway.jsonpath.spi.json.JsonSmartJsonProvider;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.util.Collection;
+
+/**
+ * Lets compiled {@link com.jayway.jsonpath.JsonPath} expressions walk Vert.x {@link JsonObject} and
+ * {@link JsonArray} trees in place, so documents do not need to be encoded and parsed again.
+ */
+class VertxJsonProvider extends JsonSmartJsonProvider {
+
+  @Override
+  public boolean isArray(Object obj) {
+    return super.isArray(unwrapContainer(obj));
+  }
+
+  @Override
+  public boolean isMap(Object obj) {
+    return super.isMap(unwrapContainer(obj));
+  }
+
+  @Override
+  public Object getArrayIndex(Object obj, int idx) {
+    return super.getArrayIndex(unwrapContainer(obj), idx);
+  }
+
+  @Override
+  public Object getMapValue(Object obj, String key) {
+    return super.getMapValue(unwrapContainer(obj), key);
+  }
+
+  @Override
+  public Collection<String> getPropertyKeys(Object obj) {
+    return super.getPropertyKeys(unwrapContainer(obj));
+  }
+
+  @Override
+  public int length(Object obj) {
+    return super.length(unwrapContainer(obj));
+  }
+
+  @Override
+  public Iterable<?> toIterable(Object obj) {
+    return super.toIterable(unwrapContainer(obj));
+  }
+
+  static Object unwrapContainer(Object obj) {
+    if (obj instanceof JsonObject jsonObject) {
+      return jsonObject.getMap();
+    }
+    if (obj instanceof JsonArray jsonArray) {
+      return jsonArray.getList();
+    }
+    return obj;
+  }
+}
@@ -0,0 +1,550 @@
+package com.dreamsportslabs.guardian.service.impl.otp;
+
+import static com.dreamsportslabs.guardian.exception.ErrorEnum.INTERNAL_SERVER_ERROR;
+
+import com.dreamsportslabs.guardian.cache.TenantCache;
+import com.dreamsportslabs.guardian.constant.Channel;
+import com.dreamsportslabs.guardian.constant.Contact;
+import com.dreamsportslabs.guardian.constant.Template;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Flowable;
+import io.vertx.core.json.JsonObject;
+import io.vertx.rxjava3.core.MultiMap;
+import io.vertx.rxjava3.core.Vertx;
+import io.vertx.rxjava3.redis.client.Command;
+import io.vertx.rxjava3.redis.client.Redis;
+import io.vertx.rxjava3.redis.client.RedisConnection;
+import io.vertx.rxjava3.redis.client.Request;
+import io.vertx.rxjava3.redis.client.Response;
+import jakarta.ws.rs.WebApplicationException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Delivers OTP messages off the request path. Jobs are appended to a Redis stream shared by every
+ * guardian node and read back through a consumer group, so each job is sent by exactly one node.
+ * Jobs are read in batches and sent with a concurrency limit per channel. Failed sends are retried
+ * with exponential backoff on timers, so that the next batch is read without waiting for them.
+ * Jobs that still fail, or that the gateway rejects as invalid, are recorded in a dead-letter list.
+ * Jobs whose otp expired before they could be sent are dropped. Entries left pending by a node that
+ * went away are claimed by the others, and the consumer group is recreated whenever the consumer
+ * reconnects, in case redis lost it.
+ *
+ * <p>Stream entries hold the otp and the contact until they are acknowledged, when they are
+ * deleted. Dead letters only keep what is needed to trace the failure, never the otp, the contact
+ * or the forwarded headers, and the list expires a week after the last failure.
+ */
+@Slf4j
+public class OtpDeliveryQueue {
+  public static final String STREAM = "guardian:otp_delivery";
+  public static final String DEAD_LETTER_LIST = "guardian:otp_delivery:dead";
+
+  private static final String GROUP = "guardian";
+  private static final String FIELD_JOB = "job";
+  private static final String JOB_TENANT_ID = "tenant_id";
+  private static final String JOB_CHANNEL = "channel";
+  private static final String JOB_TO = "to";
+  private static final String JOB_TEMPLATE_NAME = "template_name";
+  private static final String JOB_TEMPLATE_PARAMS = "template_params";
+  private static final String JOB_HEADERS = "headers";
+  private static final String JOB_ENQUEUED_AT = "enqueued_at";
+  private static final String JOB_EXPIRES_AT = "expires_at";
+  private static final String DEAD_LETTER_ID = "id";
+  private static final String DEAD_LETTER_ERROR = "error";
+  private static final String DEAD_LETTER_FAILED_AT = "failed_at";
+  private static final String BUSY_GROUP_ERROR = "BUSYGROUP";
+
+  private static final long READ_BLOCK_MS = 2000;
+  private static final long RECONNECT_DELAY_MS = 1000;
+  private static final long DEPTH_REFRESH_INTERVAL_MS = 5000;
+  private static final long RECLAIM_INTERVAL_MS = 30000;
+  private static final long RECLAIM_MIN_IDLE_MS = 60000;
+  private static final long DEAD_LETTER_MAX_LENGTH = 10000;
+  private static final long DEAD_LETTER_TTL_SECONDS = 7 * 24 * 60 * 60;
+
+  private final boolean enabled;
+  private final long maxLength;
+  private final int batchSize;
+  private final Map<Channel, Integer> concurrency = new EnumMap<>(Channel.class);
+  private final int maxAttempts;
+  private final long retryBackoffMs;
+  private final Vertx vertx;
+  private final Redis redisClient;
+  private final TenantCache tenantCache;
+  private final String consumerName = UUID.randomUUID().toString();
+  private final Map<Channel, Timer> lagTimers = new EnumMap<>(Channel.class);
+  private final AtomicLong depth = new AtomicLong();
+  private final AtomicBoolean reclaiming = new AtomicBoolean();
+  private final Counter sentCounter;
+  private final Counter retriedCounter;
+  private final Counter deadCounter;
+  private final Counter expiredCounter;
+  private Deliverer deliverer;
+  private volatile RedisConnection consumer;
+  private volatile boolean closed;
+
+  public OtpDeliveryQueue(
+      boolean enabled,
+      long maxLength,
+      int batchSize,
+      int smsConcurrency,
+      int emailConcurrency,
+      int maxAttempts,
+      long retryBackoffMs,
+      Vertx vertx,
+      Redis redisClient,
+      TenantCache tenantCache,
+      MeterRegistry meterRegistry) {
+    this.enabled = enabled;
+    this.maxLength = maxLength;
+    this.batchSize = batchSize;
+    this.concurrency.put(Channel.SMS, smsConcurrency);
+    this.concurrency.put(Channel.EMAIL, emailConcurrency);
+    this.maxAttempts = maxAttempts;
+    this.retryBackoffMs = retryBackoffMs;
+    this.vertx = vertx;
+    this.redisClient = redisClient;
+    this.tenantCache = tenantCache;
+
+    for (Channel channel : Channel.values()) {
+      lagTimers.put(
+          channel,
+          Timer.builder("guardian.otp.delivery.lag")
+              .tag("channel", channel.getName())
+              .description("Time from enqueueing an OTP to the gateway accepting it")
+              .publishPercentiles(0.5, 0.99)
+              .register(meterRegistry));
+    }
+    Gauge.builder("guardian.otp.delivery.queue.depth", depth, AtomicLong::get)
+        .description("OTP delivery jobs in the stream that are not yet acknowledged")
+        .register(meterRegistry);
+    this.sentCounter = deliveryCounter("sent", meterRegistry);
+    this.retriedCounter = deliveryCounter("retried", meterRegistry);
+    this.deadCounter = deliveryCounter("dead", meterRegistry);
+    this.expiredCounter = deliveryCounter("expired", meterRegistry);
+
+    log.info(
+        "OTP delivery queue enabled: {}, batch size {}, concurrency {}, max attempts {}",
+        enabled,
+        batchSize,
+        concurrency,
+        maxAttempts);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /** Starts consuming jobs, sending each through {@code deliverer}. Does nothing when disabled. */
+  public Completable start(Deliverer deliverer) {
+    if (!enabled) {
+      return Completable.complete();
+    }
+    this.deliverer = deliverer;
+    return createGroup()
+        .doOnComplete(
+            () -> {
+              connect();
+              vertx.setPeriodic(DEPTH_REFRESH_INTERVAL_MS, id -> refreshDepth());
+              vertx.setPeriodic(RECLAIM_INTERVAL_MS, id -> reclaim());
+            });
+  }
+
+  /** Enqueues one message, dropped if still unsent at {@code expiresAt} unix seconds. */
+  public Completable enqueue(String tenantId, Contact contact, MultiMap headers, Long expiresAt) {
+    JsonObject forwardingHeaders = new JsonObject();
+    headers.names().forEach(name -> forwardingHeaders.put(name, headers.get(name)));
+
+    JsonObject job =
+        new JsonObject()
+            .put(JOB_TENANT_ID, tenantId)
+            .put(JOB_CHANNEL, contact.getChannel().getName())
+            .put(JOB_TO, contact.getIdentifier())
+            .put(JOB_TEMPLATE_NAME, contact.getTemplate().getName())
+            .put(JOB_TEMPLATE_PARAMS, contact.getTemplate().getParams())
+            .put(JOB_HEADERS, forwardingHeaders)
+            .put(JOB_ENQUEUED_AT, System.currentTimeMillis())
+            .put(JOB_EXPIRES_AT, expiresAt);
+
+    return redisClient
+        .rxSend(
+            Request.cmd(Command.XADD)
+                .arg(STREAM)
+                .arg("MAXLEN")
+                .arg("~")
+                .arg(maxLength)
+                .arg("*")
+                .arg(FIELD_JOB)
+                .arg(job.encode()))
+        .ignoreElement()
+        .onErrorResumeNext(err -> Completable.error(INTERNAL_SERVER_ERROR.getException(err)));
+  }
+
+  public void close() {
+    this.closed = true;
+    RedisConnection connection = this.consumer;
+    if (connection != null) {
+      connection.close();
+    }
+  }
+
+  private Completable createGroup() {
+    return redisClient
+        .rxSend(
+            Request.cmd(Command.XGROUP)
+                .arg("CREATE")
+                .arg(STREAM)
+                .arg(GROUP)
+                .arg("$")
+                .arg("MKSTREAM"))
+        .ignoreElement()
+        .onErrorResumeNext(
+            err ->
+                err.getMessage() != null && err.getMessage().startsWith(BUSY_GROUP_ERROR)
+                    ? Completable.complete()
+                    : Completable.error(err));
+  }
+
+  /**
+   * Waits, recreates the group in case redis lost it to a flush or a failover without persistence,
+   * and connects again.
+   */
+  private void reconnect() {
+    vertx.setTimer(
+        RECONNECT_DELAY_MS,
+        id ->
+            createGroup()
+                .subscribe(
+                    this::connect,
+                    err -> {
+                      log.error("Failed to create OTP delivery consumer group", err);
+                      reconnect();
+                    }));
+  }
+
+  /** Reads on a dedicated connection, since a blocking read would hold up the shared client. */
+  private void connect() {
+    if (closed) {
+      return;
+    }
+    redisClient
+        .rxConnect()
+        .subscribe(
+            connection -> {
+              this.consumer = connection;
+              poll(connection);
+              log.info("OTP delivery consumer {} connected", consumerName);
+            },
+            err -> {
+              log.error("Failed to connect OTP delivery consumer", err);
+              reconnect();
+            });
+  }
+
+  private void poll(RedisConnection connection) {
+    if (closed) {
+      return;
+    }
+    connection
+        .rxSend(
+            Request.cmd(Command.XREADGROUP)
+                .arg("GROUP")
+                .arg(GROUP)
+                .arg(consumerName)
+                .arg("COUNT")
+                .arg(batchSize)
+                .arg("BLOCK")
+                .arg(READ_BLOCK_MS)
+                .arg("STREAMS")
+                .arg(STREAM)
+                .arg(">"))
+        .map(OtpDeliveryQueue::readEntries)
+        .flatMapCompletable(this::deliverBatch)
+        .subscribe(
+            () -> poll(connection),
+            err -> {
+              if (closed) {
+                return;
+              }
+              log.error("OTP delivery consumer failed, reconnecting", err);
+              connection.close();
+              reconnect();
+            });
+  }
+
+  /** Takes over jobs that another consumer read but never acknowledged. */
+  private void reclaim() {
+    if (closed || !reclaiming.compareAndSet(false, true)) {
+      return;
+    }
+    redisClient
+        .rxSend(
+            Request.cmd(Command.XAUTOCLAIM)
+                .arg(STREAM)
+                .arg(GROUP)
+                .arg(consumerName)
+                .arg(RECLAIM_MIN_IDLE_MS)
+                .arg("0-0")
+                .arg("COUNT")
+                .arg(batchSize))
+        .map(reply -> reply.size() > 1 ? entries(reply.get(1)) : List.<Entry>of())
+        .flatMapCompletable(this::deliverBatch)
+        .doFinally(() -> reclaiming.set(false))
+        .subscribe(() -> {}, err -> log.error("Failed to reclaim OTP delivery jobs", err));
+  }
+
+  private void refreshDepth() {
+    redisClient
+        .rxSend(Request.cmd(Command.XLEN).arg(STREAM))
+        .subscribe(
+            reply -> depth.set(reply.toLong()),
+            err -> log.error("Failed to read OTP delivery queue depth", err));
+  }
+
+  /**
+   * Makes the first attempt for every job of a batch, with at most the configured number of gateway
+   * calls in flight per channel, then acknowledges and deletes the jobs that are done in one go.
+   * Jobs that failed with a retryable error stay pending and are acknowledged by their retry.
+   */
+  private Completable deliverBatch(List<Entry> entries) {
+    if (entries.isEmpty()) {
+      return Completable.complete();
+    }
+
+    Queue<String> done = new ConcurrentLinkedQueue<>();
+    List<Completable> deliveries = new ArrayList<>();
+    List<Job> jobs = new ArrayList<>();
+    for (Entry entry : entries) {
+      try {
+        jobs.add(Job.from(entry));
+      } catch (Exception e) {
+        deliveries.add(
+            deadLetter(new JsonObject().put(DEAD_LETTER_ID, entry.id()), e)
+                .doOnComplete(() -> done.add(entry.id())));
+      }
+    }
+
+    jobs.stream()
+        .collect(Collectors.groupingBy(job -> job.contact().getChannel()))
+        .forEach(
+            (channel, channelJobs) ->
+                deliveries.add(
+                    Flowable.fromIterable(channelJobs)
+                        .flatMapCompletable(
+                            job -> deliver(job, 1, done), false, concurrency.get(channel))));
+
+    return Completable.merge(deliveries)
+        .andThen(Completable.defer(() -> acknowledge(List.copyOf(done))));
+  }
+
+  /**
+   * Makes one attempt, adding the job to {@code done} when it is sent, dropped or dead-lettered,
+   * and scheduling the next attempt otherwise. Never fails.
+   */
+  private Completable deliver(Job job, int attempt, Queue<String> done) {
+    if (job.isExpired()) {
+      expiredCounter.increment();
+      log.info("Dropping OTP delivery job {} as its otp expired", job.id());
+      done.add(job.id());
+      return Completable.complete();
+    }
+    return tenantCache
+        .getTenantConfig(job.tenantId())
+        .ignoreElement()
+        .andThen(
+            Completable.defer(
+                () -> deliverer.deliver(job.contact(), job.headers(), job.tenantId())))
+        .doOnComplete(
+            () -> {
+              lagTimers
+                  .get(job.contact().getChannel())
+                  .record(System.currentTimeMillis() - job.enqueuedAt(), TimeUnit.MILLISECONDS);
+              sentCounter.increment();
+              done.add(job.id());
+            })
+        .onErrorResumeNext(
+            err -> {
+              if (attempt >= maxAttempts || !isRetryable(err)) {
+                return deadLetter(job.toDeadLetter(), err).doOnComplete(() -> done.add(job.id()));
+              }
+              retriedCounter.increment();
+              scheduleRetry(job, attempt + 1);
+              return Completable.complete();
+            });
+  }
+
+  private void scheduleRetry(Job job, int attempt) {
+    vertx.setTimer(
+        retryBackoffMs << (attempt - 2),
+        id -> {
+          if (closed) {
+            // left pending, so that another node claims it
+            return;
+          }
+          Queue<String> done = new ConcurrentLinkedQueue<>();
+          deliver(job, attempt, done)
+              .andThen(Completable.defer(() -> acknowledge(List.copyOf(done))))
+              .subscribe(
+                  () -> {},
+                  err -> log.error("Failed to acknowledge OTP delivery job {}", job.id(), err));
+        });
+  }
+
+  /** A gateway that rejects the message as invalid will not accept it on a retry either. */
+  private static boolean isRetryable(Throwable err) {
+    return !(err instanceof WebApplicationException e
+        && e.getResponse().getStatus() / 100 == 4);
+  }
+
+  private Completable deadLetter(JsonObject deadLetter, Throwable err) {
+    String id = deadLetter.getString(DEAD_LETTER_ID);
+    deadCounter.increment();
+    log.error("Moving OTP delivery job {} to {}", id, DEAD_LETTER_LIST, err);
+
+    deadLetter
+        .put(DEAD_LETTER_ERROR, String.valueOf(err.getMessage()))
+        .put(DEAD_LETTER_FAILED_AT, System.currentTimeMillis());
+    return redisClient
+        .rxBatch(
+            List.of(
+                Request.cmd(Command.LPUSH).arg(DEAD_LETTER_LIST).arg(deadLetter.encode()),
+                Request.cmd(Command.LTRIM)
+                    .arg(DEAD_LETTER_LIST)
+                    .arg(0)
+                    .arg(DEAD_LETTER_MAX_LENGTH - 1),
+                Request.cmd(Command.EXPIRE).arg(DEAD_LETTER_LIST).arg(DEAD_LETTER_TTL_SECONDS)))
+        .ignoreElement()
+        .doOnError(e -> log.error("Failed to dead-letter OTP delivery job {}", id, e))
+        .onErrorComplete();
+  }
+
+  private Completable acknowledge(List<String> ids) {
+    if (ids.isEmpty()) {
+      return Completable.complete();
+    }
+    Request ack = Request.cmd(Command.XACK).arg(STREAM).arg(GROUP);
+    Request delete = Request.cmd(Command.XDEL).arg(STREAM);
+    for (String id : ids) {
+      ack.arg(id);
+      delete.arg(id);
+    }
+    return redisClient.rxBatch(List.of(ack, delete)).ignoreElement();
+  }
+
+  /**
+   * XREADGROUP replies with a map of stream to entries over RESP3 and with a list of stream and
+   * entries pairs over RESP2. Only one stream is read, so either way there is one list of entries.
+   */
+  private static List<Entry> readEntries(Response reply) {
+    if (reply.isMap()) {
+      return entries(reply.get(STREAM));
+    }
+    return reply.size() == 0 ? List.of() : entries(reply.get(0).get(1));
+  }
+
+  private static List<Entry> entries(Response entries) {
+    if (entries == null) {
+      return List.of();
+    }
+
+    List<Entry> result = new ArrayList<>(entries.size());
+    for (Response entry : entries) {
+      if (entry == null) {
+        continue;
+      }
+      // an entry that was deleted while pending comes back without its fields
+      Response fields = entry.get(1);
+      String payload = null;
+      for (int i = 0; fields != null && i + 1 < fields.size(); i += 2) {
+        if (FIELD_JOB.equals(fields.get(i).toString())) {
+          payload = fields.get(i + 1).toString();
+        }
+      }
+      result.add(new Entry(entry.get(0).toString(), payload));
+    }
+    return result;
+  }
+
+  private static Counter deliveryCounter(String result, MeterRegistry meterRegistry) {
+    return Counter.builder("guardian.otp.delivery")
+        .tag("result", result)
+        .description("OTP delivery jobs by outcome")
+        .register(meterRegistry);
+  }
+
+  /** Sends one OTP message through the tenant's gateway for the contact's channel. */
+  @FunctionalInterface
+  public interface Deliverer {
+    Completable deliver(Contact contact, MultiMap headers, String tenantId);
+  }
+
+  private record Entry(String id, String payload) {}
+
+  private record Job(
+      String id,
+      String tenantId,
+      Contact contact,
+      MultiMap headers,
+      long enqueuedAt,
+      Long expiresAt) {
+
+    static Job from(Entry entry) {
+      JsonObject job = new JsonObject(entry.payload());
+
+      Channel channel = Channel.fromValue(job.getString(JOB_CHANNEL));
+      if (channel == null) {
+        throw new IllegalArgumentException("Unknown channel " + job.getString(JOB_CHANNEL));
+      }
+
+      Map<String, String> params = new HashMap<>();
+      job.getJsonObject(JOB_TEMPLATE_PARAMS, new JsonObject())
+          .forEach(param -> params.put(param.getKey(), String.valueOf(param.getValue())));
+
+      Contact contact = new Contact();
+      contact.setChannel(channel);
+      contact.setIdentifier(job.getString(JOB_TO));
+      contact.setTemplate(new Template(job.getString(JOB_TEMPLATE_NAME), params));
+
+      MultiMap headers = MultiMap.caseInsensitiveMultiMap();
+      job.getJsonObject(JOB_HEADERS, new JsonObject())
+          .forEach(header -> headers.add(header.getKey(), String.valueOf(header.getValue())));
+
+      return new Job(
+          entry.id(),
+          job.getString(JOB_TENANT_ID),
+          contact,
+          headers,
+          job.getLong(JOB_ENQUEUED_AT),
+          job.getLong(JOB_EXPIRES_AT));
+    }
+
+    /** Jobs enqueued without an expiry never expire. */
+    boolean isExpired() {
+      return expiresAt != null && System.currentTimeMillis() >= expiresAt * 1000;
+    }
+
+    JsonObject toDeadLetter() {
+      return new JsonObject()
+          .put(DEAD_LETTER_ID, id)
+          .put(JOB_TENANT_ID, tenantId)
+          .put(JOB_CHANNEL, contact.getChannel().getName())
+          .put(JOB_TEMPLATE_NAME, contact.getTemplate().getName())
+          .put(JOB_ENQUEUED_AT, enqueuedAt);
+    }
+  }
+}
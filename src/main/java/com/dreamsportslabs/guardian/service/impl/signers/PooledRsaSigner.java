@@ -0,0 +1,87 @@
+package com.dreamsportslabs.guardian.service.impl.signers;
+
+import io.fusionauth.jwt.InvalidKeyLengthException;
+import io.fusionauth.jwt.JWTSigningException;
+import io.fusionauth.jwt.Signer;
+import io.fusionauth.jwt.domain.Algorithm;
+import io.fusionauth.pem.domain.PEM;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.interfaces.RSAPrivateKey;
+
+/**
+ * RSA signer that parses the private key once and keeps one initialised {@link Signature} per
+ * signing thread, so a sign call does not pay for the JCA provider lookup and key setup.
+ */
+public class PooledRsaSigner implements Signer {
+  private static final int MIN_KEY_LENGTH = 2048;
+
+  private final Algorithm algorithm;
+  private final String kid;
+  private final PrivateKey privateKey;
+  private final ThreadLocal<Signature> signatures;
+
+  private PooledRsaSigner(Algorithm algorithm, String privateKey, String kid) {
+    this.algorithm = algorithm;
+    this.kid = kid;
+    this.privateKey = PEM.decode(privateKey).getPrivateKey();
+
+    if (!(this.privateKey instanceof RSAPrivateKey rsaPrivateKey)) {
+      throw new IllegalArgumentException("The provided private key is not an RSA private key");
+    }
+    if (rsaPrivateKey.getModulus().bitLength() < MIN_KEY_LENGTH) {
+      throw new InvalidKeyLengthException(
+          "Key length of ["
+              + rsaPrivateKey.getModulus().bitLength()
+              + "] is less than the required ["
+              + MIN_KEY_LENGTH
+              + "]");
+    }
+
+    this.signatures = ThreadLocal.withInitial(this::newSignature);
+  }
+
+  public static PooledRsaSigner newSHA256Signer(String privateKey, String kid) {
+    return new PooledRsaSigner(Algorithm.RS256, privateKey, kid);
+  }
+
+  public static PooledRsaSigner newSHA512Signer(String privateKey, String kid) {
+    return new PooledRsaSigner(Algorithm.RS512, privateKey, kid);
+  }
+
+  @Override
+  public Algorithm getAlgorithm() {
+    return this.algorithm;
+  }
+
+  @Override
+  public String getKid() {
+    return this.kid;
+  }
+
+  @Override
+  public byte[] sign(String message) {
+    Signature signature = this.signatures.get();
+    try {
+      signature.update(message.getBytes(StandardCharsets.UTF_8));
+      return signature.sign();
+    } catch (GeneralSecurityException e) {
+      // Drop the instance, its state is undefined after a failed sign
+      this.signatures.remove();
+      throw new JWTSigningException(
+          "An unexpected exception occurred when attempting to sign the JWT", e);
+    }
+  }
+
+  private Signature newSignature() {
+    try {
+      Signature signature = Signature.getInstance(this.algorithm.getName());
+      signature.initSign(this.privateKey);
+      return signature;
+    } catch (GeneralSecurityException e) {
+      throw new JWTSigningException("Unable to initialise signature for the JWT", e);
+    }
+  }
+}
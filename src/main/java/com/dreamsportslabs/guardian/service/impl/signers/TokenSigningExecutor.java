@@ -0,0 +1,113 @@
+package com.dreamsportslabs.guardian.service.impl.signers;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.reactivex.rxjava3.core.Single;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Dedicated, bounded pool for JWT signing. Keeps CPU bound RSA work off the vert.x worker pool
+ * and rejects new work once the queue is full instead of letting latency grow unbounded. Results
+ * are delivered back on the vert.x context of the caller.
+ */
+@Slf4j
+public class TokenSigningExecutor {
+  private static final String THREAD_NAME_PREFIX = "token-signer-";
+
+  private final ThreadPoolExecutor executor;
+  private final Timer queueWaitTimer;
+  private final Timer signTimer;
+  private final Counter rejectedCounter;
+
+  public TokenSigningExecutor(int poolSize, int queueSize, MeterRegistry meterRegistry) {
+    this.executor =
+        new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueSize),
+            getThreadFactory(),
+            new ThreadPoolExecutor.AbortPolicy());
+    this.executor.prestartAllCoreThreads();
+
+    Gauge.builder("guardian.token.signing.queue.depth", executor, e -> e.getQueue().size())
+        .description("Signing tasks waiting for a signer thread")
+        .register(meterRegistry);
+    Gauge.builder("guardian.token.signing.active", executor, ThreadPoolExecutor::getActiveCount)
+        .description("Signer threads currently signing")
+        .register(meterRegistry);
+    this.queueWaitTimer =
+        Timer.builder("guardian.token.signing.queue.wait")
+            .description("Time a signing task spent in the queue")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+    this.signTimer =
+        Timer.builder("guardian.token.signing.latency")
+            .description("Time taken to sign a batch of tokens")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+    this.rejectedCounter =
+        Counter.builder("guardian.token.signing.rejected")
+            .description("Signing tasks rejected because the queue was full")
+            .register(meterRegistry);
+
+    log.info("Token signing executor started with {} threads, queue size {}", poolSize, queueSize);
+  }
+
+  public <T> Single<T> submit(Callable<T> task) {
+    return Single.create(
+        emitter -> {
+          Context context = Vertx.currentContext();
+          long enqueuedAt = System.nanoTime();
+          try {
+            executor.execute(
+                () -> {
+                  queueWaitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                  try {
+                    T result = signTimer.recordCallable(task);
+                    runOnContext(context, () -> emitter.onSuccess(result));
+                  } catch (Throwable err) {
+                    runOnContext(context, () -> emitter.onError(err));
+                  }
+                });
+          } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("Token signing queue is full, rejecting signing request");
+            emitter.onError(e);
+          }
+        });
+  }
+
+  public void close() {
+    executor.shutdown();
+  }
+
+  private static void runOnContext(Context context, Runnable runnable) {
+    if (context == null) {
+      runnable.run();
+    } else {
+      context.runOnContext(v -> runnable.run());
+    }
+  }
+
+  private static ThreadFactory getThreadFactory() {
+    AtomicInteger count = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + count.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+}
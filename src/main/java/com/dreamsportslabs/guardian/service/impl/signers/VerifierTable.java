@@ -0,0 +1,44 @@
+package com.dreamsportslabs.guardian.service.impl.signers;
+
+import com.dreamsportslabs.guardian.config.tenant.RsaKey;
+import io.fusionauth.jwt.Verifier;
+import io.fusionauth.jwt.ec.ECVerifier;
+import io.fusionauth.jwt.rsa.RSAVerifier;
+import io.fusionauth.pem.domain.PEM;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Verifiers for every key of a tenant, keyed by kid. Built once when the tenant is registered so
+ * that verifying a token does not decode PEM keys again.
+ */
+public final class VerifierTable {
+  private final Map<String, Verifier> verifiers;
+
+  private VerifierTable(Map<String, Verifier> verifiers) {
+    this.verifiers = Map.copyOf(verifiers);
+  }
+
+  public static VerifierTable of(List<RsaKey> keys) {
+    Map<String, Verifier> verifiers = new HashMap<>();
+    for (RsaKey key : keys) {
+      verifiers.put(key.getKid(), newVerifier(PEM.decode(key.getPublicKey()).getPublicKey()));
+    }
+    return new VerifierTable(verifiers);
+  }
+
+  /** Returns the verifier for the kid, or null when the tenant has no such key. */
+  public Verifier get(String kid) {
+    return verifiers.get(kid);
+  }
+
+  private static Verifier newVerifier(PublicKey publicKey) {
+    if (publicKey instanceof ECPublicKey) {
+      return ECVerifier.newVerifier(publicKey);
+    }
+    return RSAVerifier.newVerifier(publicKey);
+  }
+}
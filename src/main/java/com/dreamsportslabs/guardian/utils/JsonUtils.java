@@ -2,6 +2,9 @@ package com.dreamsportslabs.guardian.utils;
 
 import static com.dreamsportslabs.guardian.exception.ErrorEnum.UNPROCESSABLE_ENTITIES;
 
+import com.dreamsportslabs.guardian.dao.mapper.RowColumns;
+import com.dreamsportslabs.guardian.dao.mapper.RowMapper;
+import com.dreamsportslabs.guardian.dao.mapper.RowMappers;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
@@ -56,6 +59,15 @@ public final class JsonUtils {
       return list;
     }
 
+    RowMapper<T> mapper = RowMappers.get(clazz);
+    if (mapper != null) {
+      RowColumns columns = new RowColumns(rows.columnsNames());
+      for (Row row : rows) {
+        list.add(mapper.map(row, columns));
+      }
+      return list;
+    }
+
     for (Row row : rows) {
       list.add(snakeCaseObjectMapper.readValue(row.toJson().toString(), clazz));
     }
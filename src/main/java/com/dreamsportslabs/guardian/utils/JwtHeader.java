@@ -0,0 +1,208 @@
+package com.dreamsportslabs.guardian.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * The {@code kid} and {@code typ} of a compact JWT, read straight from the base64url decoded header
+ * bytes. Other members are skipped without being bound, which keeps header inspection on the token
+ * verification path down to a single small allocation for the decoded bytes.
+ */
+public record JwtHeader(String kid, String typ) {
+  private static final String KID = "kid";
+  private static final String TYP = "typ";
+
+  /** Parses the header of the token, throwing {@link IllegalArgumentException} if malformed. */
+  public static JwtHeader parse(String token) {
+    int end = token.indexOf('.');
+    if (end <= 0) {
+      throw new IllegalArgumentException("Invalid JWT format");
+    }
+    byte[] json = Base64.getUrlDecoder().decode(token.substring(0, end));
+    return new Parser(json).parse();
+  }
+
+  private static final class Parser {
+    private final byte[] json;
+    private int pos;
+
+    Parser(byte[] json) {
+      this.json = json;
+    }
+
+    JwtHeader parse() {
+      String kid = null;
+      String typ = null;
+
+      expect('{');
+      if (peek() == '}') {
+        pos++;
+        return new JwtHeader(null, null);
+      }
+      while (true) {
+        expect('"');
+        boolean isKid = matchesKey(KID);
+        boolean isTyp = !isKid && matchesKey(TYP);
+        skipString();
+        expect(':');
+        if ((isKid || isTyp) && peek() == '"') {
+          pos++;
+          String value = readString();
+          if (isKid) {
+            kid = value;
+          } else {
+            typ = value;
+          }
+        } else {
+          skipValue();
+        }
+
+        byte next = next();
+        if (next == '}') {
+          return new JwtHeader(kid, typ);
+        }
+        if (next != ',') {
+          throw malformed();
+        }
+      }
+    }
+
+    /** Checks, without consuming it, whether the key starting at pos equals the ascii name. */
+    private boolean matchesKey(String name) {
+      int length = name.length();
+      if (pos + length >= json.length || json[pos + length] != '"') {
+        return false;
+      }
+      for (int i = 0; i < length; i++) {
+        if (json[pos + i] != name.charAt(i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private String readString() {
+      int start = pos;
+      while (pos < json.length && json[pos] != '"' && json[pos] != '\\') {
+        pos++;
+      }
+      if (pos < json.length && json[pos] == '"') {
+        return new String(json, start, pos++ - start, StandardCharsets.UTF_8);
+      }
+      pos = start;
+      return readEscapedString();
+    }
+
+    private String readEscapedString() {
+      StringBuilder value = new StringBuilder();
+      while (true) {
+        byte b = nextRaw();
+        if (b == '"') {
+          return value.toString();
+        }
+        if (b != '\\') {
+          int start = pos - 1;
+          while (pos < json.length && json[pos] != '"' && json[pos] != '\\') {
+            pos++;
+          }
+          value.append(new String(json, start, pos - start, StandardCharsets.UTF_8));
+          continue;
+        }
+        byte escaped = nextRaw();
+        switch (escaped) {
+          case '"', '\\', '/' -> value.append((char) escaped);
+          case 'b' -> value.append('\b');
+          case 'f' -> value.append('\f');
+          case 'n' -> value.append('\n');
+          case 'r' -> value.append('\r');
+          case 't' -> value.append('\t');
+          case 'u' -> {
+            if (pos + 4 > json.length) {
+              throw malformed();
+            }
+            String hex = new String(json, pos, 4, StandardCharsets.US_ASCII);
+            value.append((char) Integer.parseInt(hex, 16));
+            pos += 4;
+          }
+          default -> throw malformed();
+        }
+      }
+    }
+
+    private void skipString() {
+      while (true) {
+        byte b = nextRaw();
+        if (b == '"') {
+          return;
+        }
+        if (b == '\\') {
+          nextRaw();
+        }
+      }
+    }
+
+    /** Skips a value of any type, including nested objects and arrays such as {@code crit}. */
+    private void skipValue() {
+      byte b = next();
+      if (b == '"') {
+        skipString();
+        return;
+      }
+      if (b != '{' && b != '[') {
+        while (pos < json.length && ",}] \t\r\n".indexOf(json[pos]) < 0) {
+          pos++;
+        }
+        return;
+      }
+      int depth = 1;
+      while (depth > 0) {
+        byte c = nextRaw();
+        if (c == '"') {
+          skipString();
+        } else if (c == '{' || c == '[') {
+          depth++;
+        } else if (c == '}' || c == ']') {
+          depth--;
+        }
+      }
+    }
+
+    private void expect(char expected) {
+      if (next() != expected) {
+        throw malformed();
+      }
+    }
+
+    private byte peek() {
+      skipWhitespace();
+      if (pos >= json.length) {
+        throw malformed();
+      }
+      return json[pos];
+    }
+
+    private byte next() {
+      byte b = peek();
+      pos++;
+      return b;
+    }
+
+    private byte nextRaw() {
+      if (pos >= json.length) {
+        throw malformed();
+      }
+      return json[pos++];
+    }
+
+    private void skipWhitespace() {
+      while (pos < json.length
+          && (json[pos] == ' ' || json[pos] == '\t' || json[pos] == '\r' || json[pos] == '\n')) {
+        pos++;
+      }
+    }
+
+    private static IllegalArgumentException malformed() {
+      return new IllegalArgumentException("Invalid JWT header");
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package com.dreamsportslabs.guardian.utils;
+
+import com.dreamsportslabs.guardian.dto.response.RevocationBloomFilterDto;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.List;
+import lombok.SneakyThrows;
+import org.apache.commons.codec.binary.Hex;
+
+/**
+ * Compact encodings of a revocation list. Revoked ids are MD5 digests in hex, so each one packs
+ * into {@link #DIGEST_LENGTH} bytes.
+ */
+public final class RevocationEncodingUtils {
+  public static final int DIGEST_LENGTH = 16;
+
+  private static final int MIN_BLOOM_BITS = 64;
+  private static final double LN_2 = Math.log(2);
+
+  private RevocationEncodingUtils() {
+    throw new UnsupportedOperationException("Utility class cannot be instantiated");
+  }
+
+  /** Concatenates the raw digests of the revoked ids and returns them base64 encoded. */
+  public static String pack(List<String> rftIds) {
+    ByteBuffer buffer = ByteBuffer.allocate(rftIds.size() * DIGEST_LENGTH);
+    for (String rftId : rftIds) {
+      buffer.put(toDigest(rftId));
+    }
+    return Base64.getEncoder().encodeToString(buffer.array());
+  }
+
+  /**
+   * Builds a Bloom filter of the revoked ids sized for the given false positive rate. Bit {@code
+   * i} of the filter is bit {@code i % 8} of byte {@code i / 8}. For a digest whose first and last
+   * 8 bytes read as big-endian longs {@code h1} and {@code h2}, the set bits are {@code
+   * floorMod(h1 + j * h2, numBits)} for {@code j} in {@code [0, numHashes)}.
+   */
+  public static RevocationBloomFilterDto bloom(List<String> rftIds, double falsePositiveRate) {
+    int numBits = getBloomBits(rftIds.size(), falsePositiveRate);
+    int numHashes = getBloomHashes(rftIds.size(), numBits);
+    byte[] bits = new byte[numBits / Byte.SIZE];
+
+    for (String rftId : rftIds) {
+      ByteBuffer digest = ByteBuffer.wrap(toDigest(rftId));
+      long h1 = digest.getLong();
+      long h2 = digest.getLong();
+      for (int j = 0; j < numHashes; j++) {
+        int index = (int) Math.floorMod(h1 + j * h2, (long) numBits);
+        bits[index / Byte.SIZE] |= (byte) (1 << (index % Byte.SIZE));
+      }
+    }
+
+    return new RevocationBloomFilterDto(
+        Base64.getEncoder().encodeToString(bits), numBits, numHashes, falsePositiveRate);
+  }
+
+  private static int getBloomBits(int count, double falsePositiveRate) {
+    double bits = -count * Math.log(falsePositiveRate) / (LN_2 * LN_2);
+    int numBits = (int) Math.max(MIN_BLOOM_BITS, Math.ceil(bits));
+    return (numBits + Byte.SIZE - 1) / Byte.SIZE * Byte.SIZE;
+  }
+
+  private static int getBloomHashes(int count, int numBits) {
+    if (count == 0) {
+      return 1;
+    }
+    return Math.max(1, (int) Math.round((double) numBits / count * LN_2));
+  }
+
+  @SneakyThrows
+  private static byte[] toDigest(String rftId) {
+    return Hex.decodeHex(rftId);
+  }
+}
@@ -37,6 +37,7 @@ import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.StringUtils;
 
 public final class Utils {
+  private static final ObjectMapper objectMapper = new ObjectMapper();
 
   private Utils() {
     throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
@@ -149,7 +150,7 @@ public final class Utils {
       }
       String headerJson =
           new String(Base64.getUrlDecoder().decode(parts[0]), StandardCharsets.UTF_8);
-      return new ObjectMapper().readValue(headerJson, Map.class);
+      return objectMapper.readValue(headerJson, Map.class);
     } catch (Exception e) {
       throw INVALID_TOKEN.getBearerAuthHeaderException();
     }
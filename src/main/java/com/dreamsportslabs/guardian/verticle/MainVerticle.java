@@ -1,6 +1,15 @@
 package com.dreamsportslabs.guardian.verticle;
 
+import static com.dreamsportslabs.guardian.constant.Constants.ACCESS_TOKEN_CACHE_ENABLED;
+import static com.dreamsportslabs.guardian.constant.Constants.ACCESS_TOKEN_CACHE_MAX_SIZE;
+import static com.dreamsportslabs.guardian.constant.Constants.ACCESS_TOKEN_CACHE_TTL;
 import static com.dreamsportslabs.guardian.constant.Constants.APPLICATION_CONFIG;
+import static com.dreamsportslabs.guardian.constant.Constants.CLIENT_CACHE_ENABLED;
+import static com.dreamsportslabs.guardian.constant.Constants.CLIENT_CACHE_MAX_SIZE;
+import static com.dreamsportslabs.guardian.constant.Constants.CLIENT_CACHE_TTL;
+import static com.dreamsportslabs.guardian.constant.Constants.FLOW_STATE_COMPRESSION_THRESHOLD;
+import static com.dreamsportslabs.guardian.constant.Constants.FLOW_STATE_FORMAT;
+import static com.dreamsportslabs.guardian.constant.Constants.FLOW_STATE_HEADER_ALLOW_LIST;
 import static com.dreamsportslabs.guardian.constant.Constants.HTTP_CLIENT_CONNECTION_POOL_MAX_SIZE;
 import static com.dreamsportslabs.guardian.constant.Constants.HTTP_CLIENT_IDLE_TIMEOUT;
 import static com.dreamsportslabs.guardian.constant.Constants.HTTP_CLIENT_KEEP_ALIVE;
@@ -8,18 +17,56 @@ import static com.dreamsportslabs.guardian.constant.Constants.HTTP_CLIENT_KEEP_A
 import static com.dreamsportslabs.guardian.constant.Constants.HTTP_CONNECT_TIMEOUT;
 import static com.dreamsportslabs.guardian.constant.Constants.HTTP_READ_TIMEOUT;
 import static com.dreamsportslabs.guardian.constant.Constants.HTTP_WRITE_TIMEOUT;
+import static com.dreamsportslabs.guardian.constant.Constants.KNOWN_TENANTS_REFRESH_INTERVAL;
+import static com.dreamsportslabs.guardian.constant.Constants.OTP_DELIVERY_ASYNC_ENABLED;
+import static com.dreamsportslabs.guardian.constant.Constants.OTP_DELIVERY_BATCH_SIZE;
+import static com.dreamsportslabs.guardian.constant.Constants.OTP_DELIVERY_EMAIL_CONCURRENCY;
+import static com.dreamsportslabs.guardian.constant.Constants.OTP_DELIVERY_MAX_ATTEMPTS;
+import static com.dreamsportslabs.guardian.constant.Constants.OTP_DELIVERY_RETRY_BACKOFF_MS;
+import static com.dreamsportslabs.guardian.constant.Constants.OTP_DELIVERY_SMS_CONCURRENCY;
+import static com.dreamsportslabs.guardian.constant.Constants.OTP_DELIVERY_STREAM_MAX_LENGTH;
 import static com.dreamsportslabs.guardian.constant.Constants.PORT;
 import static com.dreamsportslabs.guardian.constant.Constants.REDIS_HOST;
 import static com.dreamsportslabs.guardian.constant.Constants.REDIS_PORT;
 import static com.dreamsportslabs.guardian.constant.Constants.REDIS_TYPE;
+import static com.dreamsportslabs.guardian.constant.Constants.REFRESH_TOKEN_CACHE_ENABLED;
+import static com.dreamsportslabs.guardian.constant.Constants.REFRESH_TOKEN_CACHE_MAX_SIZE;
+import static com.dreamsportslabs.guardian.constant.Constants.REFRESH_TOKEN_CACHE_TTL;
+import static com.dreamsportslabs.guardian.constant.Constants.SCOPE_CATALOG_ENABLED;
+import static com.dreamsportslabs.guardian.constant.Constants.SCOPE_CATALOG_MAX_SIZE;
+import static com.dreamsportslabs.guardian.constant.Constants.SCOPE_CATALOG_TTL;
 import static com.dreamsportslabs.guardian.constant.Constants.TENANT_CONFIG_REFRESH_INTERVAL;
+import static com.dreamsportslabs.guardian.constant.Constants.TENANT_NEGATIVE_CACHE_MAX_SIZE;
+import static com.dreamsportslabs.guardian.constant.Constants.TENANT_NEGATIVE_CACHE_TTL;
+import static com.dreamsportslabs.guardian.constant.Constants.TOKEN_SIGNING_POOL_SIZE;
+import static com.dreamsportslabs.guardian.constant.Constants.TOKEN_SIGNING_QUEUE_SIZE;
+import static com.dreamsportslabs.guardian.constant.Constants.USERINFO_CACHE_ENABLED;
+import static com.dreamsportslabs.guardian.constant.Constants.USERINFO_CACHE_MAX_SIZE;
+import static com.dreamsportslabs.guardian.constant.Constants.USERINFO_CACHE_TTL;
 
+import com.dreamsportslabs.guardian.cache.AccessTokenCache;
+import com.dreamsportslabs.guardian.cache.CacheInvalidationBus;
+import com.dreamsportslabs.guardian.cache.ClientCache;
+import com.dreamsportslabs.guardian.cache.JwksCache;
+import com.dreamsportslabs.guardian.cache.RefreshTokenCache;
+import com.dreamsportslabs.guardian.cache.ScopeCatalogCache;
 import com.dreamsportslabs.guardian.cache.TenantCache;
+import com.dreamsportslabs.guardian.cache.UserInfoCache;
 import com.dreamsportslabs.guardian.client.MysqlClient;
 import com.dreamsportslabs.guardian.client.impl.MysqlClientImpl;
+import com.dreamsportslabs.guardian.dao.ClientScopeDao;
+import com.dreamsportslabs.guardian.dao.ScopeDao;
+import com.dreamsportslabs.guardian.dao.codec.StateCodec;
+import com.dreamsportslabs.guardian.dao.script.RedisScriptExecutor;
+import com.dreamsportslabs.guardian.dao.script.RedisScripts;
+import com.dreamsportslabs.guardian.injection.GuiceInjector;
 import com.dreamsportslabs.guardian.registry.Registry;
+import com.dreamsportslabs.guardian.service.OtpService;
+import com.dreamsportslabs.guardian.service.impl.otp.OtpDeliveryQueue;
+import com.dreamsportslabs.guardian.service.impl.signers.TokenSigningExecutor;
 import com.dreamsportslabs.guardian.utils.ConfigUtil;
 import com.dreamsportslabs.guardian.utils.SharedDataUtils;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.reactivex.rxjava3.core.Completable;
 import io.vertx.core.DeploymentOptions;
 import io.vertx.core.http.HttpServerOptions;
@@ -31,7 +78,9 @@ import io.vertx.redis.client.RedisOptions;
 import io.vertx.rxjava3.core.AbstractVerticle;
 import io.vertx.rxjava3.ext.web.client.WebClient;
 import io.vertx.rxjava3.redis.client.Redis;
+import java.util.Arrays;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -39,6 +88,9 @@ public class MainVerticle extends AbstractVerticle {
   private Redis redisClient;
   private WebClient webClient;
   private MysqlClient mysqlClient;
+  private TokenSigningExecutor tokenSigningExecutor;
+  private CacheInvalidationBus cacheInvalidationBus;
+  private OtpDeliveryQueue otpDeliveryQueue;
   private JsonObject config;
 
   @Override
@@ -53,12 +105,26 @@ public class MainVerticle extends AbstractVerticle {
               return config;
             })
         .flatMapCompletable(this::initializeClients)
+        .doOnComplete(this::initializeTokenSigningExecutor)
+        .doOnComplete(this::initializeJwksCache)
+        .doOnComplete(this::initializeStateCodec)
+        .andThen(Completable.defer(this::initializeRedisScripts))
+        .andThen(Completable.defer(this::initializeCacheInvalidationBus))
+        .doOnComplete(this::initializeRefreshTokenCache)
+        .doOnComplete(this::initializeAccessTokenCaches)
+        .doOnComplete(this::initializeClientCache)
+        .doOnComplete(this::initializeScopeCatalogCache)
         .doOnComplete(
             () ->
                 SharedDataUtils.put(
                     vertx.getDelegate(),
                     TenantCache.getInstance(
-                        Integer.parseInt(config.getString(TENANT_CONFIG_REFRESH_INTERVAL)))))
+                        Integer.parseInt(config.getString(TENANT_CONFIG_REFRESH_INTERVAL)),
+                        Integer.parseInt(config.getString(TENANT_NEGATIVE_CACHE_TTL)),
+                        Long.parseLong(config.getString(TENANT_NEGATIVE_CACHE_MAX_SIZE)),
+                        Integer.parseInt(config.getString(KNOWN_TENANTS_REFRESH_INTERVAL)),
+                        cacheInvalidationBus)))
+        .andThen(Completable.defer(this::initializeOtpDeliveryQueue))
         .andThen(
             vertx.rxDeployVerticle(
                 () ->
@@ -76,6 +142,9 @@ public class MainVerticle extends AbstractVerticle {
   public Completable rxStop() {
     this.redisClient.close();
     this.webClient.close();
+    this.tokenSigningExecutor.close();
+    this.cacheInvalidationBus.close();
+    this.otpDeliveryQueue.close();
 
     return this.mysqlClient.rxClose();
   }
@@ -86,6 +155,136 @@ public class MainVerticle extends AbstractVerticle {
         .andThen(initializeWebClient(config));
   }
 
+  private void initializeTokenSigningExecutor() {
+    int poolSize = Integer.parseInt(config.getString(TOKEN_SIGNING_POOL_SIZE));
+    this.tokenSigningExecutor =
+        new TokenSigningExecutor(
+            poolSize > 0 ? poolSize : getNumOfCores(),
+            Integer.parseInt(config.getString(TOKEN_SIGNING_QUEUE_SIZE)),
+            GuiceInjector.getGuiceInjector().getInstance(MeterRegistry.class));
+
+    SharedDataUtils.put(vertx.getDelegate(), this.tokenSigningExecutor);
+  }
+
+  private void initializeJwksCache() {
+    SharedDataUtils.put(
+        vertx.getDelegate(),
+        new JwksCache(
+            webClient, GuiceInjector.getGuiceInjector().getInstance(MeterRegistry.class)));
+  }
+
+  private void initializeStateCodec() {
+    SharedDataUtils.put(
+        vertx.getDelegate(),
+        new StateCodec(
+            StateCodec.Format.valueOf(config.getString(FLOW_STATE_FORMAT).toUpperCase()),
+            Integer.parseInt(config.getString(FLOW_STATE_COMPRESSION_THRESHOLD)),
+            Arrays.stream(config.getString(FLOW_STATE_HEADER_ALLOW_LIST).split(","))
+                .map(String::trim)
+                .filter(header -> !header.isEmpty())
+                .collect(Collectors.toSet()),
+            GuiceInjector.getGuiceInjector().getInstance(MeterRegistry.class)));
+  }
+
+  private Completable initializeRedisScripts() {
+    RedisScriptExecutor redisScriptExecutor =
+        new RedisScriptExecutor(
+            redisClient,
+            RedisScripts.ALL,
+            GuiceInjector.getGuiceInjector().getInstance(MeterRegistry.class));
+
+    SharedDataUtils.put(vertx.getDelegate(), redisScriptExecutor);
+
+    return redisScriptExecutor.load();
+  }
+
+  private Completable initializeCacheInvalidationBus() {
+    this.cacheInvalidationBus =
+        new CacheInvalidationBus(
+            vertx,
+            redisClient,
+            GuiceInjector.getGuiceInjector().getInstance(MeterRegistry.class));
+
+    SharedDataUtils.put(vertx.getDelegate(), this.cacheInvalidationBus);
+
+    return cacheInvalidationBus.start();
+  }
+
+  private void initializeRefreshTokenCache() {
+    SharedDataUtils.put(
+        vertx.getDelegate(),
+        new RefreshTokenCache(
+            Boolean.parseBoolean(config.getString(REFRESH_TOKEN_CACHE_ENABLED)),
+            Long.parseLong(config.getString(REFRESH_TOKEN_CACHE_MAX_SIZE)),
+            Long.parseLong(config.getString(REFRESH_TOKEN_CACHE_TTL)),
+            cacheInvalidationBus,
+            GuiceInjector.getGuiceInjector().getInstance(MeterRegistry.class)));
+  }
+
+  private void initializeAccessTokenCaches() {
+    MeterRegistry meterRegistry = GuiceInjector.getGuiceInjector().getInstance(MeterRegistry.class);
+    SharedDataUtils.put(
+        vertx.getDelegate(),
+        new AccessTokenCache(
+            Boolean.parseBoolean(config.getString(ACCESS_TOKEN_CACHE_ENABLED)),
+            Long.parseLong(config.getString(ACCESS_TOKEN_CACHE_MAX_SIZE)),
+            Long.parseLong(config.getString(ACCESS_TOKEN_CACHE_TTL)),
+            cacheInvalidationBus,
+            meterRegistry));
+    SharedDataUtils.put(
+        vertx.getDelegate(),
+        new UserInfoCache(
+            Boolean.parseBoolean(config.getString(USERINFO_CACHE_ENABLED)),
+            Long.parseLong(config.getString(USERINFO_CACHE_MAX_SIZE)),
+            Long.parseLong(config.getString(USERINFO_CACHE_TTL)),
+            meterRegistry));
+  }
+
+  private void initializeClientCache() {
+    SharedDataUtils.put(
+        vertx.getDelegate(),
+        new ClientCache(
+            Boolean.parseBoolean(config.getString(CLIENT_CACHE_ENABLED)),
+            Long.parseLong(config.getString(CLIENT_CACHE_MAX_SIZE)),
+            Long.parseLong(config.getString(CLIENT_CACHE_TTL)),
+            cacheInvalidationBus,
+            GuiceInjector.getGuiceInjector().getInstance(MeterRegistry.class)));
+  }
+
+  private void initializeScopeCatalogCache() {
+    SharedDataUtils.put(
+        vertx.getDelegate(),
+        new ScopeCatalogCache(
+            Boolean.parseBoolean(config.getString(SCOPE_CATALOG_ENABLED)),
+            Long.parseLong(config.getString(SCOPE_CATALOG_MAX_SIZE)),
+            Long.parseLong(config.getString(SCOPE_CATALOG_TTL)),
+            GuiceInjector.getGuiceInjector().getInstance(ScopeDao.class),
+            GuiceInjector.getGuiceInjector().getInstance(ClientScopeDao.class),
+            cacheInvalidationBus,
+            GuiceInjector.getGuiceInjector().getInstance(MeterRegistry.class)));
+  }
+
+  private Completable initializeOtpDeliveryQueue() {
+    this.otpDeliveryQueue =
+        new OtpDeliveryQueue(
+            Boolean.parseBoolean(config.getString(OTP_DELIVERY_ASYNC_ENABLED)),
+            Long.parseLong(config.getString(OTP_DELIVERY_STREAM_MAX_LENGTH)),
+            Integer.parseInt(config.getString(OTP_DELIVERY_BATCH_SIZE)),
+            Integer.parseInt(config.getString(OTP_DELIVERY_SMS_CONCURRENCY)),
+            Integer.parseInt(config.getString(OTP_DELIVERY_EMAIL_CONCURRENCY)),
+            Integer.parseInt(config.getString(OTP_DELIVERY_MAX_ATTEMPTS)),
+            Long.parseLong(config.getString(OTP_DELIVERY_RETRY_BACKOFF_MS)),
+            vertx,
+            redisClient,
+            SharedDataUtils.get(vertx.getDelegate(), TenantCache.class),
+            GuiceInjector.getGuiceInjector().getInstance(MeterRegistry.class));
+
+    SharedDataUtils.put(vertx.getDelegate(), this.otpDeliveryQueue);
+
+    return otpDeliveryQueue.start(
+        GuiceInjector.getGuiceInjector().getInstance(OtpService.class)::send);
+  }
+
   private Completable initializeMysqlClient(JsonObject config) {
     this.mysqlClient = new MysqlClientImpl(this.vertx, config);
 
@@ -276,6 +276,12 @@ public class Constants {
       "Invalid RSA key length. Allowed values are [2048, 3072, 4096]";
   public static final String ERROR_MSG_INVALID_KEY_FORMAT =
       "Invalid key format. Allowed values are PEM or JWKS";
+  public static final String ERROR_MSG_INVALID_KEY_TYPE =
+      "Invalid key type. Allowed values are RSA or EC";
+  public static final String KEY_GENERATION_KEY_TYPE = "keyType";
+  public static final String KEY_TYPE_EC = "EC";
+  public static final String EC_ALGORITHM = "EC";
+  public static final int EC_KEY_SIZE_256 = 256;
 
   public static final String ASSERT_PUBLIC_KEY_MODULUS_2048 =
       "Public key modulus should be 2048 bits";
@@ -841,6 +847,7 @@ public class Constants {
   public static final String REQUEST_FIELD_HOST = "host";
   public static final String REQUEST_FIELD_PORT = "port";
   public static final String REQUEST_FIELD_ALGORITHM = "algorithm";
+  public static final String REQUEST_FIELD_RSA_KEYS = "rsa_keys";
   public static final String REQUEST_FIELD_ISSUER = "issuer";
   public static final String REQUEST_FIELD_ID_TOKEN_CLAIMS = "id_token_claims";
   public static final String REQUEST_FIELD_ACCESS_TOKEN_CLAIMS = "access_token_claims";
@@ -6,7 +6,9 @@ import static com.dreamsportslabs.guardian.Constants.AUTH_CODE_CHALLENGE_METHOD_
 import static com.dreamsportslabs.guardian.Constants.AUTH_PROMPT_INVALID;
 import static com.dreamsportslabs.guardian.Constants.AUTH_PROMPT_LOGIN;
 import static com.dreamsportslabs.guardian.Constants.AUTH_RESPONSE_TYPE_TOKEN;
+import static com.dreamsportslabs.guardian.Constants.BODY_PARAM_LOGIN_CHALLENGE;
 import static com.dreamsportslabs.guardian.Constants.CLIENT_ID;
+import static com.dreamsportslabs.guardian.Constants.DEVICE_VALUE;
 import static com.dreamsportslabs.guardian.Constants.ERROR_CLIENT_AUTHENTICATION_FAILED;
 import static com.dreamsportslabs.guardian.Constants.ERROR_CLIENT_ID_REQUIRED;
 import static com.dreamsportslabs.guardian.Constants.ERROR_CODE_CHALLENGE_TOGETHER;
@@ -26,10 +28,13 @@ import static com.dreamsportslabs.guardian.Constants.ERROR_SCOPE_REQUIRED;
 import static com.dreamsportslabs.guardian.Constants.HEADER_LOCATION;
 import static com.dreamsportslabs.guardian.Constants.INVALID_CLIENT_ID;
 import static com.dreamsportslabs.guardian.Constants.INVALID_TENANT;
+import static com.dreamsportslabs.guardian.Constants.IP_ADDRESS;
+import static com.dreamsportslabs.guardian.Constants.LOCATION_VALUE;
 import static com.dreamsportslabs.guardian.Constants.LOGIN_CHALLENGE_PARAM;
 import static com.dreamsportslabs.guardian.Constants.LOGIN_HINT_PARAM_FORMAT;
 import static com.dreamsportslabs.guardian.Constants.LOGIN_PAGE_URL;
 import static com.dreamsportslabs.guardian.Constants.MALICIOUS_CALLBACK_URL;
+import static com.dreamsportslabs.guardian.Constants.OIDC_BODY_PARAM_REFRESH_TOKEN;
 import static com.dreamsportslabs.guardian.Constants.PARAM_CLIENT_ID;
 import static com.dreamsportslabs.guardian.Constants.PARAM_CODE_CHALLENGE;
 import static com.dreamsportslabs.guardian.Constants.PARAM_CODE_CHALLENGE_METHOD;
@@ -41,43 +46,68 @@ import static com.dreamsportslabs.guardian.Constants.PARAM_RESPONSE_TYPE;
 import static com.dreamsportslabs.guardian.Constants.PARAM_SCOPE;
 import static com.dreamsportslabs.guardian.Constants.PARAM_STATE;
 import static com.dreamsportslabs.guardian.Constants.PROMPT_PARAM_FORMAT;
+import static com.dreamsportslabs.guardian.Constants.REQUESTED_SCOPES;
 import static com.dreamsportslabs.guardian.Constants.SCOPE_ADDRESS;
 import static com.dreamsportslabs.guardian.Constants.SCOPE_EMAIL;
 import static com.dreamsportslabs.guardian.Constants.SCOPE_OPENID;
 import static com.dreamsportslabs.guardian.Constants.SCOPE_PHONE;
+import static com.dreamsportslabs.guardian.Constants.SOURCE_VALUE;
 import static com.dreamsportslabs.guardian.Constants.STATE_PARAM_FORMAT;
 import static com.dreamsportslabs.guardian.Constants.TENANT_1;
 import static com.dreamsportslabs.guardian.Constants.TENANT_2;
 import static com.dreamsportslabs.guardian.Constants.TEST_CODE_CHALLENGE;
+import static com.dreamsportslabs.guardian.Constants.TEST_DESCRIPTION;
+import static com.dreamsportslabs.guardian.Constants.TEST_DISPLAY_NAME;
+import static com.dreamsportslabs.guardian.Constants.TEST_EMAIL_CLAIM;
+import static com.dreamsportslabs.guardian.Constants.TEST_ICON_URL;
 import static com.dreamsportslabs.guardian.Constants.TEST_LOGIN_HINT;
 import static com.dreamsportslabs.guardian.Constants.TEST_NONCE;
+import static com.dreamsportslabs.guardian.Constants.TEST_USER_ID;
+import static com.dreamsportslabs.guardian.constant.Constants.OIDC_PARAM_CONSENT_CHALLENGE;
 import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.authorize;
 import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.createClient;
 import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.createClientScope;
+import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.createScope;
+import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.deleteClientScope;
+import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.deleteScope;
+import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.getUserConsent;
+import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.loginAccept;
 import static com.dreamsportslabs.guardian.utils.DbUtils.cleanUpScopes;
 import static com.dreamsportslabs.guardian.utils.DbUtils.cleanupClientScopes;
 import static com.dreamsportslabs.guardian.utils.DbUtils.cleanupClients;
+import static com.dreamsportslabs.guardian.utils.DbUtils.insertRefreshToken;
 import static com.dreamsportslabs.guardian.utils.OidcUtils.createValidAuthorizeRequest;
+import static com.dreamsportslabs.guardian.utils.OidcUtils.extractConsentChallenge;
 import static com.dreamsportslabs.guardian.utils.OidcUtils.extractLoginChallenge;
 import static com.dreamsportslabs.guardian.utils.OidcUtils.validateAuthorizeSessionModel;
 import static org.apache.http.HttpStatus.SC_BAD_REQUEST;
+import static org.apache.http.HttpStatus.SC_CREATED;
 import static org.apache.http.HttpStatus.SC_MOVED_TEMPORARILY;
+import static org.apache.http.HttpStatus.SC_NO_CONTENT;
+import static org.apache.http.HttpStatus.SC_OK;
 import static org.apache.http.HttpStatus.SC_UNAUTHORIZED;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.startsWith;
 
 import com.dreamsportslabs.guardian.utils.ClientUtils;
 import com.dreamsportslabs.guardian.utils.OidcUtils;
+import com.dreamsportslabs.guardian.utils.ScopeUtils;
 import io.restassured.response.Response;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
@@ -863,6 +893,88 @@ public class AuthorizeIT {
     assertThat(loginChallenge2.equals(loginChallenge3), equalTo(false));
   }
 
+  @Test
+  @Tag("optional-features")
+  @DisplayName("Should allow a scope only while it is assigned to the client")
+  public void testAuthorizeFollowsClientScopeWrites() {
+    // Arrange
+    String scope = createCustomScope();
+    List<String> requestedScopes = List.of(SCOPE_OPENID, scope);
+    assertThat(getRequestedScopes(requestedScopes), not(hasItem(scope)));
+
+    // Act
+    createClientScope(tenant1, validClientId, ClientUtils.createClientScopeRequest(scope))
+        .then()
+        .statusCode(SC_NO_CONTENT);
+    List<String> afterAssign = getRequestedScopes(requestedScopes);
+    deleteClientScope(tenant1, validClientId, scope).then().statusCode(SC_NO_CONTENT);
+    List<String> afterUnassign = getRequestedScopes(requestedScopes);
+
+    // Validate
+    assertThat(afterAssign, containsInAnyOrder(SCOPE_OPENID, scope));
+    assertThat(afterUnassign, containsInAnyOrder(SCOPE_OPENID));
+  }
+
+  @Test
+  @Tag("optional-features")
+  @DisplayName("Should stop allowing a scope once it is deleted")
+  public void testAuthorizeFollowsScopeDeletion() {
+    // Arrange
+    String scope = createCustomScope();
+    createClientScope(tenant1, validClientId, ClientUtils.createClientScopeRequest(scope))
+        .then()
+        .statusCode(SC_NO_CONTENT);
+    List<String> requestedScopes = List.of(SCOPE_OPENID, scope);
+    assertThat(getRequestedScopes(requestedScopes), hasItem(scope));
+
+    // Act
+    deleteScope(tenant1, scope).then().statusCode(SC_NO_CONTENT);
+
+    // Validate
+    assertThat(getRequestedScopes(requestedScopes), containsInAnyOrder(SCOPE_OPENID));
+  }
+
+  private String createCustomScope() {
+    String scope = RandomStringUtils.randomAlphabetic(10);
+    createScope(
+            tenant1,
+            ScopeUtils.getValidScopeRequestBody(
+                scope,
+                TEST_DISPLAY_NAME,
+                TEST_DESCRIPTION,
+                List.of(TEST_EMAIL_CLAIM),
+                TEST_ICON_URL,
+                false))
+        .then()
+        .statusCode(SC_CREATED);
+    return scope;
+  }
+
+  /**
+   * Runs authorize and login accept for {@code scopes}, and returns the scopes the consent page is
+   * asked for, which are the requested scopes that authorize allowed for the client.
+   */
+  private List<String> getRequestedScopes(List<String> scopes) {
+    Response authorizeResponse =
+        authorize(tenant1, createValidAuthorizeRequest(validClientId, scopes));
+    authorizeResponse.then().statusCode(SC_MOVED_TEMPORARILY);
+    String loginChallenge = extractLoginChallenge(authorizeResponse.getHeader(HEADER_LOCATION));
+
+    String refreshToken =
+        insertRefreshToken(
+            tenant1, TEST_USER_ID, 1800L, SOURCE_VALUE, DEVICE_VALUE, LOCATION_VALUE, IP_ADDRESS);
+    Map<String, Object> loginAcceptBody = new HashMap<>();
+    loginAcceptBody.put(BODY_PARAM_LOGIN_CHALLENGE, loginChallenge);
+    loginAcceptBody.put(OIDC_BODY_PARAM_REFRESH_TOKEN, refreshToken);
+    String consentChallenge = extractConsentChallenge(loginAccept(tenant1, loginAcceptBody));
+
+    Response consentResponse =
+        getUserConsent(
+            tenant1, Map.of(OIDC_PARAM_CONSENT_CHALLENGE, consentChallenge), refreshToken);
+    consentResponse.then().statusCode(SC_OK);
+    return consentResponse.jsonPath().getList(REQUESTED_SCOPES, String.class);
+  }
+
   private Response createTestClient() {
     Map<String, Object> requestBody = ClientUtils.createValidClientRequest();
     return createClient(tenant1, requestBody);
@@ -89,12 +89,15 @@ import java.util.UUID;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
 
 public class ClientResourceIT {
 
   public static String tenant1 = "tenant1";
   public static String tenant2 = "tenant2";
+  private static final long INVALIDATION_WAIT_MS = 500;
 
   @BeforeEach
   void setUp() {
@@ -335,6 +338,65 @@ public class ClientResourceIT {
     assertThat(DbUtils.clientExists(tenant1, clientId), equalTo(false));
   }
 
+  @Test
+  @Tag("optional-features")
+  @DisplayName("Should return the updated client after it was read")
+  public void testUpdatedClientIsReturnedAfterRead() {
+    // Arrange
+    Response createResponse = createTestClient();
+    String clientId = createResponse.jsonPath().getString(CLIENT_ID);
+    getClient(tenant1, clientId).then().statusCode(SC_OK);
+
+    Map<String, Object> updateRequest = copyClientResponseToRequestBody(createResponse);
+    updateRequest.put(CLIENT_NAME, UPDATED_CLIENT_NAME);
+    updateClient(tenant1, clientId, updateRequest).then().statusCode(SC_OK);
+
+    // Act
+    Response response = getClient(tenant1, clientId);
+
+    // Validate
+    response.then().statusCode(SC_OK).body(CLIENT_NAME, equalTo(UPDATED_CLIENT_NAME));
+  }
+
+  @Test
+  @Tag("optional-features")
+  @DisplayName("Should return 404 for a deleted client after it was read")
+  public void testDeletedClientIsNotReturnedAfterRead() {
+    // Arrange
+    String clientId = createTestClient().jsonPath().getString(CLIENT_ID);
+    getClient(tenant1, clientId).then().statusCode(SC_OK);
+    deleteClient(tenant1, clientId).then().statusCode(SC_NO_CONTENT);
+
+    // Act
+    Response response = getClient(tenant1, clientId);
+
+    // Validate
+    response.then().statusCode(SC_NOT_FOUND).rootPath(ERROR).body(CODE, equalTo(CLIENT_NOT_FOUND));
+  }
+
+  @Test
+  @Tag("optional-features")
+  @EnabledIfEnvironmentVariable(named = "GUARDIAN_CLIENT_CACHE_ENABLED", matches = "true")
+  @DisplayName("Should serve a cached client until another node invalidates it")
+  public void testCachedClientIsDroppedOnInvalidationFromAnotherNode() throws InterruptedException {
+    // Arrange
+    Response createResponse = createTestClient();
+    String clientId = createResponse.jsonPath().getString(CLIENT_ID);
+    String clientName = createResponse.jsonPath().getString(CLIENT_NAME);
+    getClient(tenant1, clientId).then().statusCode(SC_OK);
+    DbUtils.updateClientName(tenant1, clientId, UPDATED_CLIENT_NAME);
+
+    getClient(tenant1, clientId).then().statusCode(SC_OK).body(CLIENT_NAME, equalTo(clientName));
+
+    // Act
+    DbUtils.publishClientInvalidation(tenant1, clientId);
+    Thread.sleep(INVALIDATION_WAIT_MS);
+    Response response = getClient(tenant1, clientId);
+
+    // Validate
+    response.then().statusCode(SC_OK).body(CLIENT_NAME, equalTo(UPDATED_CLIENT_NAME));
+  }
+
   @Test
   @DisplayName("Should return 400 when deleting non-existent client")
   public void testDeleteClientNotFound() {
@@ -36,29 +36,42 @@ import static com.dreamsportslabs.guardian.constant.Channel.EMAIL;
 import static com.dreamsportslabs.guardian.constant.Channel.SMS;
 import static com.github.dockerjava.zerodep.shaded.org.apache.hc.core5.http.HttpStatus.SC_UNAUTHORIZED;
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
 import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
 import static org.apache.http.HttpStatus.SC_BAD_REQUEST;
 import static org.apache.http.HttpStatus.SC_INTERNAL_SERVER_ERROR;
 import static org.apache.http.HttpStatus.SC_OK;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.isA;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
 
 import com.dreamsportslabs.guardian.utils.ApplicationIoUtils;
 import com.dreamsportslabs.guardian.utils.DbUtils;
 import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
 import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
 import io.restassured.response.Response;
 import io.vertx.core.json.JsonObject;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
 
 public class ContactSendOtpIT {
   // Constants
@@ -70,6 +83,9 @@ public class ContactSendOtpIT {
   private static final String EXPIRED_STATE = "expired-or-invalid-state";
   private static final int RANDOM_IDENTIFIER_LENGTH = 12;
   private static final int MAX_TRIES_SIMULATION = 10;
+  private static final int GATEWAY_DELAY_MS = 2000;
+  private static final long QUEUE_WAIT_MS = 10000;
+  private static final long QUEUE_SETTLE_MS = 3000;
 
   private WireMockServer wireMockServer;
 
@@ -674,6 +690,170 @@ public class ContactSendOtpIT {
         .body(CODE, equalTo(ERROR_INVALID_REQUEST));
   }
 
+  @Test
+  @Tag("optional-features")
+  @EnabledIfEnvironmentVariable(named = "GUARDIAN_OTP_DELIVERY_ASYNC_ENABLED", matches = "true")
+  @DisplayName("Should respond before the gateway is called and deliver the otp from the queue")
+  public void testQueuedOtpIsDelivered() {
+    // Arrange
+    String identifier = generateRandomIdentifier();
+    StubMapping sendSmsStub =
+        wireMockServer.stubFor(
+            post(urlPathMatching("/sendSms"))
+                .withRequestBody(containing(identifier))
+                .willReturn(
+                    aResponse()
+                        .withStatus(200)
+                        .withFixedDelay(GATEWAY_DELAY_MS)
+                        .withBody("{\"result\":\"ok\"}")));
+
+    // Act
+    Response response =
+        ApplicationIoUtils.sendOtp(
+            TENANT_ID_NON_MOCKED, createRequestBody(createSmsContact(identifier)));
+
+    // Validate
+    response.then().statusCode(SC_OK);
+    assertThat(response.getTime(), lessThan((long) GATEWAY_DELAY_MS));
+
+    List<LoggedRequest> requests = waitForSmsRequests(identifier, 1);
+    JsonObject message = new JsonObject(requests.get(0).getBodyAsString());
+    assertThat(message.getString("to"), equalTo(identifier));
+    assertThat(message.getJsonObject("templateParams").getString("otp"), notNullValue());
+
+    wireMockServer.removeStub(sendSmsStub);
+  }
+
+  @Test
+  @Tag("optional-features")
+  @EnabledIfEnvironmentVariable(named = "GUARDIAN_OTP_DELIVERY_ASYNC_ENABLED", matches = "true")
+  @DisplayName("Should retry a queued otp after a gateway error")
+  public void testQueuedOtpIsRetried() throws InterruptedException {
+    // Arrange
+    String identifier = generateRandomIdentifier();
+    String scenario = "retry-" + identifier;
+    wireMockServer.stubFor(
+        post(urlPathMatching("/sendSms"))
+            .withRequestBody(containing(identifier))
+            .inScenario(scenario)
+            .whenScenarioStateIs(Scenario.STARTED)
+            .willSetStateTo("recovered")
+            .willReturn(aResponse().withStatus(500).withBody("{\"error\":\"internal error\"}")));
+    wireMockServer.stubFor(
+        post(urlPathMatching("/sendSms"))
+            .withRequestBody(containing(identifier))
+            .inScenario(scenario)
+            .whenScenarioStateIs("recovered")
+            .willReturn(aResponse().withStatus(200).withBody("{\"result\":\"ok\"}")));
+    int deadLettersBefore = DbUtils.getOtpDeadLetters().size();
+
+    // Act
+    ApplicationIoUtils.sendOtp(
+            TENANT_ID_NON_MOCKED, createRequestBody(createSmsContact(identifier)))
+        .then()
+        .statusCode(SC_OK);
+
+    // Validate
+    waitForSmsRequests(identifier, 2);
+    Thread.sleep(QUEUE_SETTLE_MS);
+    assertThat(findSmsRequests(identifier).size(), equalTo(2));
+    assertThat(DbUtils.getOtpDeadLetters().size(), equalTo(deadLettersBefore));
+
+    wireMockServer.resetScenarios();
+  }
+
+  @Test
+  @Tag("optional-features")
+  @EnabledIfEnvironmentVariable(named = "GUARDIAN_OTP_DELIVERY_ASYNC_ENABLED", matches = "true")
+  @DisplayName("Should dead-letter a rejected otp once, without the otp or the contact")
+  public void testRejectedOtpIsDeadLettered() throws InterruptedException {
+    // Arrange
+    String identifier = generateRandomIdentifier();
+    StubMapping sendSmsStub =
+        wireMockServer.stubFor(
+            post(urlPathMatching("/sendSms"))
+                .withRequestBody(containing(identifier))
+                .willReturn(aResponse().withStatus(400).withBody("{\"error\":\"bad request\"}")));
+    int deadLettersBefore = DbUtils.getOtpDeadLetters().size();
+
+    // Act
+    ApplicationIoUtils.sendOtp(
+            TENANT_ID_NON_MOCKED, createRequestBody(createSmsContact(identifier)))
+        .then()
+        .statusCode(SC_OK);
+
+    // Validate
+    waitForSmsRequests(identifier, 1);
+    Thread.sleep(QUEUE_SETTLE_MS);
+    assertThat(findSmsRequests(identifier).size(), equalTo(1));
+
+    List<JsonObject> deadLetters = DbUtils.getOtpDeadLetters();
+    assertThat(deadLetters.size(), equalTo(deadLettersBefore + 1));
+    JsonObject deadLetter = deadLetters.get(0);
+    assertThat(deadLetter.getString("tenant_id"), equalTo(TENANT_ID_NON_MOCKED));
+    assertThat(deadLetter.getString("channel"), equalTo(SMS.getName()));
+    assertThat(deadLetter.getString("error"), notNullValue());
+    assertThat(deadLetter.encode(), not(containsString(identifier)));
+    assertThat(deadLetter.containsKey("template_params"), equalTo(false));
+    assertThat(deadLetter.containsKey("headers"), equalTo(false));
+    assertThat(DbUtils.getOtpDeadLettersTtl(), greaterThan(0L));
+
+    wireMockServer.removeStub(sendSmsStub);
+  }
+
+  @Test
+  @Tag("optional-features")
+  @EnabledIfEnvironmentVariable(named = "GUARDIAN_OTP_DELIVERY_ASYNC_ENABLED", matches = "true")
+  @DisplayName("Should drop a queued otp that expired before it was sent")
+  public void testExpiredQueuedOtpIsDropped() throws InterruptedException {
+    // Arrange
+    String identifier = generateRandomIdentifier();
+    StubMapping sendSmsStub = getStubForSendSms();
+    int deadLettersBefore = DbUtils.getOtpDeadLetters().size();
+    long now = Instant.now().getEpochSecond();
+    JsonObject job =
+        new JsonObject()
+            .put("tenant_id", TENANT_ID_NON_MOCKED)
+            .put("channel", SMS.getName())
+            .put("to", identifier)
+            .put("template_name", "otp")
+            .put("template_params", new JsonObject().put("otp", "123456"))
+            .put("headers", new JsonObject())
+            .put("enqueued_at", (now - 120) * 1000)
+            .put("expires_at", now - 60);
+
+    // Act
+    DbUtils.addOtpDeliveryJob(job);
+
+    // Validate
+    Thread.sleep(QUEUE_SETTLE_MS);
+    assertThat(findSmsRequests(identifier).size(), equalTo(0));
+    assertThat(DbUtils.getOtpDeadLetters().size(), equalTo(deadLettersBefore));
+
+    wireMockServer.removeStub(sendSmsStub);
+  }
+
+  private List<LoggedRequest> findSmsRequests(String identifier) {
+    return wireMockServer.findAll(
+        postRequestedFor(urlPathMatching("/sendSms")).withRequestBody(containing(identifier)));
+  }
+
+  private List<LoggedRequest> waitForSmsRequests(String identifier, int count) {
+    long deadline = System.currentTimeMillis() + QUEUE_WAIT_MS;
+    List<LoggedRequest> requests = findSmsRequests(identifier);
+    while (requests.size() < count && System.currentTimeMillis() < deadline) {
+      try {
+        Thread.sleep(100);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+      requests = findSmsRequests(identifier);
+    }
+    assertThat(requests.size(), greaterThanOrEqualTo(count));
+    return requests;
+  }
+
   private void addStateInRedis(
       String tenantId,
       String state,
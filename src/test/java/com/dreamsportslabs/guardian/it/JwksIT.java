@@ -1,15 +1,32 @@
 package com.dreamsportslabs.guardian.it;
 
+import static com.dreamsportslabs.guardian.Constants.KEY_GENERATION_KEY_TYPE;
+import static com.dreamsportslabs.guardian.Constants.KEY_TYPE_EC;
+import static com.dreamsportslabs.guardian.Constants.REQUEST_FIELD_ALGORITHM;
+import static com.dreamsportslabs.guardian.Constants.REQUEST_FIELD_ID;
+import static com.dreamsportslabs.guardian.Constants.REQUEST_FIELD_NAME;
+import static com.dreamsportslabs.guardian.Constants.REQUEST_FIELD_RSA_KEYS;
+import static com.dreamsportslabs.guardian.Constants.RSA_KEY_KID;
+import static com.dreamsportslabs.guardian.Constants.RSA_KEY_PRIVATE_KEY;
+import static com.dreamsportslabs.guardian.Constants.RSA_KEY_PUBLIC_KEY;
+import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.createTenant;
+import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.generateRsaKey;
 import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.getJwks;
+import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.getTokenConfig;
+import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.updateTokenConfig;
 import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hibernate.validator.internal.util.Contracts.assertNotNull;
 
+import com.dreamsportslabs.guardian.utils.DbUtils;
 import io.restassured.response.Response;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -66,6 +83,57 @@ public class JwksIT {
     assertThat(key.getString("alg"), equalTo("RS256"));
   }
 
+  @Test
+  @DisplayName("Should publish each key with its own algorithm after switching to ES256")
+  void jwksKeepsRsaKeyAlgorithmAfterSwitchToEs256() {
+    // Arrange
+    String tenantId = "jwks" + randomAlphanumeric(6);
+    createTenant(Map.of(REQUEST_FIELD_ID, tenantId, REQUEST_FIELD_NAME, "Jwks " + tenantId))
+        .then()
+        .statusCode(201);
+    Map<String, Object> rsaKey = getTokenConfig(tenantId).jsonPath().getMap("rsa_keys[0]");
+    JsonObject ecKey =
+        new JsonObject(
+            generateRsaKey(Map.of(KEY_GENERATION_KEY_TYPE, KEY_TYPE_EC)).getBody().asString());
+
+    Map<String, Object> updateBody = new HashMap<>();
+    updateBody.put(REQUEST_FIELD_ALGORITHM, "ES256");
+    updateBody.put(
+        REQUEST_FIELD_RSA_KEYS,
+        List.of(
+            Map.of(
+                "kid", ecKey.getString(RSA_KEY_KID),
+                "public_key", ecKey.getString(RSA_KEY_PUBLIC_KEY),
+                "private_key", ecKey.getString(RSA_KEY_PRIVATE_KEY),
+                "current", true),
+            Map.of(
+                "kid", rsaKey.get("kid"),
+                "public_key", rsaKey.get("public_key"),
+                "private_key", rsaKey.get("private_key"))));
+    updateTokenConfig(tenantId, updateBody).then().statusCode(200);
+
+    // Act
+    Response response = getJwks(tenantId);
+
+    // Validate
+    assertThat(response.getStatusCode(), equalTo(200));
+    Map<String, JsonObject> keysByKid = new HashMap<>();
+    for (Object key : extractKeys(response)) {
+      keysByKid.put(((JsonObject) key).getString("kid"), (JsonObject) key);
+    }
+
+    JsonObject publishedEcKey = keysByKid.get(ecKey.getString(RSA_KEY_KID));
+    assertThat(publishedEcKey.getString("kty"), equalTo("EC"));
+    assertThat(publishedEcKey.getString("alg"), equalTo("ES256"));
+
+    JsonObject publishedRsaKey = keysByKid.get((String) rsaKey.get("kid"));
+    assertThat(publishedRsaKey.getString("kty"), equalTo("RSA"));
+    assertThat(publishedRsaKey.getString("alg"), nullValue());
+
+    DbUtils.cleanupChangelog(tenantId);
+    DbUtils.deleteTenant(tenantId);
+  }
+
   @Test
   @DisplayName("Should return error for unknown tenant")
   void unknownTenantReturnsError() {
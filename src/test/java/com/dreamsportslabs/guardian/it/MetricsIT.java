@@ -0,0 +1,22 @@
+package com.dreamsportslabs.guardian.it;
+
+import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.getMetrics;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.restassured.response.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class MetricsIT {
+
+  @Test
+  @DisplayName("Should expose metrics without a tenant-id header")
+  void metricsAreExposedWithoutTenant() {
+    // Act
+    Response response = getMetrics();
+
+    // Validate
+    assertThat(response.getStatusCode(), equalTo(200));
+  }
+}
@@ -80,7 +80,11 @@ import static com.dreamsportslabs.guardian.Constants.TENANT_3;
 import static com.dreamsportslabs.guardian.Constants.TEST_CODE_CHALLENGE;
 import static com.dreamsportslabs.guardian.Constants.TEST_CODE_CHALLENGE_2;
 import static com.dreamsportslabs.guardian.Constants.TEST_CODE_VERIFIER_2;
+import static com.dreamsportslabs.guardian.Constants.TEST_DESCRIPTION;
 import static com.dreamsportslabs.guardian.Constants.TEST_DEVICE_NAME;
+import static com.dreamsportslabs.guardian.Constants.TEST_DISPLAY_NAME;
+import static com.dreamsportslabs.guardian.Constants.TEST_EMAIL_CLAIM;
+import static com.dreamsportslabs.guardian.Constants.TEST_ICON_URL;
 import static com.dreamsportslabs.guardian.Constants.TEST_IP_ADDRESS;
 import static com.dreamsportslabs.guardian.Constants.TEST_ISSUER;
 import static com.dreamsportslabs.guardian.Constants.TEST_USER_ID;
@@ -122,7 +126,11 @@ import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.authorize;
 import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.consentAccept;
 import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.createClient;
 import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.createClientScope;
+import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.createScope;
+import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.deleteScope;
+import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.getMetricValue;
 import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.loginAccept;
+import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.sendConcurrently;
 import static com.dreamsportslabs.guardian.utils.DbUtils.cleanupClients;
 import static com.dreamsportslabs.guardian.utils.DbUtils.cleanupOidcRefreshTokens;
 import static com.dreamsportslabs.guardian.utils.DbUtils.cleanupRedis;
@@ -138,16 +146,21 @@ import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
 import static org.apache.http.HttpStatus.SC_BAD_REQUEST;
+import static org.apache.http.HttpStatus.SC_CREATED;
+import static org.apache.http.HttpStatus.SC_NO_CONTENT;
+import static org.apache.http.HttpStatus.SC_OK;
 import static org.apache.http.HttpStatus.SC_UNAUTHORIZED;
 import static org.hamcrest.CoreMatchers.isA;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 
 import com.dreamsportslabs.guardian.utils.ApplicationIoUtils;
 import com.dreamsportslabs.guardian.utils.ClientUtils;
 import com.dreamsportslabs.guardian.utils.DbUtils;
 import com.dreamsportslabs.guardian.utils.OidcUtils;
+import com.dreamsportslabs.guardian.utils.ScopeUtils;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.tomakehurst.wiremock.WireMockServer;
@@ -167,6 +180,7 @@ import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.http.HttpHeaders;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
 public class OidcTokenIT {
@@ -175,6 +189,9 @@ public class OidcTokenIT {
   private static final String tenant1 = TENANT_1;
   private static final String tenant2 = TENANT_2;
   private static final String tenant3 = TENANT_3; // Additional claims enabled for this tenant
+  private static final int CONCURRENT_EXCHANGES = 5;
+  private static final int CONCURRENT_TOKEN_REQUESTS = 20;
+  private static final String TOKEN_SIGNING_COUNT = "guardian_token_signing_latency_seconds_count";
 
   private String validClientId;
   private String validClientSecret;
@@ -357,6 +374,27 @@ public class OidcTokenIT {
     return AUTH_BASIC_PREFIX + authHeader;
   }
 
+  private Response exchangeAuthorizationCode(String code, String redirectUri) {
+    Map<String, String> headers = new HashMap<>();
+    headers.put(HEADER_AUTHORIZATION, getBasicAuthHeader(validClientId, validClientSecret));
+    headers.put(HEADER_CONTENT_TYPE, CONTENT_TYPE_FORM_URLENCODED);
+    Map<String, String> formParams = new HashMap<>();
+    formParams.put(TOKEN_PARAM_GRANT_TYPE, AUTHORIZATION_CODE);
+    formParams.put(TOKEN_PARAM_CODE, code);
+    formParams.put(TOKEN_PARAM_REDIRECT_URI, redirectUri);
+    return ApplicationIoUtils.token(tenant1, headers, formParams);
+  }
+
+  private Response requestClientCredentialsToken(String scope) {
+    Map<String, String> headers = new HashMap<>();
+    headers.put(HEADER_AUTHORIZATION, getBasicAuthHeader(validClientId, validClientSecret));
+    headers.put(HEADER_CONTENT_TYPE, CONTENT_TYPE_FORM_URLENCODED);
+    Map<String, String> formParams = new HashMap<>();
+    formParams.put(TOKEN_PARAM_GRANT_TYPE, CLIENT_CREDENTIALS);
+    formParams.put(TOKEN_PARAM_SCOPE, scope);
+    return ApplicationIoUtils.token(tenant1, headers, formParams);
+  }
+
   /** Helper method to validate scope using assertThat with containsInAnyOrder */
   private void validateScope(Response response, String... expectedScopes) {
     String actualScope = response.jsonPath().getString(TOKEN_PARAM_SCOPE);
@@ -530,6 +568,36 @@ public class OidcTokenIT {
         null);
   }
 
+  @Test
+  @DisplayName("Client Credentials - Should sign a valid token for every concurrent request")
+  public void testClientCredentialsConcurrentRequests() {
+    // Arrange
+    double signedBefore = getMetricValue(TOKEN_SIGNING_COUNT);
+
+    // Act
+    List<Response> responses =
+        sendConcurrently(
+            CONCURRENT_TOKEN_REQUESTS,
+            () -> requestClientCredentialsToken(SCOPE_OPENID + SCOPE_SEPARATOR + SCOPE_EMAIL));
+
+    // Validate
+    for (Response response : responses) {
+      response.then().statusCode(SC_OK);
+      validateAccessTokenClaims(
+          response.jsonPath().getString(TOKEN_PARAM_ACCESS_TOKEN),
+          response.jsonPath().getLong(TOKEN_PARAM_EXPIRES_IN),
+          validClientId,
+          validClientId,
+          List.of(SCOPE_OPENID, SCOPE_EMAIL),
+          List.of(SCOPE_ADDRESS, SCOPE_PHONE),
+          false,
+          null);
+    }
+    assertThat(
+        getMetricValue(TOKEN_SIGNING_COUNT) - signedBefore,
+        greaterThanOrEqualTo((double) CONCURRENT_TOKEN_REQUESTS));
+  }
+
   @Test
   @DisplayName(
       "Should return token successfully for client credentials grant type with request body auth and custom scopes")
@@ -735,6 +803,41 @@ public class OidcTokenIT {
         .body(ERROR_DESCRIPTION, equalTo(TOKEN_ERROR_MSG_INVALID_SCOPE));
   }
 
+  @Test
+  @Tag("optional-features")
+  @DisplayName(
+      "Client Credentials - Should allow a custom scope only while it is assigned to the client")
+  public void testClientCredentialsFollowsClientScopeWrites() {
+    // Arrange
+    String scope = RandomStringUtils.randomAlphabetic(10);
+    createScope(
+            tenant1,
+            ScopeUtils.getValidScopeRequestBody(
+                scope,
+                TEST_DISPLAY_NAME,
+                TEST_DESCRIPTION,
+                List.of(TEST_EMAIL_CLAIM),
+                TEST_ICON_URL,
+                false))
+        .then()
+        .statusCode(SC_CREATED);
+    Response beforeAssign = requestClientCredentialsToken(scope);
+
+    // Act
+    createClientScope(tenant1, validClientId, ClientUtils.createClientScopeRequest(scope))
+        .then()
+        .statusCode(SC_NO_CONTENT);
+    Response afterAssign = requestClientCredentialsToken(scope);
+    deleteScope(tenant1, scope).then().statusCode(SC_NO_CONTENT);
+    Response afterDelete = requestClientCredentialsToken(scope);
+
+    // Validate
+    beforeAssign.then().statusCode(SC_BAD_REQUEST).body(ERROR, equalTo(TOKEN_ERROR_INVALID_SCOPE));
+    afterAssign.then().statusCode(SC_OK);
+    validateScope(afterAssign, scope);
+    afterDelete.then().statusCode(SC_BAD_REQUEST).body(ERROR, equalTo(TOKEN_ERROR_INVALID_SCOPE));
+  }
+
   @Test
   @DisplayName(
       "Refresh Token - Should return access token successfully for valid refresh token - basic auth")
@@ -1338,6 +1441,78 @@ public class OidcTokenIT {
         .body(ERROR_DESCRIPTION, equalTo(TOKEN_ERROR_MSG_AUTHORIZATION_CODE_INVALID));
   }
 
+  @Test
+  @DisplayName("Authorization Code - Should reject an authorization code exchanged a second time")
+  public void testAuthorizationCodeReplay() {
+    // Arrange
+    StubMapping stubMapping = getOidcUserStub(generateRandomEmail(), generateRandomPhoneNumber());
+    exchangeAuthorizationCode(validAuthCode, EXAMPLE_CALLBACK).then().statusCode(SC_OK);
+
+    // Act
+    Response response = exchangeAuthorizationCode(validAuthCode, EXAMPLE_CALLBACK);
+
+    // Validate
+    response
+        .then()
+        .statusCode(SC_BAD_REQUEST)
+        .body(ERROR, equalTo(TOKEN_ERROR_INVALID_GRANT))
+        .body(ERROR_DESCRIPTION, equalTo(TOKEN_ERROR_MSG_AUTHORIZATION_CODE_INVALID));
+
+    wireMockServer.removeStub(stubMapping);
+  }
+
+  @Test
+  @DisplayName("Authorization Code - Should exchange a code only once across concurrent requests")
+  public void testAuthorizationCodeConcurrentExchange() {
+    // Arrange
+    StubMapping stubMapping = getOidcUserStub(generateRandomEmail(), generateRandomPhoneNumber());
+
+    // Act
+    List<Response> responses =
+        sendConcurrently(
+            CONCURRENT_EXCHANGES,
+            () -> exchangeAuthorizationCode(validAuthCode, EXAMPLE_CALLBACK));
+
+    // Validate
+    List<Response> succeeded =
+        responses.stream().filter(response -> response.getStatusCode() == SC_OK).toList();
+    assertThat(succeeded.size(), equalTo(1));
+    responses.stream()
+        .filter(response -> response.getStatusCode() != SC_OK)
+        .forEach(
+            response ->
+                response
+                    .then()
+                    .statusCode(SC_BAD_REQUEST)
+                    .body(ERROR, equalTo(TOKEN_ERROR_INVALID_GRANT))
+                    .body(ERROR_DESCRIPTION, equalTo(TOKEN_ERROR_MSG_AUTHORIZATION_CODE_INVALID)));
+
+    wireMockServer.removeStub(stubMapping);
+  }
+
+  @Test
+  @DisplayName("Authorization Code - Should use up the code on a failed exchange")
+  public void testAuthorizationCodeUsedUpByFailedExchange() {
+    // Arrange
+    StubMapping stubMapping = getOidcUserStub(generateRandomEmail(), generateRandomPhoneNumber());
+    exchangeAuthorizationCode(validAuthCode, CALLBACK_1)
+        .then()
+        .statusCode(SC_BAD_REQUEST)
+        .body(ERROR_DESCRIPTION, equalTo(TOKEN_ERROR_MSG_REDIRECT_URI_INVALID));
+
+    // Act
+    Response response = exchangeAuthorizationCode(validAuthCode, EXAMPLE_CALLBACK);
+
+    // Validate
+    response
+        .then()
+        .statusCode(SC_BAD_REQUEST)
+        .body(ERROR, equalTo(TOKEN_ERROR_INVALID_GRANT))
+        .body(ERROR_DESCRIPTION, equalTo(TOKEN_ERROR_MSG_AUTHORIZATION_CODE_INVALID));
+
+    wireMockServer.removeStub(stubMapping);
+  }
+
   @Test
   @DisplayName("Authorization Code - Should return error for different client")
   public void testAuthorizationCodeDifferentClient() {
@@ -13,7 +13,9 @@ import static com.dreamsportslabs.guardian.Constants.JWT_CLAIM_TENANT_ID;
 import static com.dreamsportslabs.guardian.Constants.JWT_HEADER_KID;
 import static com.dreamsportslabs.guardian.constant.Constants.ACCESS_TOKEN_COOKIE_NAME;
 import static com.dreamsportslabs.guardian.constant.Constants.REFRESH_TOKEN_COOKIE_NAME;
+import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.getMetricValue;
 import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.refreshToken;
+import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.v2Logout;
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
@@ -35,18 +37,25 @@ import io.restassured.response.Response;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.ZonedDateTime;
+import java.util.HashMap;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.http.HttpStatus;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
 
 @Slf4j
 public class RefreshTokenIT {
   public static String tenant1 = "tenant1"; // OTP is mocked for this tenant
   public static String tenant3 = "tenant3"; // Additional claims are enabled for this tenant
 
+  private static final String REFRESH_TOKEN_CACHE_HITS =
+      "cache_gets_total{cache=\"refresh_token\",result=\"hit\"";
+  private static final long INVALIDATION_WAIT_MS = 500;
+
   private final ObjectMapper objectMapper = new ObjectMapper();
   private WireMockServer wireMockServer;
 
@@ -319,4 +328,79 @@ public class RefreshTokenIT {
     assertThat(response.getCookie(ACCESS_TOKEN_COOKIE_NAME), equalTo(""));
     assertThat(response.getCookie(REFRESH_TOKEN_COOKIE_NAME), equalTo(""));
   }
+
+  @Test()
+  @Tag("optional-features")
+  @EnabledIfEnvironmentVariable(named = "GUARDIAN_REFRESH_TOKEN_CACHE_ENABLED", matches = "true")
+  @DisplayName("Should serve a cached refresh token without reading it again")
+  public void testRefreshTokenServedFromCache() {
+    // Arrange
+    String refreshToken =
+        DbUtils.insertRefreshToken(
+            tenant1, "1234", 1800L, "source", "device1", "location", "1.2.3.4");
+    refreshToken(tenant1, refreshToken).then().statusCode(HttpStatus.SC_OK);
+    double hitsBefore = getMetricValue(REFRESH_TOKEN_CACHE_HITS);
+
+    // Act
+    DbUtils.deactivateRefreshToken(tenant1, refreshToken);
+    Response response = refreshToken(tenant1, refreshToken);
+
+    // Validate - the row changed behind the application's back is still served from the cache
+    response.then().statusCode(HttpStatus.SC_OK);
+    assertThat(getMetricValue(REFRESH_TOKEN_CACHE_HITS), equalTo(hitsBefore + 1));
+  }
+
+  @Test()
+  @Tag("optional-features")
+  @EnabledIfEnvironmentVariable(named = "GUARDIAN_REFRESH_TOKEN_CACHE_ENABLED", matches = "true")
+  @DisplayName("Should drop a cached refresh token when another node revokes it")
+  public void testRefreshTokenDroppedOnInvalidationFromAnotherNode() throws InterruptedException {
+    // Arrange
+    String refreshToken =
+        DbUtils.insertRefreshToken(
+            tenant1, "1234", 1800L, "source", "device1", "location", "1.2.3.4");
+    refreshToken(tenant1, refreshToken).then().statusCode(HttpStatus.SC_OK);
+
+    // Act - revoke the token as another node would: update the row, then broadcast
+    DbUtils.deactivateRefreshToken(tenant1, refreshToken);
+    DbUtils.publishRefreshTokenInvalidation(tenant1, refreshToken);
+    Thread.sleep(INVALIDATION_WAIT_MS);
+    Response response = refreshToken(tenant1, refreshToken);
+
+    // Validate
+    response.then().statusCode(HttpStatus.SC_UNAUTHORIZED);
+  }
+
+  @Test
+  @Tag("optional-features")
+  @EnabledIfEnvironmentVariable(named = "GUARDIAN_REFRESH_TOKEN_CACHE_ENABLED", matches = "true")
+  @DisplayName("Should reject a cached refresh token right after it is revoked through logout")
+  public void testRefreshTokenRejectedRightAfterLogout() {
+    // Arrange - token logout revokes by client, so the token needs one
+    String clientId = DbUtils.addFirstPartyClient(tenant1);
+    String refreshToken =
+        DbUtils.insertOidcRefreshToken(
+            tenant1,
+            clientId,
+            "1234",
+            1800L,
+            "[\"openid\"]",
+            "device1",
+            "1.2.3.4",
+            "source",
+            "location",
+            "[\"PASSWORD\"]");
+    refreshToken(tenant1, refreshToken).then().statusCode(HttpStatus.SC_OK);
+
+    Map<String, Object> logoutBody = new HashMap<>();
+    logoutBody.put("refresh_token", refreshToken);
+    logoutBody.put("logout_type", "TOKEN");
+    v2Logout(tenant1, logoutBody, null).then().statusCode(HttpStatus.SC_NO_CONTENT);
+
+    // Act
+    Response response = refreshToken(tenant1, refreshToken);
+
+    // Validate
+    response.then().statusCode(HttpStatus.SC_UNAUTHORIZED);
+  }
 }
@@ -0,0 +1,139 @@
+package com.dreamsportslabs.guardian.it;
+
+import static com.dreamsportslabs.guardian.Constants.ERROR;
+import static com.dreamsportslabs.guardian.Constants.ERROR_INVALID_REQUEST;
+import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.getRevocations;
+import static com.dreamsportslabs.guardian.utils.DbUtils.addRevocationToRedis;
+import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
+import static org.apache.http.HttpStatus.SC_BAD_REQUEST;
+import static org.apache.http.HttpStatus.SC_OK;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import io.restassured.response.Response;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class RevocationsIT {
+  private static final String TENANT_ID = "tenant1";
+  private static final String FORMAT = "format";
+  private static final String FROM = "from";
+
+  @Test
+  @DisplayName("Should return revocations as a json list by default")
+  void revocationsAsJsonList() {
+    // Act
+    Response response = getRevocations(TENANT_ID, new HashMap<>());
+
+    // Validate
+    response.then().statusCode(SC_OK);
+    assertThat(response.jsonPath().getString(FORMAT), equalTo("json"));
+    assertThat(response.jsonPath().getList("revocations"), notNullValue());
+    assertThat(response.jsonPath().getLong("to"), greaterThan(0L));
+  }
+
+  @Test
+  @DisplayName("Should return revocations as packed digests")
+  void revocationsAsPackedDigests() {
+    // Arrange
+    Map<String, String> queryParams = new HashMap<>();
+    queryParams.put(FORMAT, "packed");
+
+    // Act
+    Response response = getRevocations(TENANT_ID, queryParams);
+
+    // Validate
+    response.then().statusCode(SC_OK);
+    assertThat(response.jsonPath().getString(FORMAT), equalTo("packed"));
+    assertThat(response.jsonPath().get("revocations"), nullValue());
+    byte[] packed = Base64.getDecoder().decode(response.jsonPath().getString("packed"));
+    assertThat(packed.length % 16, equalTo(0));
+  }
+
+  @Test
+  @DisplayName("Should return revocations as a bloom filter")
+  void revocationsAsBloomFilter() {
+    // Arrange
+    Map<String, String> queryParams = new HashMap<>();
+    queryParams.put(FORMAT, "bloom");
+
+    // Act
+    Response response = getRevocations(TENANT_ID, queryParams);
+
+    // Validate
+    response.then().statusCode(SC_OK);
+    assertThat(response.jsonPath().getString(FORMAT), equalTo("bloom"));
+    int numBits = response.jsonPath().getInt("bloom.num_bits");
+    byte[] bits = Base64.getDecoder().decode(response.jsonPath().getString("bloom.bits"));
+    assertThat(bits.length * 8, equalTo(numBits));
+    assertThat(response.jsonPath().getInt("bloom.num_hashes"), greaterThan(0));
+    assertThat(response.jsonPath().getDouble("bloom.false_positive_rate"), equalTo(0.001));
+  }
+
+  @Test
+  @DisplayName("Should keep a revocation written late ahead of the returned cursor")
+  void lateRevocationIsAheadOfCursor() {
+    // Arrange
+    long now = Instant.now().getEpochSecond();
+    String rftId = randomAlphanumeric(32).toUpperCase();
+    addRevocationToRedis(TENANT_ID, rftId, now - 1);
+
+    Map<String, String> queryParams = new HashMap<>();
+    queryParams.put(FROM, String.valueOf(now - 120));
+
+    // Act
+    Response response = getRevocations(TENANT_ID, queryParams);
+
+    // Validate
+    response.then().statusCode(SC_OK);
+    long to = response.jsonPath().getLong("to");
+    assertThat(to, lessThanOrEqualTo(now - 10));
+    assertThat(response.jsonPath().getList("revocations"), not(hasItem(rftId)));
+  }
+
+  @Test
+  @DisplayName("Should not move the cursor when polled again within the write delay")
+  void cursorDoesNotMoveWithinWriteDelay() {
+    // Arrange
+    long from = Instant.now().getEpochSecond() - 2;
+    Map<String, String> queryParams = new HashMap<>();
+    queryParams.put(FROM, String.valueOf(from));
+
+    // Act
+    Response response = getRevocations(TENANT_ID, queryParams);
+
+    // Validate
+    response.then().statusCode(SC_OK);
+    assertThat(response.jsonPath().getLong("to"), equalTo(response.jsonPath().getLong("from")));
+    assertThat(response.jsonPath().getList("revocations"), empty());
+  }
+
+  @Test
+  @DisplayName("Should reject an unknown revocation format")
+  void unknownRevocationFormat() {
+    // Arrange
+    Map<String, String> queryParams = new HashMap<>();
+    queryParams.put(FORMAT, "xml");
+
+    // Act
+    Response response = getRevocations(TENANT_ID, queryParams);
+
+    // Validate
+    response
+        .then()
+        .statusCode(SC_BAD_REQUEST)
+        .rootPath(ERROR)
+        .body("code", equalTo(ERROR_INVALID_REQUEST));
+  }
+}
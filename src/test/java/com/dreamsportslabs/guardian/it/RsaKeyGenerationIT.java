@@ -15,6 +15,7 @@ import static org.hamcrest.Matchers.is;
 import io.restassured.response.Response;
 import io.vertx.core.json.JsonObject;
 import java.security.KeyFactory;
+import java.security.interfaces.ECPublicKey;
 import java.security.interfaces.RSAPrivateKey;
 import java.security.interfaces.RSAPublicKey;
 import java.security.spec.PKCS8EncodedKeySpec;
@@ -247,6 +248,61 @@ public class RsaKeyGenerationIT {
         .body(MESSAGE, equalTo(ERROR_MSG_INVALID_KEY_FORMAT));
   }
 
+  @Test
+  @DisplayName("Should generate P-256 EC key when key type is EC")
+  void generateEcKey() throws Exception {
+    // Arrange
+    Map<String, Object> requestBody = new HashMap<>();
+    requestBody.put(KEY_GENERATION_KEY_TYPE, KEY_TYPE_EC);
+
+    // Act
+    Response response = generateRsaKey(requestBody);
+
+    // Assert
+    response
+        .then()
+        .statusCode(200)
+        .body(RSA_KEY_KID, isA(String.class))
+        .body(RSA_KEY_SIZE, equalTo(EC_KEY_SIZE_256));
+
+    JsonObject responseBody = extractResponseBody(response);
+    String publicKey = responseBody.getString(RSA_KEY_PUBLIC_KEY);
+    assertThat(publicKey, containsString(PEM_PUBLIC_KEY_HEADER));
+    assertThat(
+        responseBody.getString(RSA_KEY_PRIVATE_KEY), containsString(PEM_PRIVATE_KEY_HEADER));
+
+    String publicKeyContent =
+        publicKey
+            .replace(PEM_PUBLIC_KEY_HEADER, "")
+            .replace(PEM_PUBLIC_KEY_FOOTER, "")
+            .replaceAll("\\s", "");
+    ECPublicKey ecPublicKey =
+        (ECPublicKey)
+            KeyFactory.getInstance(EC_ALGORITHM)
+                .generatePublic(
+                    new X509EncodedKeySpec(Base64.getDecoder().decode(publicKeyContent)));
+    assertThat(ecPublicKey.getParams().getOrder().bitLength(), equalTo(EC_KEY_SIZE_256));
+  }
+
+  @Test
+  @DisplayName("Should return error for invalid key type")
+  void generateKeyWithInvalidKeyType() {
+    // Arrange
+    Map<String, Object> requestBody = new HashMap<>();
+    requestBody.put(KEY_GENERATION_KEY_TYPE, RSA_FORMAT_INVALID);
+
+    // Act
+    Response response = generateRsaKey(requestBody);
+
+    // Assert
+    response
+        .then()
+        .statusCode(400)
+        .rootPath(ERROR)
+        .body(CODE, equalTo(ERROR_INVALID_REQUEST))
+        .body(MESSAGE, equalTo(ERROR_MSG_INVALID_KEY_TYPE));
+  }
+
   // Helper methods for key parsing
   private RSAPublicKey parsePublicKey(String publicKeyPem) throws Exception {
     String publicKeyContent =
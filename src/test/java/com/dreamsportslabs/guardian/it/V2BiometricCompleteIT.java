@@ -106,6 +106,7 @@ public class V2BiometricCompleteIT {
 
   private static final String TENANT_ID = "tenant1";
   private static final String TEST_SCOPE = "profile";
+  private static final int CONCURRENT_COMPLETIONS = 5;
   private static String firstPartyClientId;
   private static String thirdPartyClientId;
   private WireMockServer wireMockServer;
@@ -1319,6 +1320,114 @@ public class V2BiometricCompleteIT {
     wireMockServer.removeStub(getUserStub);
   }
 
+  @Test
+  @DisplayName(
+      "V2BiometricComplete - Should complete a challenge only once across concurrent requests")
+  public void shouldCompleteChallengeOnceAcrossConcurrentRequests() throws Exception {
+    // Arrange
+    String phoneNumber = generateRandomPhoneNumber();
+    Map<String, Object> userSetup = setupUserAndGetRefreshToken(phoneNumber);
+    String refreshToken = (String) userSetup.get("refreshToken");
+    StubMapping getUserStub = (StubMapping) userSetup.get("getUserStub");
+
+    Map<String, Object> deviceMetadata =
+        createDeviceMetadata(PLATFORM_IOS, generateRandomDeviceId());
+    Response challengeResponse =
+        requestBiometricChallenge(refreshToken, firstPartyClientId, deviceMetadata);
+    challengeResponse.then().statusCode(SC_OK);
+
+    Map<String, Object> keyPair = BiometricTestUtils.generateECKeyPair();
+    Map<String, Object> completeBody =
+        createRegistrationBody(
+            refreshToken,
+            challengeResponse.jsonPath().getString(BODY_PARAM_STATE),
+            (String) keyPair.get(RSA_KEY_PUBLIC_KEY),
+            BiometricTestUtils.signChallenge(
+                (PrivateKey) keyPair.get(RSA_KEY_PRIVATE_KEY),
+                challengeResponse.jsonPath().getString(BODY_PARAM_CHALLENGE)),
+            deviceMetadata);
+
+    // Act
+    List<Response> responses =
+        ApplicationIoUtils.sendConcurrently(
+            CONCURRENT_COMPLETIONS,
+            () -> ApplicationIoUtils.v2BiometricComplete(TENANT_ID, completeBody));
+
+    // Assert - one completion wins, the others find the challenge gone
+    assertThat(
+        responses.stream().filter(response -> response.getStatusCode() == SC_OK).count(),
+        equalTo(1L));
+    responses.stream()
+        .filter(response -> response.getStatusCode() != SC_OK)
+        .forEach(
+            response ->
+                response
+                    .then()
+                    .statusCode(SC_BAD_REQUEST)
+                    .rootPath(ERROR)
+                    .body(CODE, equalTo(ERROR_CHALLENGE_NOT_FOUND)));
+
+    // Cleanup
+    wireMockServer.removeStub(getUserStub);
+  }
+
+  @Test
+  @DisplayName("V2BiometricComplete - Should use up the challenge on a failed completion")
+  public void shouldUseUpChallengeOnFailedCompletion() throws Exception {
+    // Arrange
+    String phoneNumber = generateRandomPhoneNumber();
+    Map<String, Object> userSetup = setupUserAndGetRefreshToken(phoneNumber);
+    String refreshToken = (String) userSetup.get("refreshToken");
+    StubMapping getUserStub = (StubMapping) userSetup.get("getUserStub");
+
+    Map<String, Object> deviceMetadata =
+        createDeviceMetadata(PLATFORM_IOS, generateRandomDeviceId());
+    Response challengeResponse =
+        requestBiometricChallenge(refreshToken, firstPartyClientId, deviceMetadata);
+    challengeResponse.then().statusCode(SC_OK);
+    String state = challengeResponse.jsonPath().getString(BODY_PARAM_STATE);
+    String challenge = challengeResponse.jsonPath().getString(BODY_PARAM_CHALLENGE);
+
+    Map<String, Object> keyPair = BiometricTestUtils.generateECKeyPair();
+    String publicKeyPem = (String) keyPair.get(RSA_KEY_PUBLIC_KEY);
+    PrivateKey privateKey = (PrivateKey) keyPair.get(RSA_KEY_PRIVATE_KEY);
+
+    ApplicationIoUtils.v2BiometricComplete(
+            TENANT_ID,
+            createRegistrationBody(
+                refreshToken,
+                state,
+                publicKeyPem,
+                BiometricTestUtils.createInvalidSignature(privateKey, "wrong_data"),
+                deviceMetadata))
+        .then()
+        .statusCode(SC_UNAUTHORIZED)
+        .rootPath(ERROR)
+        .body(CODE, equalTo(ERROR_INVALID_SIGNATURE));
+
+    // Act - retry with a valid signature for the same challenge
+    Response response =
+        ApplicationIoUtils.v2BiometricComplete(
+            TENANT_ID,
+            createRegistrationBody(
+                refreshToken,
+                state,
+                publicKeyPem,
+                BiometricTestUtils.signChallenge(privateKey, challenge),
+                deviceMetadata));
+
+    // Assert
+    response
+        .then()
+        .statusCode(SC_BAD_REQUEST)
+        .rootPath(ERROR)
+        .body(CODE, equalTo(ERROR_CHALLENGE_NOT_FOUND))
+        .body(MESSAGE, equalTo(ERROR_MSG_CHALLENGE_NOT_FOUND));
+
+    // Cleanup
+    wireMockServer.removeStub(getUserStub);
+  }
+
   // ========== Helper Methods ==========
 
   /**
@@ -1454,6 +1563,24 @@ public class V2BiometricCompleteIT {
                     .withBody(responseBody.encode())));
   }
 
+  /** Builds a registration complete request for the first party client */
+  private Map<String, Object> createRegistrationBody(
+      String refreshToken,
+      String state,
+      String publicKeyPem,
+      String signature,
+      Map<String, Object> deviceMetadata) {
+    Map<String, Object> completeBody = new HashMap<>();
+    completeBody.put(BIOMETRIC_BODY_PARAM_REFRESH_TOKEN, refreshToken);
+    completeBody.put(BODY_PARAM_STATE, state);
+    completeBody.put(BIOMETRIC_BODY_PARAM_CLIENT_ID, firstPartyClientId);
+    completeBody.put(BODY_PARAM_CREDENTIAL_ID, generateRandomCredentialId());
+    completeBody.put(BODY_PARAM_PUBLIC_KEY, publicKeyPem);
+    completeBody.put(BODY_PARAM_SIGNATURE, signature);
+    completeBody.put(BODY_PARAM_DEVICE_METADATA, deviceMetadata);
+    return completeBody;
+  }
+
   /** Creates device metadata map for biometric requests */
   private Map<String, Object> createDeviceMetadata(String platform, String deviceId) {
     Map<String, Object> deviceMetadata = new HashMap<>();
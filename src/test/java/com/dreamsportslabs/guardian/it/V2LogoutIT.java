@@ -6,6 +6,7 @@ import static com.dreamsportslabs.guardian.Constants.ERROR_UNAUTHORIZED;
 import static com.dreamsportslabs.guardian.Constants.MESSAGE;
 import static com.dreamsportslabs.guardian.constant.Constants.ACCESS_TOKEN_COOKIE_NAME;
 import static com.dreamsportslabs.guardian.constant.Constants.REFRESH_TOKEN_COOKIE_NAME;
+import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.getMetricValue;
 import static com.dreamsportslabs.guardian.utils.DbUtils.addDefaultClientScopes;
 import static com.dreamsportslabs.guardian.utils.DbUtils.addFirstPartyClient;
 import static com.dreamsportslabs.guardian.utils.DbUtils.addScope;
@@ -13,6 +14,7 @@ import static com.dreamsportslabs.guardian.utils.DbUtils.addThirdPartyClient;
 import static io.restassured.RestAssured.given;
 import static org.apache.http.HttpStatus.SC_BAD_REQUEST;
 import static org.apache.http.HttpStatus.SC_NO_CONTENT;
+import static org.apache.http.HttpStatus.SC_OK;
 import static org.apache.http.HttpStatus.SC_UNAUTHORIZED;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.either;
@@ -26,7 +28,9 @@ import java.util.HashMap;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
 
 class V2LogoutIT {
 
@@ -35,6 +39,10 @@ class V2LogoutIT {
   public static String tenant1 = "tenant1";
   private static final String TEST_SCOPE_1 = "scope1";
   private static final String TEST_SCOPE_2 = "scope2";
+  private static final String ACCESS_TOKEN_CACHE_HITS =
+      "cache_gets_total{cache=\"access_token\",result=\"hit\"";
+  private static final String ACCESS_TOKEN_CACHE_MISSES =
+      "cache_gets_total{cache=\"access_token\",result=\"miss\"";
   static String client1;
   static String client2;
 
@@ -533,4 +541,46 @@ class V2LogoutIT {
         DbUtils.isRefreshTokenRevoked(cookieToken, tenant1),
         equalTo(true));
   }
+
+  @Test
+  @Tag("optional-features")
+  @EnabledIfEnvironmentVariable(named = "GUARDIAN_ACCESS_TOKEN_CACHE_ENABLED", matches = "true")
+  @DisplayName("Should stop serving cached claims of access tokens issued from a logged out token")
+  void testLogoutDropsCachedAccessToken() {
+    // Arrange
+    String refreshToken =
+        DbUtils.insertOidcRefreshToken(
+            tenant1,
+            client1,
+            VALID_USER_ID,
+            1800L,
+            "[\"openid\", \"profile\"]",
+            "test-device",
+            "127.0.0.1",
+            "test-source",
+            "test-location",
+            "[\"PASSWORD\"]");
+    DbUtils.insertSsoTokenWithRefreshToken(tenant1, client1, VALID_USER_ID, refreshToken, 1800L);
+    Response refreshResponse = ApplicationIoUtils.v2RefreshToken(tenant1, refreshToken, client1);
+    refreshResponse.then().statusCode(SC_OK);
+    String accessToken = refreshResponse.jsonPath().getString("access_token");
+
+    // Only the verification of the access token is of interest here, not the userinfo response
+    ApplicationIoUtils.getUserInfo(tenant1, accessToken);
+    double hitsBefore = getMetricValue(ACCESS_TOKEN_CACHE_HITS);
+    ApplicationIoUtils.getUserInfo(tenant1, accessToken);
+    assertThat(getMetricValue(ACCESS_TOKEN_CACHE_HITS), equalTo(hitsBefore + 1));
+
+    Map<String, Object> requestBody = new HashMap<>();
+    requestBody.put("refresh_token", refreshToken);
+    requestBody.put("logout_type", "TOKEN");
+
+    // Act
+    ApplicationIoUtils.v2Logout(tenant1, requestBody, null).then().statusCode(SC_NO_CONTENT);
+    double missesBefore = getMetricValue(ACCESS_TOKEN_CACHE_MISSES);
+    ApplicationIoUtils.getUserInfo(tenant1, accessToken);
+
+    // Validate
+    assertThat(getMetricValue(ACCESS_TOKEN_CACHE_MISSES), equalTo(missesBefore + 1));
+  }
 }
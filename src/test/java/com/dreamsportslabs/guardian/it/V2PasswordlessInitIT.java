@@ -14,6 +14,7 @@ import static com.dreamsportslabs.guardian.Constants.BODY_PARAM_LOCATION;
 import static com.dreamsportslabs.guardian.Constants.BODY_PARAM_META_INFO;
 import static com.dreamsportslabs.guardian.Constants.BODY_PARAM_META_INFO_V2;
 import static com.dreamsportslabs.guardian.Constants.BODY_PARAM_NAME;
+import static com.dreamsportslabs.guardian.Constants.BODY_PARAM_OTP;
 import static com.dreamsportslabs.guardian.Constants.BODY_PARAM_PHONE_NUMBER;
 import static com.dreamsportslabs.guardian.Constants.BODY_PARAM_RESPONSE_TYPE;
 import static com.dreamsportslabs.guardian.Constants.BODY_PARAM_RESPONSE_TYPE_TOKEN;
@@ -39,6 +40,7 @@ import static com.dreamsportslabs.guardian.Constants.HEADER_TENANT_ID;
 import static com.dreamsportslabs.guardian.Constants.PASSWORDLESS_FLOW_SIGNIN;
 import static com.dreamsportslabs.guardian.Constants.PASSWORDLESS_FLOW_SIGNINUP;
 import static com.dreamsportslabs.guardian.Constants.PASSWORDLESS_FLOW_SIGNUP;
+import static com.dreamsportslabs.guardian.Constants.RESPONSE_BODY_PARAM_ACCESS_TOKEN;
 import static com.dreamsportslabs.guardian.Constants.RESPONSE_BODY_PARAM_BLOCKED_FLOWS;
 import static com.dreamsportslabs.guardian.Constants.RESPONSE_BODY_PARAM_IS_NEW_USER_V2;
 import static com.dreamsportslabs.guardian.Constants.RESPONSE_BODY_PARAM_RESENDS;
@@ -49,12 +51,15 @@ import static com.dreamsportslabs.guardian.Constants.RESPONSE_BODY_PARAM_STATE;
 import static com.dreamsportslabs.guardian.Constants.RESPONSE_BODY_PARAM_TOTAL_COUNT;
 import static com.dreamsportslabs.guardian.Constants.RESPONSE_BODY_PARAM_TRIES;
 import static com.dreamsportslabs.guardian.Constants.TENANT_1;
+import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.getMetricValue;
+import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.v2PasswordlessComplete;
 import static com.dreamsportslabs.guardian.utils.DbUtils.addDefaultClientScopes;
 import static com.dreamsportslabs.guardian.utils.DbUtils.addFirstPartyClient;
 import static com.dreamsportslabs.guardian.utils.DbUtils.addScope;
 import static com.dreamsportslabs.guardian.utils.DbUtils.clearUserBlockedTable;
 import static com.dreamsportslabs.guardian.utils.DbUtils.createState;
 import static com.dreamsportslabs.guardian.utils.DbUtils.getState;
+import static com.dreamsportslabs.guardian.utils.DbUtils.getStateBytes;
 import static com.dreamsportslabs.guardian.utils.DbUtils.getStateTtl;
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
@@ -69,6 +74,7 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.isA;
 import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 
 import com.github.tomakehurst.wiremock.WireMockServer;
@@ -87,7 +93,9 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
 import redis.clients.jedis.Jedis;
 
 @Slf4j
@@ -100,6 +108,7 @@ public class V2PasswordlessInitIT {
   private static final String REDIS_HOST = "localhost";
   private static final int REDIS_PORT = 6379;
   private static final String REDIS_KEY_PREFIX = "otp_resend_count";
+  private static final String REDIS_SCRIPT_RELOADS = "guardian_redis_script_reloads_total";
   private static String client1;
   private WireMockServer wireMockServer;
 
@@ -206,6 +215,39 @@ public class V2PasswordlessInitIT {
     wireMockServer.removeStub(stub);
   }
 
+  @Test
+  @DisplayName("Should count the OTP send when redis has dropped its cached scripts")
+  public void testInitAfterRedisScriptFlush() {
+    // Arrange
+    String phoneNumber = generateRandomPhoneNumber();
+    Map<String, Object> requestBody =
+        getRequestBodyInit(
+            client1,
+            List.of(TEST_SCOPE_1),
+            BODY_CHANNEL_SMS,
+            phoneNumber,
+            PASSWORDLESS_FLOW_SIGNINUP,
+            BODY_PARAM_RESPONSE_TYPE_TOKEN);
+
+    StubMapping stub = getStubForNonExistingUser();
+    try (Jedis jedis = new Jedis(REDIS_HOST, REDIS_PORT)) {
+      jedis.scriptFlush();
+    }
+    double reloadsBefore = getMetricValue(REDIS_SCRIPT_RELOADS);
+
+    // Act
+    Response response = v2PasswordlessInit(TENANT_1, requestBody);
+
+    // Validate
+    response.then().statusCode(SC_OK).body(RESPONSE_BODY_PARAM_STATE, isA(String.class));
+    assertThat(getRedisCounterValue(phoneNumber), equalTo("1"));
+    assertThat(getMetricValue(REDIS_SCRIPT_RELOADS), greaterThanOrEqualTo(reloadsBefore + 1));
+
+    // cleanup
+    cleanupRedisCounter(phoneNumber);
+    wireMockServer.removeStub(stub);
+  }
+
   @Test
   @DisplayName("Should create state for new user with email in SIGNINUP flow")
   public void testNewUserEmailSigninup() {
@@ -377,6 +419,52 @@ public class V2PasswordlessInitIT {
         .body(RESPONSE_BODY_PARAM_STATE, equalTo(state));
   }
 
+  @Test
+  @Tag("optional-features")
+  @EnabledIfEnvironmentVariable(named = "GUARDIAN_FLOW_STATE_FORMAT", matches = "SMILE")
+  @DisplayName("Should read state written as plain JSON and save it back as Smile")
+  public void testResendWithPlainJsonStateInSmileMode() {
+    // Arrange
+    String state = RandomStringUtils.randomAlphabetic(10);
+    addStateInRedis(
+        state,
+        300,
+        BODY_CHANNEL_SMS,
+        0,
+        0,
+        System.currentTimeMillis() / 1000 - 30,
+        60,
+        PASSWORDLESS_FLOW_SIGNINUP,
+        300);
+    assertThat(getStateBytes(state, TENANT_1)[0], equalTo((byte) '{'));
+
+    Map<String, Object> requestBody = new HashMap<>();
+    requestBody.put(BODY_PARAM_CLIENT_ID, client1);
+    requestBody.put(BODY_PARAM_SCOPES, List.of(TEST_SCOPE_1));
+    requestBody.put(BODY_PARAM_STATE, state);
+    requestBody.put(BODY_PARAM_RESPONSE_TYPE, BODY_PARAM_RESPONSE_TYPE_TOKEN);
+
+    // Act
+    Response response = v2PasswordlessInit(TENANT_1, requestBody);
+
+    // Validate
+    response
+        .then()
+        .statusCode(SC_OK)
+        .body(RESPONSE_BODY_PARAM_RESENDS, equalTo(1))
+        .body(RESPONSE_BODY_PARAM_STATE, equalTo(state));
+    assertThat(getStateBytes(state, TENANT_1)[0], not(equalTo((byte) '{')));
+
+    // The state saved as Smile is read back to complete the flow
+    Map<String, Object> completeRequestBody = new HashMap<>();
+    completeRequestBody.put(BODY_PARAM_STATE, state);
+    completeRequestBody.put(BODY_PARAM_OTP, "999999");
+    v2PasswordlessComplete(TENANT_1, completeRequestBody)
+        .then()
+        .statusCode(SC_OK)
+        .body(RESPONSE_BODY_PARAM_ACCESS_TOKEN, isA(String.class));
+  }
+
   @Test
   @DisplayName("Should return error for invalid state")
   public void testInvalidState() {
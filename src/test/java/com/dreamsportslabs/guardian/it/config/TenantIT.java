@@ -20,14 +20,18 @@ import static com.dreamsportslabs.guardian.constant.Constants.DEFAULT_TOKEN_CONF
 import static com.dreamsportslabs.guardian.constant.Constants.DEFAULT_USER_CONFIG_HOST;
 import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.createTenant;
 import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.deleteTenant;
+import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.getJwks;
+import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.getMetricValue;
 import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.getTenant;
 import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.getTenantByName;
 import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.updateTenant;
 import static com.dreamsportslabs.guardian.utils.DbUtils.cleanupChangelog;
 import static com.dreamsportslabs.guardian.utils.DbUtils.getTokenConfig;
 import static com.dreamsportslabs.guardian.utils.DbUtils.getUserConfig;
+import static com.dreamsportslabs.guardian.utils.DbUtils.publishTenantInvalidation;
 import static com.dreamsportslabs.guardian.utils.DbUtils.tenantExists;
 import static com.dreamsportslabs.guardian.utils.DbUtils.tokenConfigExists;
+import static com.dreamsportslabs.guardian.utils.DbUtils.touchTokenConfig;
 import static com.dreamsportslabs.guardian.utils.DbUtils.userConfigExists;
 import static org.apache.http.HttpStatus.SC_BAD_REQUEST;
 import static org.apache.http.HttpStatus.SC_CREATED;
@@ -47,11 +51,21 @@ import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
 import org.junit.jupiter.api.extension.ExtendWith;
 
 @ExtendWith(Setup.class)
 public class TenantIT {
+  private static final String UNKNOWN_TENANT_REJECTIONS =
+      "guardian_tenant_config_rejected_total{reason=\"unknown_tenant\"";
+  private static final String UNCHANGED_REFRESHES =
+      "guardian_tenant_config_refresh_total{result=\"unchanged\"";
+  private static final String REBUILT_REFRESHES =
+      "guardian_tenant_config_refresh_total{result=\"rebuilt\"";
+  private static final String REFRESH_INTERVAL_ENV = "GUARDIAN_TENANT_CONFIG_REFRESH_INTERVAL";
+  private static final long RELOAD_WAIT_MS = 500;
 
   private String testTenantId;
   private String testTenantName;
@@ -526,4 +540,115 @@ public class TenantIT {
     assertThat(userConfigExists(testTenantId), equalTo(true));
     assertThat(tokenConfigExists(testTenantId), equalTo(true));
   }
+
+  @Test
+  @DisplayName("Should return the unknown tenant error on every request for a missing tenant")
+  public void testUnknownTenantRejectedOnEveryRequest() {
+    // Arrange
+    String unknownTenantId = "unknown" + RandomStringUtils.randomAlphanumeric(6);
+
+    for (int i = 0; i < 3; i++) {
+      // Act
+      Response response = getJwks(unknownTenantId);
+
+      // Validate
+      response
+          .then()
+          .statusCode(SC_BAD_REQUEST)
+          .rootPath(ERROR)
+          .body(CODE, equalTo(INVALID_REQUEST))
+          .body(MESSAGE, equalTo("User config not found"));
+    }
+  }
+
+  @Test
+  @DisplayName("Should keep rejecting an unknown tenant without reading config after invalidation")
+  public void testUnknownTenantStaysUnknownAfterInvalidation() throws InterruptedException {
+    // Arrange
+    String unknownTenantId = "unknown" + RandomStringUtils.randomAlphanumeric(6);
+    publishTenantInvalidation(unknownTenantId);
+    Thread.sleep(500);
+    double rejectedBefore = getMetricValue(UNKNOWN_TENANT_REJECTIONS);
+
+    // Act
+    Response response = getJwks(unknownTenantId);
+
+    // Validate
+    response.then().statusCode(SC_BAD_REQUEST).rootPath(ERROR).body(CODE, equalTo(INVALID_REQUEST));
+    assertThat(getMetricValue(UNKNOWN_TENANT_REJECTIONS), equalTo(rejectedBefore + 1));
+  }
+
+  @Test
+  @DisplayName("Should serve a tenant right after it is created")
+  public void testCreatedTenantIsServed() {
+    // Arrange
+    Map<String, Object> requestBody = new HashMap<>();
+    requestBody.put(REQUEST_FIELD_ID, testTenantId);
+    requestBody.put(REQUEST_FIELD_NAME, testTenantName);
+    getJwks(testTenantId).then().statusCode(SC_BAD_REQUEST);
+
+    // Act
+    createTenant(requestBody).then().statusCode(SC_CREATED);
+    Response response = getJwks(testTenantId);
+
+    // Validate
+    response.then().statusCode(SC_OK);
+  }
+
+  @Test
+  @Tag("optional-features")
+  @EnabledIfEnvironmentVariable(named = REFRESH_INTERVAL_ENV, matches = "\\d+")
+  @DisplayName("Should keep the tenant config on refresh when it has not changed")
+  public void testUnchangedTenantIsNotRebuiltOnRefresh() throws InterruptedException {
+    // Arrange
+    createTestTenant();
+    getJwks(testTenantId).then().statusCode(SC_OK);
+    waitForRefreshInterval();
+    double unchangedBefore = getMetricValue(UNCHANGED_REFRESHES);
+    double rebuiltBefore = getMetricValue(REBUILT_REFRESHES);
+
+    // Act
+    getJwks(testTenantId).then().statusCode(SC_OK);
+    Thread.sleep(RELOAD_WAIT_MS);
+
+    // Validate
+    assertThat(getMetricValue(UNCHANGED_REFRESHES), equalTo(unchangedBefore + 1));
+    assertThat(getMetricValue(REBUILT_REFRESHES), equalTo(rebuiltBefore));
+    getJwks(testTenantId).then().statusCode(SC_OK);
+  }
+
+  @Test
+  @Tag("optional-features")
+  @EnabledIfEnvironmentVariable(named = REFRESH_INTERVAL_ENV, matches = "\\d+")
+  @DisplayName("Should rebuild the tenant config on refresh when it has changed")
+  public void testChangedTenantIsRebuiltOnRefresh() throws InterruptedException {
+    // Arrange
+    createTestTenant();
+    getJwks(testTenantId).then().statusCode(SC_OK);
+    waitForRefreshInterval();
+    touchTokenConfig(testTenantId);
+    double unchangedBefore = getMetricValue(UNCHANGED_REFRESHES);
+    double rebuiltBefore = getMetricValue(REBUILT_REFRESHES);
+
+    // Act
+    getJwks(testTenantId).then().statusCode(SC_OK);
+    Thread.sleep(RELOAD_WAIT_MS);
+
+    // Validate
+    assertThat(getMetricValue(REBUILT_REFRESHES), equalTo(rebuiltBefore + 1));
+    assertThat(getMetricValue(UNCHANGED_REFRESHES), equalTo(unchangedBefore));
+    getJwks(testTenantId).then().statusCode(SC_OK);
+  }
+
+  private void createTestTenant() {
+    Map<String, Object> requestBody = new HashMap<>();
+    requestBody.put(REQUEST_FIELD_ID, testTenantId);
+    requestBody.put(REQUEST_FIELD_NAME, testTenantName);
+    createTenant(requestBody).then().statusCode(SC_CREATED);
+  }
+
+  private void waitForRefreshInterval() throws InterruptedException {
+    long refreshIntervalSeconds = Long.parseLong(System.getenv(REFRESH_INTERVAL_ENV));
+    Thread.sleep(refreshIntervalSeconds * 1000 + RELOAD_WAIT_MS);
+  }
 }
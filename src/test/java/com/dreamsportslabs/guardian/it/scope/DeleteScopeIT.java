@@ -1,6 +1,11 @@
 package com.dreamsportslabs.guardian.it.scope;
 
+import static com.dreamsportslabs.guardian.Constants.CODE;
+import static com.dreamsportslabs.guardian.Constants.ERROR;
 import static com.dreamsportslabs.guardian.Constants.HEADER_TENANT_ID;
+import static com.dreamsportslabs.guardian.Constants.INVALID_REQUEST;
+import static com.dreamsportslabs.guardian.Constants.MESSAGE;
+import static com.dreamsportslabs.guardian.Constants.NO_VALID_SCOPES;
 import static com.dreamsportslabs.guardian.Constants.QUERY_PARAM_NAME;
 import static com.dreamsportslabs.guardian.Constants.TENANT_1;
 import static com.dreamsportslabs.guardian.Constants.TEST_DESCRIPTION;
@@ -13,6 +18,7 @@ import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.createScope;
 import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.deleteScope;
 import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.listScopes;
 import static io.restassured.RestAssured.given;
+import static org.apache.http.HttpStatus.SC_BAD_REQUEST;
 import static org.apache.http.HttpStatus.SC_CREATED;
 import static org.apache.http.HttpStatus.SC_METHOD_NOT_ALLOWED;
 import static org.apache.http.HttpStatus.SC_NOT_FOUND;
@@ -31,6 +37,7 @@ import java.util.List;
 import java.util.Map;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
 public class DeleteScopeIT {
@@ -134,6 +141,29 @@ public class DeleteScopeIT {
     assertThat(DbUtils.clientExists(TENANT_1, clientId), equalTo(true));
   }
 
+  @Test
+  @Tag("optional-features")
+  @DisplayName("Deleted scope can no longer be assigned to a client")
+  public void testDeletedScopeCannotBeAssignedToClient() {
+    // Arrange
+    String scope = RandomStringUtils.randomAlphabetic(10);
+    createScope(TENANT_1, getValidScopeRequestBody(scope)).then().statusCode(SC_CREATED);
+    addScopeToClient(TENANT_1, createTestClient(TENANT_1), scope);
+
+    // Act
+    deleteScope(TENANT_1, scope).then().statusCode(SC_NO_CONTENT);
+    Response response =
+        createClientScope(TENANT_1, createTestClient(TENANT_1), Map.of("scopes", List.of(scope)));
+
+    // Validate
+    response
+        .then()
+        .statusCode(SC_BAD_REQUEST)
+        .rootPath(ERROR)
+        .body(CODE, equalTo(INVALID_REQUEST))
+        .body(MESSAGE, equalTo(NO_VALID_SCOPES));
+  }
+
   private Map<String, Object> getValidScopeRequestBody(String scope) {
     return ScopeUtils.getValidScopeRequestBody(
         scope, TEST_DISPLAY_NAME, TEST_DESCRIPTION, List.of(TEST_EMAIL_CLAIM), TEST_ICON_URL, true);
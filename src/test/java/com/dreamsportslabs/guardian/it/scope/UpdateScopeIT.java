@@ -20,6 +20,7 @@ import static com.dreamsportslabs.guardian.Constants.ERROR_MSG_NO_FIELDS_TO_UPDA
 import static com.dreamsportslabs.guardian.Constants.ERROR_MSG_OPENID_SCOPE_INVALID_CLAIMS;
 import static com.dreamsportslabs.guardian.Constants.ERROR_MSG_PHONE_SCOPE_INVALID_CLAIMS;
 import static com.dreamsportslabs.guardian.Constants.ERROR_MSG_SCOPE_NOT_FOUND;
+import static com.dreamsportslabs.guardian.Constants.HEADER_TENANT_ID;
 import static com.dreamsportslabs.guardian.Constants.MESSAGE;
 import static com.dreamsportslabs.guardian.Constants.NO_FIELDS_TO_UPDATE;
 import static com.dreamsportslabs.guardian.Constants.SCOPE_ADDRESS;
@@ -50,15 +51,19 @@ import static com.dreamsportslabs.guardian.Constants.TEST_UPDATED_DISPLAY_NAME;
 import static com.dreamsportslabs.guardian.Constants.TEST_UPDATED_ICON_URL;
 import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.createScope;
 import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.deleteScope;
+import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.getOidcDiscovery;
 import static com.dreamsportslabs.guardian.utils.ApplicationIoUtils.updateScope;
 import static com.dreamsportslabs.guardian.utils.DbUtils.cleanUpScopes;
 import static com.dreamsportslabs.guardian.utils.ScopeUtils.getValidScopeRequestBody;
 import static com.dreamsportslabs.guardian.utils.ScopeUtils.validateInDb;
 import static org.apache.http.HttpStatus.SC_BAD_REQUEST;
+import static org.apache.http.HttpStatus.SC_CREATED;
 import static org.apache.http.HttpStatus.SC_OK;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
 
 import io.restassured.response.Response;
 import java.util.HashMap;
@@ -67,6 +72,7 @@ import java.util.Map;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EmptySource;
@@ -1255,4 +1261,41 @@ public class UpdateScopeIT {
     // Cleanup
     deleteScope(TENANT_1, scopeName);
   }
+
+  @Test
+  @Tag("optional-features")
+  @DisplayName("Should list the scope in OIDC discovery once it is updated to an OIDC scope")
+  public void testUpdatedScopeIsListedInDiscovery() {
+    // Arrange
+    String scopeName = RandomStringUtils.randomAlphabetic(10);
+    createScope(
+            TENANT_1,
+            getValidScopeRequestBody(
+                scopeName,
+                TEST_DISPLAY_NAME,
+                TEST_DESCRIPTION,
+                List.of(TEST_EMAIL_CLAIM),
+                TEST_ICON_URL,
+                false))
+        .then()
+        .statusCode(SC_CREATED);
+    assertThat(getSupportedScopes(), not(hasItem(scopeName)));
+
+    // Act
+    updateScope(TENANT_1, scopeName, getValidUpdateRequestBody(null, null, null, null, true))
+        .then()
+        .statusCode(SC_OK);
+
+    // Validate
+    assertThat(getSupportedScopes(), hasItem(scopeName));
+
+    // Cleanup
+    deleteScope(TENANT_1, scopeName);
+  }
+
+  private List<String> getSupportedScopes() {
+    Response response = getOidcDiscovery(Map.of(HEADER_TENANT_ID, TENANT_1), new HashMap<>());
+    response.then().statusCode(SC_OK);
+    return response.jsonPath().getList("scopes_supported", String.class);
+  }
 }
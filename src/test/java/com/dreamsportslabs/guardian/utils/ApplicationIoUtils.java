@@ -29,10 +29,17 @@ import static org.apache.http.HttpHeaders.CONTENT_TYPE;
 
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import org.testcontainers.shaded.org.apache.commons.lang3.StringUtils;
 
 public class ApplicationIoUtils {
@@ -373,6 +380,56 @@ public class ApplicationIoUtils {
     return execute(null, headers, new HashMap<>(), spec -> spec.get("/v1/certs"));
   }
 
+  public static Response getRevocations(String tenantId, Map<String, String> queryParams) {
+    Map<String, String> headers = new HashMap<>();
+    headers.put(HEADER_TENANT_ID, tenantId);
+
+    return execute(null, headers, queryParams, spec -> spec.get("/v1/revocations"));
+  }
+
+  public static Response getMetrics() {
+    return execute(null, new HashMap<>(), new HashMap<>(), spec -> spec.get("/metrics"));
+  }
+
+  /** Sends the same request from {@code count} threads at once and returns every response. */
+  public static List<Response> sendConcurrently(int count, Supplier<Response> request) {
+    ExecutorService executor = Executors.newFixedThreadPool(count);
+    CountDownLatch start = new CountDownLatch(1);
+    try {
+      List<Future<Response>> futures = new ArrayList<>();
+      for (int i = 0; i < count; i++) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  return request.get();
+                }));
+      }
+      start.countDown();
+
+      List<Response> responses = new ArrayList<>();
+      for (Future<Response> future : futures) {
+        responses.add(future.get());
+      }
+      return responses;
+    } catch (InterruptedException | ExecutionException e) {
+      throw new RuntimeException("Concurrent requests failed", e);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /** Sum of the samples whose series starts with the given name and labels, 0 when none. */
+  public static double getMetricValue(String series) {
+    double value = 0;
+    for (String line : getMetrics().getBody().asString().split("\n")) {
+      if (line.startsWith(series)) {
+        value += Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+      }
+    }
+    return value;
+  }
+
   // Client API methods
   public static Response createClient(String tenantId, Map<String, Object> body) {
     Map<String, String> headers = new HashMap<>();
@@ -12,6 +12,7 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import io.vertx.core.json.JsonObject;
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -21,10 +22,12 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.RandomStringUtils;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
 import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.StreamEntryID;
 
 @Slf4j
 public class DbUtils {
@@ -347,6 +350,90 @@ public class DbUtils {
     }
   }
 
+  public static void addRevocationToRedis(String tenantId, String rftId, long revokedAt) {
+    try (Jedis jedis = redisConnectionPool.getResource()) {
+      jedis.zadd("revocations_" + tenantId, revokedAt, rftId);
+    } catch (Exception e) {
+      log.error("Error adding revocation to Redis: ", e);
+      throw new RuntimeException("Error adding revocation to Redis", e);
+    }
+  }
+
+  public static void publishTenantInvalidation(String tenantId) {
+    try (Jedis jedis = redisConnectionPool.getResource()) {
+      jedis.publish("guardian:invalidate:tenant_config", tenantId);
+    } catch (Exception e) {
+      log.error("Error publishing tenant invalidation: ", e);
+      throw new RuntimeException("Error publishing tenant invalidation", e);
+    }
+  }
+
+  public static void publishRefreshTokenInvalidation(String tenantId, String refreshToken) {
+    String message =
+        new JsonObject()
+            .put("tenantId", tenantId)
+            .put("tokenHash", DigestUtils.sha256Hex(refreshToken))
+            .encode();
+    try (Jedis jedis = redisConnectionPool.getResource()) {
+      jedis.publish("guardian:invalidate:refresh_token", message);
+    } catch (Exception e) {
+      log.error("Error publishing refresh token invalidation: ", e);
+      throw new RuntimeException("Error publishing refresh token invalidation", e);
+    }
+  }
+
+  public static void publishClientInvalidation(String tenantId, String clientId) {
+    String message = new JsonObject().put("tenantId", tenantId).put("clientId", clientId).encode();
+    try (Jedis jedis = redisConnectionPool.getResource()) {
+      jedis.publish("guardian:invalidate:client", message);
+    } catch (Exception e) {
+      log.error("Error publishing client invalidation: ", e);
+      throw new RuntimeException("Error publishing client invalidation", e);
+    }
+  }
+
+  /**
+   * Scope and client scope rows written here bypass the application, so nodes caching the scope
+   * catalog are told to load it again.
+   */
+  private static void publishScopeCatalogInvalidation(String tenantId) {
+    try (Jedis jedis = redisConnectionPool.getResource()) {
+      jedis.publish("guardian:invalidate:scope_catalog", tenantId);
+    } catch (Exception e) {
+      log.error("Error publishing scope catalog invalidation: ", e);
+      throw new RuntimeException("Error publishing scope catalog invalidation", e);
+    }
+  }
+
+  public static List<JsonObject> getOtpDeadLetters() {
+    try (Jedis jedis = redisConnectionPool.getResource()) {
+      return jedis.lrange("guardian:otp_delivery:dead", 0, -1).stream()
+          .map(JsonObject::new)
+          .toList();
+    } catch (Exception e) {
+      log.error("Error getting OTP dead letters from Redis: ", e);
+      throw new RuntimeException("Error getting OTP dead letters from Redis", e);
+    }
+  }
+
+  public static long getOtpDeadLettersTtl() {
+    try (Jedis jedis = redisConnectionPool.getResource()) {
+      return jedis.ttl("guardian:otp_delivery:dead");
+    } catch (Exception e) {
+      log.error("Error getting OTP dead letters TTL from Redis: ", e);
+      throw new RuntimeException("Error getting OTP dead letters TTL from Redis", e);
+    }
+  }
+
+  public static void addOtpDeliveryJob(JsonObject job) {
+    try (Jedis jedis = redisConnectionPool.getResource()) {
+      jedis.xadd("guardian:otp_delivery", StreamEntryID.NEW_ENTRY, Map.of("job", job.encode()));
+    } catch (Exception e) {
+      log.error("Error adding OTP delivery job to Redis: ", e);
+      throw new RuntimeException("Error adding OTP delivery job to Redis", e);
+    }
+  }
+
   public static boolean isRefreshTokenRevoked(String refreshToken, String tenantId) {
     String rftId = org.apache.commons.codec.digest.DigestUtils.md5Hex(refreshToken).toUpperCase();
     List<String> revocations = getRevocationsFromRedis(tenantId);
@@ -370,6 +457,17 @@ public class DbUtils {
     return false;
   }
 
+  /** Returns the state value as stored, which is not JSON when state is written as Smile. */
+  public static byte[] getStateBytes(String state, String tenantId) {
+    String key = "STATE" + "_" + tenantId + "_" + state;
+
+    try (Jedis jedis = redisConnectionPool.getResource()) {
+      return jedis.get(key.getBytes(StandardCharsets.UTF_8));
+    } catch (Exception e) {
+      throw new RuntimeException("Error while fetching Redis key: " + key, e);
+    }
+  }
+
   public static long getStateTtl(String state, String tenantId) {
     String key = "STATE" + "_" + tenantId + "_" + state;
 
@@ -392,6 +490,7 @@ public class DbUtils {
     } catch (Exception e) {
       log.error("Error while cleaning up clients", e);
     }
+    publishScopeCatalogInvalidation(tenantId);
   }
 
   // Client management utilities
@@ -476,6 +575,7 @@ public class DbUtils {
     } catch (Exception e) {
       log.error("Error while cleaning up scopes", e);
     }
+    publishScopeCatalogInvalidation(tenantId);
   }
 
   // Scope management utilities
@@ -492,6 +592,7 @@ public class DbUtils {
     } catch (Exception e) {
       log.error("Error while cleaning up scopes", e);
     }
+    publishScopeCatalogInvalidation(tenantId);
   }
 
   public static String insertSsoToken(
@@ -600,6 +701,7 @@ public class DbUtils {
     } catch (Exception e) {
       log.error("Error while cleaning up client scopes", e);
     }
+    publishScopeCatalogInvalidation(tenantId);
   }
 
   public static void addDefaultClientScopes(String tenantId, String clientId, String scope) {
@@ -616,6 +718,7 @@ public class DbUtils {
     } catch (Exception e) {
       log.error("Error while adding client scopes", e);
     }
+    publishScopeCatalogInvalidation(tenantId);
   }
 
   public static void updateClientAllowedMfaMethods(
@@ -656,6 +759,20 @@ public class DbUtils {
     }
   }
 
+  public static void updateClientName(String tenantId, String clientId, String clientName) {
+    String updateQuery = "UPDATE client SET client_name = ? WHERE tenant_id = ? AND client_id = ?";
+
+    try (Connection conn = mysqlConnectionPool.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(updateQuery)) {
+      stmt.setString(1, clientName);
+      stmt.setString(2, tenantId);
+      stmt.setString(3, clientId);
+      stmt.executeUpdate();
+    } catch (Exception e) {
+      log.error("Error while updating client name", e);
+    }
+  }
+
   public static boolean clientScopeExists(String tenantId, String clientId, String scope) {
     String query =
         "SELECT COUNT(*) FROM client_scope WHERE tenant_id = ? AND client_id = ? AND scope = ?";
@@ -842,6 +959,20 @@ public class DbUtils {
     }
   }
 
+  public static void deactivateRefreshToken(String tenantId, String refreshToken) {
+    String updateQuery =
+        "UPDATE refresh_tokens SET is_active = false WHERE tenant_id = ? AND refresh_token = ?";
+
+    try (Connection conn = mysqlConnectionPool.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(updateQuery)) {
+      stmt.setString(1, tenantId);
+      stmt.setString(2, refreshToken);
+      stmt.executeUpdate();
+    } catch (Exception e) {
+      log.error("Error while deactivating refresh token", e);
+    }
+  }
+
   public static boolean isOidcRefreshTokenActive(
       String tenantId, String clientId, String refreshToken) {
     String deleteQuery =
@@ -1072,6 +1203,20 @@ public class DbUtils {
     return null;
   }
 
+  /** Marks the tenant's token config as updated, without changing any of its values. */
+  public static void touchTokenConfig(String tenantId) {
+    String updateQuery =
+        "UPDATE token_config SET updated_at = NOW() + INTERVAL 1 SECOND WHERE tenant_id = ?";
+
+    try (Connection conn = mysqlConnectionPool.getConnection();
+        PreparedStatement stmt = conn.prepareStatement(updateQuery)) {
+      stmt.setString(1, tenantId);
+      stmt.executeUpdate();
+    } catch (Exception e) {
+      log.error("Error while touching token_config", e);
+    }
+  }
+
   public static JsonObject getEmailConfig(String tenantId) {
     String selectQuery =
         "SELECT tenant_id, is_ssl_enabled, host, port, send_email_path, template_name, template_params "